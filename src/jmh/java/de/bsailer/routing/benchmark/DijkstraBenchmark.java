@@ -0,0 +1,104 @@
+package de.bsailer.routing.benchmark;
+
+import de.bsailer.routing.factory.SyntheticGraphFactory;
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.ConstructableGraph;
+import de.bsailer.routing.model.Route;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleGraph;
+import de.bsailer.routing.traversal.Dijkstra;
+import de.bsailer.routing.traversal.IndexedDijkstra;
+import de.bsailer.routing.traversal.Traversal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point and one-to-all queries of {@code Dijkstra} on {@code SimpleGraph} (hash maps) and
+ * {@code IndexBasedSimpleGraph} (arrays), and of {@code IndexedDijkstra} on the latter, on road-like graphs of
+ * {@code SyntheticGraphFactory} with {@code gridSize}² points (about 37k and 3.7M edges).  Run with {@code -prof gc}
+ * for allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DijkstraBenchmark {
+
+	private static final int QUERY_COUNT = 64;
+
+	@Param({ "simple", "indexBased", "indexed" })
+	public String variant;
+
+	@Param({ "100", "1000" })
+	public int gridSize;
+
+	private Traversal<SimpleEdge, SimpleEdgeIdentifier> traversal;
+
+	private SimpleEdge[] starts;
+
+	private SimpleEdge[] targets;
+
+	private int query;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final var network = SyntheticGraphFactory.roadLike(gridSize, gridSize, 1L);
+		final ConstructableGraph<SimpleEdge, SimpleEdgeIdentifier> graph = switch (variant) {
+			case "simple" -> network.populate(new SimpleGraph<>(), new SimpleEdgeFactory());
+			case "indexBased", "indexed" -> network.populate(new IndexBasedSimpleGraph<>(), new SimpleEdgeFactory());
+			default -> throw new IllegalArgumentException("unknown variant " + variant);
+		};
+		final int edgeCount = network.edgeCount();
+		traversal = "indexed".equals(variant) ? new IndexedDijkstra<>(graph) : new Dijkstra<>(graph);
+		final var random = new Random(2L);
+		starts = new SimpleEdge[QUERY_COUNT];
+		targets = new SimpleEdge[QUERY_COUNT];
+		for (int i = 0; i < QUERY_COUNT; i++) {
+			starts[i] = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+			targets[i] = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+		}
+	}
+
+	@Benchmark
+	public Optional<Route<SimpleEdge>> pathFromTo() {
+		final int i = nextQuery();
+		return traversal.pathFromTo(starts[i], targets[i]);
+	}
+
+	@Benchmark
+	public Double costFromTo() {
+		final int i = nextQuery();
+		return traversal.costFromTo(starts[i], targets[i]);
+	}
+
+	@Benchmark
+	public Object run() {
+		final int i = nextQuery();
+		traversal.setAborter(current -> false);
+		traversal.run(starts[i]);
+		return traversal.costs(targets[i]);
+	}
+
+	private int nextQuery() {
+		query = (query + 1) % QUERY_COUNT;
+		return query;
+	}
+}
@@ -0,0 +1,78 @@
+package de.bsailer.routing.benchmark;
+
+import de.bsailer.routing.factory.DescriptorGraphFactory;
+import de.bsailer.routing.factory.ParallelDescriptorGraphLoader;
+import de.bsailer.routing.factory.SyntheticGraphFactory;
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading descriptor lines through {@code DescriptorGraphFactory} (from memory and from a file) compared to
+ * {@code ParallelDescriptorGraphLoader}, for road-like graphs of {@code SyntheticGraphFactory} with {@code gridSize}²
+ * points (about 150k and 1.3M edges).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GraphLoadingBenchmark {
+
+	@Param({ "200", "600" })
+	public int gridSize;
+
+	private List<String> descriptors;
+
+	private Path file;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		descriptors = SyntheticGraphFactory.roadLike(gridSize, gridSize, 1L).descriptors().toList();
+		file = Files.createTempFile("graph", ".txt");
+		Files.write(file, descriptors);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public Graph<SimpleEdge, SimpleEdgeIdentifier> descriptorFactoryFromMemory() {
+		return new DescriptorGraphFactory<>(new SimpleEdgeFactory()).createSimpleGraph(descriptors.stream());
+	}
+
+	@Benchmark
+	public Graph<SimpleEdge, SimpleEdgeIdentifier> descriptorFactoryFromFile() throws IOException {
+		try (var lines = Files.lines(file)) {
+			return new DescriptorGraphFactory<>(new SimpleEdgeFactory()).createSimpleGraph(lines);
+		}
+	}
+
+	@Benchmark
+	public Graph<SimpleEdge, SimpleEdgeIdentifier> parallelLoaderFromFile() throws IOException {
+		return new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(file);
+	}
+}
@@ -0,0 +1,117 @@
+package de.bsailer.routing.benchmark;
+
+import de.bsailer.routing.factory.SyntheticGraphFactory;
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleGraph;
+import de.bsailer.routing.model.prohibition.PathProhibitionGraph;
+import de.bsailer.routing.model.prohibition.ShadowEdge;
+import de.bsailer.routing.model.prohibition.ShadowEdgeIdentifier;
+import de.bsailer.routing.traversal.Dijkstra;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@code PathProhibitionGraph} over its delegate for point-to-point queries at various densities of
+ * random prohibited paths (prohibitions per edge), lazily transformed (without and with adjacency cache) or compiled,
+ * on a road-like graph of {@code SyntheticGraphFactory} (about 80k edges).  Density {@code 0} measures the pure
+ * decoration overhead.  The graph is shared by all benchmark threads, each running its own {@code Dijkstra}, so
+ * {@code concurrentCostFromTo} shows how the modes scale with concurrent queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathProhibitionGraphBenchmark {
+
+	private static final int GRID_SIZE = 150;
+
+	private static final int QUERY_COUNT = 64;
+
+	/*
+	 * adjacency entries, enough for all adjacency lists of the graph (about 400k).
+	 */
+	private static final long ADJACENCY_CACHE_SIZE = 1_000_000L;
+
+	@Param({ "0", "0.001", "0.01", "0.05" })
+	public double density;
+
+	@Param({ "lazy", "cached", "compiled" })
+	public String mode;
+
+	private Graph<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>, ShadowEdgeIdentifier<SimpleEdgeIdentifier>> graph;
+
+	private final List<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>> starts = new ArrayList<>();
+
+	private final List<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>> targets = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final var network = SyntheticGraphFactory.roadLike(GRID_SIZE, GRID_SIZE, 1L);
+		final int edgeCount = network.edgeCount();
+		final var factory = new SimpleEdgeFactory();
+		final var delegateGraph = network.populate(new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>(), factory);
+		final var prohibitionGraph = new PathProhibitionGraph<>(delegateGraph, factory, factory, 1000.0D,
+				"cached".equals(mode) ? ADJACENCY_CACHE_SIZE : 0L);
+		network.randomProhibitedPaths((int) (density * edgeCount), 3L, factory)
+				.forEach(prohibitionGraph::addProhibitedPath);
+		graph = "compiled".equals(mode) ? prohibitionGraph.compile() : prohibitionGraph;
+		final var random = new Random(3L);
+		for (int i = 0; i < QUERY_COUNT; i++) {
+			starts.add(graph.edge(new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(random.nextInt(edgeCount)))));
+			targets.add(graph.edge(new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(random.nextInt(edgeCount)))));
+		}
+	}
+
+	@Benchmark
+	public Double costFromTo(final Query query) {
+		return query.next(this);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Double concurrentCostFromTo(final Query query) {
+		return query.next(this);
+	}
+
+	/**
+	 * Per-thread {@code Dijkstra} on the shared graph.
+	 */
+	@State(Scope.Thread)
+	public static class Query {
+
+		private Dijkstra<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>, ShadowEdgeIdentifier<SimpleEdgeIdentifier>> dijkstra;
+
+		private int query;
+
+		@Setup(Level.Trial)
+		public void setUp(final PathProhibitionGraphBenchmark benchmark) {
+			dijkstra = new Dijkstra<>(benchmark.graph);
+		}
+
+		Double next(final PathProhibitionGraphBenchmark benchmark) {
+			query = (query + 1) % QUERY_COUNT;
+			return dijkstra.costFromTo(benchmark.starts.get(query), benchmark.targets.get(query));
+		}
+	}
+}
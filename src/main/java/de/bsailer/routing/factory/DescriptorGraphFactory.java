@@ -1,11 +1,13 @@
 package de.bsailer.routing.factory;
 
+import de.bsailer.routing.jfr.GraphLoadEvent;
 import de.bsailer.routing.model.ConstructableGraph;
 import de.bsailer.routing.model.Edge;
 import de.bsailer.routing.model.EdgeIdentifier;
 import de.bsailer.routing.model.Graph;
 import de.bsailer.routing.model.impl.SimpleGraph;
 
+import java.util.Iterator;
 import java.util.stream.Stream;
 
 /**
@@ -21,8 +23,14 @@ public class DescriptorGraphFactory<E extends Edge<I>, I extends EdgeIdentifier<
 	}
 
 	public Graph<E, I> createSimpleGraph(final Stream<String> edgeDescriptors) {
+		final GraphLoadEvent event = new GraphLoadEvent();
+		event.begin();
 		final SimpleGraph<E,I> result = new SimpleGraph<>();
-		edgeDescriptors.forEach(e -> fromDescriptor(result, e));
+		long edgeCount = 0L;
+		for (final Iterator<String> descriptors = edgeDescriptors.iterator(); descriptors.hasNext(); edgeCount++) {
+			fromDescriptor(result, descriptors.next());
+		}
+		event.commit(getClass(), "descriptor stream", edgeCount);
 		return result;
 	}
 
@@ -30,6 +38,9 @@ public class DescriptorGraphFactory<E extends Edge<I>, I extends EdgeIdentifier<
 		final var edgeProperties = edgeDescriptor.split(";");
 		final var id = edgeFactory.edgeIdentifierFromDescriptor(edgeProperties[0]);
 		graph.addEdge(edgeFactory.edgeFromDescriptor(id, edgeProperties[1]));
+		if (edgeProperties.length < 3 || edgeProperties[2].isEmpty()) {
+			return;
+		}
 		Stream.of(edgeProperties[2].split(","))
 				.map(edgeFactory::edgeIdentifierFromDescriptor)
 				.forEach(a -> graph.connectEdges(id, a));
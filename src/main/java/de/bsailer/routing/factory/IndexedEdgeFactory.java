@@ -0,0 +1,17 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+/**
+ * Implementors of this interface create edges from primitive values, e.g. for graphs kept in binary form.
+ *
+ * @param <E> concrete type of the created {@code Edge}s.
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}.
+ */
+public interface IndexedEdgeFactory<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+    I edgeIdentifier(int index);
+
+    E edge(I id, double weight);
+}
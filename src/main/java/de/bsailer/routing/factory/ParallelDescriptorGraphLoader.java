@@ -0,0 +1,391 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.jfr.GraphLoadEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This loader constructs a {@code CompressedSparseRowGraph} from a file of edge descriptors in the format of
+ * {@code DescriptorGraphFactory} ({@code id;weight;adjacentId,adjacentId,...}, one edge per line) using all cores.
+ *
+ * The file is split into byte chunks at line boundaries, which are read and parsed in parallel directly from the
+ * bytes (no regular expressions, no intermediate strings) into primitive arrays.  These are then merged into presized
+ * adjacency arrays, again in parallel per chunk.  Edge ids are parsed as non-negative ints serving as index and must
+ * be unique.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class ParallelDescriptorGraphLoader<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+	private static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+	private static final int BOUNDARY_WINDOW = 4096;
+
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	private final IndexedEdgeFactory<E, I> edgeFactory;
+
+	private final ForkJoinPool pool;
+
+	private final int chunkSize;
+
+	public ParallelDescriptorGraphLoader(final IndexedEdgeFactory<E, I> edgeFactory) {
+		this(edgeFactory, ForkJoinPool.commonPool());
+	}
+
+	public ParallelDescriptorGraphLoader(final IndexedEdgeFactory<E, I> edgeFactory, final ForkJoinPool pool) {
+		this(edgeFactory, pool, DEFAULT_CHUNK_SIZE);
+	}
+
+	ParallelDescriptorGraphLoader(final IndexedEdgeFactory<E, I> edgeFactory, final ForkJoinPool pool, final int chunkSize) {
+		this.edgeFactory = edgeFactory;
+		this.pool = pool;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Loads the descriptor file.
+	 *
+	 * @param file descriptor file (ASCII, lines separated by {@code \n} or {@code \r\n}).
+	 * @return new {@code CompressedSparseRowGraph}.
+	 * @throws IOException              on read errors.
+	 * @throws IllegalArgumentException on malformed lines, duplicate ids or adjacents without descriptor.
+	 */
+	public CompressedSparseRowGraph<E, I> load(final Path file) throws IOException {
+		final GraphLoadEvent event = new GraphLoadEvent();
+		event.begin();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final long[] boundaries = chunkBoundaries(channel);
+			final List<Callable<Chunk>> parseTasks = new ArrayList<>();
+			for (int i = 0; i < boundaries.length - 1; i++) {
+				final long start = boundaries[i];
+				final long end = boundaries[i + 1];
+				parseTasks.add(() -> Chunk.parse(read(channel, start, end)));
+			}
+			final CompressedSparseRowGraph<E, I> result = merge(invokeAll(parseTasks));
+			event.commit(getClass(), file, result.indexCount());
+			return result;
+		}
+	}
+
+	private CompressedSparseRowGraph<E, I> merge(final List<Chunk> chunks) throws IOException {
+		int indexCount = 0;
+		for (final Chunk chunk : chunks) {
+			indexCount = Math.max(indexCount, chunk.maxIndex + 1);
+		}
+		final int[] offsets = new int[indexCount + 1];
+		final BitSet described = new BitSet(indexCount);
+		for (final Chunk chunk : chunks) {
+			for (int line = 0; line < chunk.lines; line++) {
+				final int id = chunk.ids[line];
+				if (described.get(id)) {
+					throw new IllegalArgumentException("duplicate descriptor for id " + id);
+				}
+				described.set(id);
+				offsets[id + 1] = chunk.adjacencyEnds[line] - chunk.adjacencyBegin(line);
+			}
+		}
+		for (int index = 0; index < indexCount; index++) {
+			offsets[index + 1] += offsets[index];
+		}
+		@SuppressWarnings("unchecked")
+		final E[] edges = (E[]) new Edge<?>[indexCount];
+		final int[] targets = new int[offsets[indexCount]];
+		final List<Callable<Chunk>> fillTasks = new ArrayList<>();
+		for (final Chunk chunk : chunks) {
+			fillTasks.add(() -> {
+				for (int line = 0; line < chunk.lines; line++) {
+					final int id = chunk.ids[line];
+					final int begin = chunk.adjacencyBegin(line);
+					for (int position = begin; position < chunk.adjacencyEnds[line]; position++) {
+						if (!described.get(chunk.adjacents[position])) {
+							throw new IllegalArgumentException("adjacent " + chunk.adjacents[position] + " of " + id
+									+ " has no descriptor");
+						}
+					}
+					System.arraycopy(chunk.adjacents, begin, targets, offsets[id], chunk.adjacencyEnds[line] - begin);
+					edges[id] = edgeFactory.edge(edgeFactory.edgeIdentifier(id), chunk.weights[line]);
+				}
+				return chunk;
+			});
+		}
+		invokeAll(fillTasks);
+		return CompressedSparseRowGraph.wrap(edges, offsets, targets);
+	}
+
+	/*
+	 * Chunk boundaries are the nominal chunk ends moved to the start of the next line.
+	 */
+	private long[] chunkBoundaries(final FileChannel channel) throws IOException {
+		final long size = channel.size();
+		final List<Long> result = new ArrayList<>();
+		result.add(0L);
+		long boundary = 0L;
+		while (boundary + chunkSize < size) {
+			boundary = nextLineStart(channel, boundary + chunkSize, size);
+			result.add(boundary);
+		}
+		if (boundary < size) {
+			result.add(size);
+		}
+		return result.stream().mapToLong(Long::longValue).distinct().toArray();
+	}
+
+	private long nextLineStart(final FileChannel channel, long position, final long size) throws IOException {
+		final ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+		while (position < size) {
+			window.clear();
+			final int read = channel.read(window, position);
+			for (int i = 0; i < read; i++) {
+				if (window.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += Math.max(read, 0);
+		}
+		return size;
+	}
+
+	private static byte[] read(final FileChannel channel, final long start, final long end) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, start + buffer.position()) < 0) {
+				throw new IOException("unexpected end of file at " + (start + buffer.position()));
+			}
+		}
+		return buffer.array();
+	}
+
+	private <T> List<T> invokeAll(final List<Callable<T>> tasks) throws IOException {
+		final List<T> result = new ArrayList<>(tasks.size());
+		try {
+			for (final Future<T> future : pool.invokeAll(tasks)) {
+				result.add(future.get());
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("loading interrupted", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(cause);
+		}
+		return result;
+	}
+
+	/**
+	 * The primitive parse result of one chunk of lines.
+	 */
+	private static final class Chunk {
+
+		private final byte[] bytes;
+
+		private int position;
+
+		private int lines;
+
+		private int[] ids = new int[64];
+
+		private double[] weights = new double[64];
+
+		private int[] adjacencyEnds = new int[64];
+
+		private int[] adjacents = new int[256];
+
+		private int adjacentCount;
+
+		private int maxIndex = -1;
+
+		private Chunk(final byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		static Chunk parse(final byte[] bytes) {
+			final Chunk result = new Chunk(bytes);
+			while (result.position < bytes.length) {
+				result.parseLine();
+			}
+			return result;
+		}
+
+		int adjacencyBegin(final int line) {
+			return line == 0 ? 0 : adjacencyEnds[line - 1];
+		}
+
+		private void parseLine() {
+			final int lineStart = position;
+			if (isLineEnd()) {
+				skipLineEnd();
+				return;
+			}
+			if (lines == ids.length) {
+				ids = Arrays.copyOf(ids, lines * 2);
+				weights = Arrays.copyOf(weights, lines * 2);
+				adjacencyEnds = Arrays.copyOf(adjacencyEnds, lines * 2);
+			}
+			final int id = parseIndex(lineStart);
+			expect(';', lineStart);
+			ids[lines] = id;
+			weights[lines] = parseDouble(lineStart);
+			if (position < bytes.length && bytes[position] == ';') {
+				position++;
+				while (!isLineEnd()) {
+					addAdjacent(parseIndex(lineStart));
+					if (!isLineEnd()) {
+						expect(',', lineStart);
+					}
+				}
+			}
+			if (!isLineEnd()) {
+				throw malformed(lineStart);
+			}
+			skipLineEnd();
+			adjacencyEnds[lines] = adjacentCount;
+			maxIndex = Math.max(maxIndex, id);
+			lines++;
+		}
+
+		private void addAdjacent(final int adjacent) {
+			if (adjacentCount == adjacents.length) {
+				adjacents = Arrays.copyOf(adjacents, adjacentCount * 2);
+			}
+			adjacents[adjacentCount++] = adjacent;
+			maxIndex = Math.max(maxIndex, adjacent);
+		}
+
+		private int parseIndex(final int lineStart) {
+			final int start = position;
+			long value = 0;
+			while (position < bytes.length && isDigit(bytes[position])) {
+				value = value * 10 + (bytes[position++] - '0');
+				if (value > Integer.MAX_VALUE) {
+					throw malformed(lineStart);
+				}
+			}
+			if (position == start) {
+				throw malformed(lineStart);
+			}
+			return (int) value;
+		}
+
+		/*
+		 * Decimal numbers with up to 15 significant digits and small exponents are computed exactly from mantissa and
+		 * power of ten, anything else falls back to Double.parseDouble.
+		 */
+		private double parseDouble(final int lineStart) {
+			final int start = position;
+			while (position < bytes.length && bytes[position] != ';' && !isLineEnd()) {
+				position++;
+			}
+			final int end = position;
+			int i = start;
+			final boolean negative = i < end && bytes[i] == '-';
+			if (negative || (i < end && bytes[i] == '+')) {
+				i++;
+			}
+			long mantissa = 0;
+			int exponent = 0;
+			int digits = 0;
+			boolean fraction = false;
+			for (; i < end; i++) {
+				final byte b = bytes[i];
+				if (isDigit(b)) {
+					mantissa = mantissa * 10 + (b - '0');
+					digits++;
+					if (fraction) {
+						exponent--;
+					}
+				} else if (b == '.' && !fraction) {
+					fraction = true;
+				} else {
+					break;
+				}
+			}
+			if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+				i++;
+				final boolean negativeExponent = i < end && bytes[i] == '-';
+				if (negativeExponent || (i < end && bytes[i] == '+')) {
+					i++;
+				}
+				int explicitExponent = 0;
+				final int exponentStart = i;
+				for (; i < end && isDigit(bytes[i]) && explicitExponent < 1000; i++) {
+					explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+				}
+				if (i == exponentStart) {
+					return fallbackDouble(start, end, lineStart);
+				}
+				exponent += negativeExponent ? -explicitExponent : explicitExponent;
+			}
+			if (i != end || digits == 0 || digits > 15 || mantissa >= MAX_EXACT_MANTISSA || Math.abs(exponent) > 22) {
+				return fallbackDouble(start, end, lineStart);
+			}
+			final double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+			return negative ? -value : value;
+		}
+
+		private double fallbackDouble(final int start, final int end, final int lineStart) {
+			try {
+				return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+			} catch (final NumberFormatException e) {
+				throw malformed(lineStart);
+			}
+		}
+
+		private void expect(final char expected, final int lineStart) {
+			if (position >= bytes.length || bytes[position] != expected) {
+				throw malformed(lineStart);
+			}
+			position++;
+		}
+
+		private boolean isLineEnd() {
+			return position >= bytes.length || bytes[position] == '\n' || bytes[position] == '\r';
+		}
+
+		private void skipLineEnd() {
+			while (position < bytes.length && (bytes[position] == '\r' || bytes[position] == '\n')) {
+				position++;
+			}
+		}
+
+		private IllegalArgumentException malformed(final int lineStart) {
+			int lineEnd = lineStart;
+			while (lineEnd < bytes.length && bytes[lineEnd] != '\n' && bytes[lineEnd] != '\r') {
+				lineEnd++;
+			}
+			return new IllegalArgumentException("malformed edge descriptor: "
+					+ new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.US_ASCII));
+		}
+
+		private static boolean isDigit(final byte b) {
+			return b >= '0' && b <= '9';
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleGraph;
+
+/**
+ * This factory constructs the reverse of a {@code Graph}, whose adjacents of an edge are the edges having it as
+ * adjacent (its predecessors).  Edges are shared with the original graph.
+ */
+public final class ReverseGraphFactory {
+
+	private ReverseGraphFactory() {
+		throw new IllegalStateException("no instance");
+	}
+
+	/**
+	 * Creates the reverse graph of any enumerable graph.
+	 *
+	 * @param graph {@code EnumerableGraph} to reverse.
+	 * @return new reverse {@code Graph}.
+	 */
+	public static <E extends Edge<I>, I extends EdgeIdentifier<I>> Graph<E, I> createReverseGraph(
+			final EnumerableGraph<E, I> graph) {
+		final SimpleGraph<E, I> result = new SimpleGraph<>();
+		graph.forEachEdge(result::addEdge);
+		graph.forEachEdge(edge -> graph.forEachAdjacent(edge.id(), adjacent -> result.connectEdges(adjacent.id(),
+				edge.id())));
+		return result;
+	}
+
+	/**
+	 * Creates the reverse graph of a {@code CompressedSparseRowGraph} by transposing its adjacency arrays.
+	 *
+	 * @param graph {@code CompressedSparseRowGraph} to reverse.
+	 * @return new reverse {@code CompressedSparseRowGraph}.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> CompressedSparseRowGraph<E, I> createReverseGraph(
+			final CompressedSparseRowGraph<E, I> graph) {
+		final int indexCount = graph.indexCount();
+		final int[] offsets = new int[indexCount + 1];
+		for (int position = 0; position < graph.adjacencyCount(); position++) {
+			offsets[graph.adjacentIndex(position) + 1]++;
+		}
+		for (int index = 0; index < indexCount; index++) {
+			offsets[index + 1] += offsets[index];
+		}
+		final int[] fill = new int[indexCount];
+		System.arraycopy(offsets, 0, fill, 0, indexCount);
+		final int[] targets = new int[graph.adjacencyCount()];
+		@SuppressWarnings("unchecked")
+		final E[] edges = (E[]) new Edge<?>[indexCount];
+		for (int index = 0; index < indexCount; index++) {
+			edges[index] = graph.edge(index);
+			for (int position = graph.adjacentsBegin(index); position < graph.adjacentsEnd(index); position++) {
+				targets[fill[graph.adjacentIndex(position)]++] = index;
+			}
+		}
+		return CompressedSparseRowGraph.wrap(edges, offsets, targets);
+	}
+}
@@ -0,0 +1,426 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.model.ConstructableGraph;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This factory generates reproducible synthetic road networks for load tests and benchmarks: grids, random geometric
+ * graphs and road-like graphs, scaling to millions of edges.
+ *
+ * A network consists of points and directed segments between them; in the routing model every segment is an edge
+ * with index {@code 0..edgeCount()-1}, whose adjacents are all segments leaving its end point.  Weights are the
+ * segment lengths times a random factor between 1 and 1.5 (faster arterials in road-like graphs: 0.5).  The network is
+ * held in primitive arrays and can be turned into any {@code ConstructableGraph}, a {@code CompressedSparseRowGraph}
+ * or descriptor lines for {@code DescriptorGraphFactory}.  The same parameters and seed always give the same network.
+ */
+public final class SyntheticGraphFactory {
+
+	private static final double MAX_DETOUR_FACTOR = 1.5D;
+
+	private static final double ARTERIAL_FACTOR = 0.5D;
+
+	private static final int ARTERIAL_SPACING = 10;
+
+	private static final double ROAD_JITTER = 0.3D;
+
+	private static final double ROAD_DROP_PROBABILITY = 0.1D;
+
+	private static final double ROAD_DIAGONAL_PROBABILITY = 0.05D;
+
+	private final int nodeCount;
+
+	private final int[] sources;
+
+	private final int[] targets;
+
+	private final double[] weights;
+
+	/*
+	 * segments leaving node n: outgoing[outgoingOffsets[n]] (inclusive) to outgoing[outgoingOffsets[n + 1]] (exclusive).
+	 */
+	private final int[] outgoingOffsets;
+
+	private final int[] outgoing;
+
+	private SyntheticGraphFactory(final int nodeCount, final Segments segments) {
+		this.nodeCount = nodeCount;
+		this.sources = Arrays.copyOf(segments.sources, segments.size);
+		this.targets = Arrays.copyOf(segments.targets, segments.size);
+		this.weights = Arrays.copyOf(segments.weights, segments.size);
+		this.outgoingOffsets = new int[nodeCount + 1];
+		for (final int source : sources) {
+			outgoingOffsets[source + 1]++;
+		}
+		for (int node = 0; node < nodeCount; node++) {
+			outgoingOffsets[node + 1] += outgoingOffsets[node];
+		}
+		this.outgoing = new int[sources.length];
+		final int[] fill = Arrays.copyOf(outgoingOffsets, nodeCount);
+		for (int segment = 0; segment < sources.length; segment++) {
+			outgoing[fill[sources[segment]]++] = segment;
+		}
+	}
+
+	/**
+	 * Generates a regular grid with unit spacing, neighbouring points connected in both directions.
+	 *
+	 * @param columns number of points per row, positive.
+	 * @param rows    number of rows, positive.
+	 * @param seed    seed of the weight factors.
+	 * @throws ArithmeticException if the number of points overflows an {@code int}.
+	 */
+	public static SyntheticGraphFactory grid(final int columns, final int rows, final long seed) {
+		checkPositive(columns, "columns");
+		checkPositive(rows, "rows");
+		final int nodeCount = Math.multiplyExact(columns, rows);
+		final var random = new SplittableRandom(seed);
+		final var segments = new Segments();
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				final int node = row * columns + column;
+				if (column + 1 < columns) {
+					segments.addBoth(node, node + 1, randomFactor(random));
+				}
+				if (row + 1 < rows) {
+					segments.addBoth(node, node + columns, randomFactor(random));
+				}
+			}
+		}
+		return new SyntheticGraphFactory(nodeCount, segments);
+	}
+
+	/**
+	 * Generates a random geometric graph: points uniformly distributed in a square of side {@code sqrt(nodeCount)},
+	 * connected in both directions to all points within the radius giving the requested average degree.
+	 *
+	 * @param nodeCount     number of points, positive.
+	 * @param averageDegree expected number of neighbours per point, positive.
+	 * @param seed          seed of points and weight factors.
+	 */
+	public static SyntheticGraphFactory randomGeometric(final int nodeCount, final double averageDegree, final long seed) {
+		checkPositive(nodeCount, "nodeCount");
+		if (!(averageDegree > 0.0D)) {
+			throw new IllegalArgumentException("averageDegree must be positive: " + averageDegree);
+		}
+		final var random = new SplittableRandom(seed);
+		final double side = Math.sqrt(nodeCount);
+		final double[] xs = new double[nodeCount];
+		final double[] ys = new double[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			xs[node] = random.nextDouble() * side;
+			ys[node] = random.nextDouble() * side;
+		}
+		final double radius = Math.sqrt(averageDegree / Math.PI);
+		final var cells = new Cells(xs, ys, side, radius);
+		final var segments = new Segments();
+		for (int node = 0; node < nodeCount; node++) {
+			final int from = node;
+			cells.forEachCandidate(from, other -> {
+				if (other > from) {
+					final double distance = Math.hypot(xs[other] - xs[from], ys[other] - ys[from]);
+					if (distance <= radius) {
+						segments.addBoth(from, other, distance * randomFactor(random));
+					}
+				}
+			});
+		}
+		return new SyntheticGraphFactory(nodeCount, segments);
+	}
+
+	/**
+	 * Generates a road-like graph: a grid with jittered points, about 10% of the segments missing, a few diagonals and
+	 * faster arterials every 10th row and column.  All segments are two-way.
+	 *
+	 * @param columns number of points per row, positive.
+	 * @param rows    number of rows, positive.
+	 * @param seed    seed of points, segments and weight factors.
+	 * @throws ArithmeticException if the number of points overflows an {@code int}.
+	 */
+	public static SyntheticGraphFactory roadLike(final int columns, final int rows, final long seed) {
+		checkPositive(columns, "columns");
+		checkPositive(rows, "rows");
+		final var random = new SplittableRandom(seed);
+		final int nodeCount = Math.multiplyExact(columns, rows);
+		final double[] xs = new double[nodeCount];
+		final double[] ys = new double[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			xs[node] = node % columns + (random.nextDouble() * 2.0D - 1.0D) * ROAD_JITTER;
+			ys[node] = node / columns + (random.nextDouble() * 2.0D - 1.0D) * ROAD_JITTER;
+		}
+		final var segments = new Segments();
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				final int node = row * columns + column;
+				if (column + 1 < columns) {
+					addRoad(segments, xs, ys, node, node + 1, row % ARTERIAL_SPACING == 0, random);
+				}
+				if (row + 1 < rows) {
+					addRoad(segments, xs, ys, node, node + columns, column % ARTERIAL_SPACING == 0, random);
+					if (column + 1 < columns && random.nextDouble() < ROAD_DIAGONAL_PROBABILITY) {
+						addRoad(segments, xs, ys, node, node + columns + 1, false, random);
+					}
+				}
+			}
+		}
+		return new SyntheticGraphFactory(nodeCount, segments);
+	}
+
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Number of segments, i.e. edges of the routing graph.
+	 */
+	public int edgeCount() {
+		return sources.length;
+	}
+
+	/**
+	 * Weight of an edge.
+	 */
+	public double weight(final int index) {
+		return weights[index];
+	}
+
+	/**
+	 * Adds all edges and their adjacency to a graph.
+	 *
+	 * @param graph       {@code ConstructableGraph} to populate, e.g. an empty one.
+	 * @param edgeFactory {@code IndexedEdgeFactory} creating the edges.
+	 * @return the populated graph.
+	 */
+	public <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>, G extends ConstructableGraph<E, I>> G populate(
+			final G graph, final IndexedEdgeFactory<E, I> edgeFactory) {
+		final List<I> ids = new ArrayList<>(edgeCount());
+		for (int index = 0; index < edgeCount(); index++) {
+			final I id = edgeFactory.edgeIdentifier(index);
+			ids.add(id);
+			graph.addEdge(edgeFactory.edge(id, weights[index]));
+		}
+		for (int index = 0; index < edgeCount(); index++) {
+			final int end = targets[index];
+			for (int position = outgoingOffsets[end]; position < outgoingOffsets[end + 1]; position++) {
+				graph.connectEdges(ids.get(index), ids.get(outgoing[position]));
+			}
+		}
+		return graph;
+	}
+
+	/**
+	 * Creates a {@code CompressedSparseRowGraph} directly from the arrays, the most compact form for large networks.
+	 *
+	 * @param edgeFactory {@code IndexedEdgeFactory} creating the edges.
+	 * @return new {@code CompressedSparseRowGraph}.
+	 */
+	public <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> CompressedSparseRowGraph<E, I> createCompressedSparseRowGraph(
+			final IndexedEdgeFactory<E, I> edgeFactory) {
+		final int edgeCount = edgeCount();
+		@SuppressWarnings("unchecked")
+		final E[] edges = (E[]) new Edge<?>[edgeCount];
+		final int[] offsets = new int[edgeCount + 1];
+		for (int index = 0; index < edgeCount; index++) {
+			edges[index] = edgeFactory.edge(edgeFactory.edgeIdentifier(index), weights[index]);
+			offsets[index + 1] = offsets[index] + outgoingOffsets[targets[index] + 1] - outgoingOffsets[targets[index]];
+		}
+		final int[] adjacents = new int[offsets[edgeCount]];
+		for (int index = 0; index < edgeCount; index++) {
+			final int begin = outgoingOffsets[targets[index]];
+			System.arraycopy(outgoing, begin, adjacents, offsets[index], offsets[index + 1] - offsets[index]);
+		}
+		return CompressedSparseRowGraph.wrap(edges, offsets, adjacents);
+	}
+
+	/**
+	 * Creates descriptor lines ({@code id;weight;adjacentId,adjacentId,...}) of all edges, generated lazily.
+	 *
+	 * @return sequential {@code Stream} of descriptor lines in index order.
+	 */
+	public Stream<String> descriptors() {
+		return IntStream.range(0, edgeCount()).mapToObj(this::descriptor);
+	}
+
+	/**
+	 * Picks random prohibited paths of two to four edges along the adjacency, without repeated edges.
+	 *
+	 * @param count       number of paths.
+	 * @param seed        seed of the paths.
+	 * @param edgeFactory {@code IndexedEdgeFactory} creating the edge ids.
+	 * @return paths of edge ids, e.g. for {@code PathProhibitionGraph.addProhibitedPath}.
+	 */
+	public <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> List<List<I>> randomProhibitedPaths(
+			final int count, final long seed, final IndexedEdgeFactory<E, I> edgeFactory) {
+		final List<List<I>> result = new ArrayList<>(count);
+		if (edgeCount() == 0) {
+			return result;
+		}
+		final var random = new Random(seed);
+		while (result.size() < count) {
+			final int length = 2 + random.nextInt(3);
+			final int[] path = new int[length];
+			int size = 0;
+			path[size++] = random.nextInt(edgeCount());
+			while (size < length) {
+				final int end = targets[path[size - 1]];
+				final int outgoingCount = outgoingOffsets[end + 1] - outgoingOffsets[end];
+				if (outgoingCount == 0) {
+					break;
+				}
+				final int next = outgoing[outgoingOffsets[end] + random.nextInt(outgoingCount)];
+				if (contains(path, size, next)) {
+					break;
+				}
+				path[size++] = next;
+			}
+			if (size >= 2) {
+				final List<I> ids = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					ids.add(edgeFactory.edgeIdentifier(path[i]));
+				}
+				result.add(ids);
+			}
+		}
+		return result;
+	}
+
+	private String descriptor(final int index) {
+		final var result = new StringBuilder().append(index).append(';').append(weights[index]).append(';');
+		final int end = targets[index];
+		for (int position = outgoingOffsets[end]; position < outgoingOffsets[end + 1]; position++) {
+			if (position > outgoingOffsets[end]) {
+				result.append(',');
+			}
+			result.append(outgoing[position]);
+		}
+		return result.toString();
+	}
+
+	private static boolean contains(final int[] values, final int size, final int value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void addRoad(final Segments segments, final double[] xs, final double[] ys, final int from,
+								final int to, final boolean arterial, final SplittableRandom random) {
+		if (!arterial && random.nextDouble() < ROAD_DROP_PROBABILITY) {
+			return;
+		}
+		final double length = Math.hypot(xs[to] - xs[from], ys[to] - ys[from]);
+		segments.addBoth(from, to, length * (arterial ? ARTERIAL_FACTOR : randomFactor(random)));
+	}
+
+	private static double randomFactor(final SplittableRandom random) {
+		return 1.0D + random.nextDouble() * (MAX_DETOUR_FACTOR - 1.0D);
+	}
+
+	private static void checkPositive(final int value, final String name) {
+		if (value <= 0) {
+			throw new IllegalArgumentException(name + " must be positive: " + value);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{nodes=" + nodeCount + ", edges=" + edgeCount() + "}";
+	}
+
+	/*
+	 * growable segment arrays.
+	 */
+	private static final class Segments {
+
+		private int[] sources = new int[16];
+		private int[] targets = new int[16];
+		private double[] weights = new double[16];
+		private int size;
+
+		void addBoth(final int from, final int to, final double weight) {
+			add(from, to, weight);
+			add(to, from, weight);
+		}
+
+		private void add(final int from, final int to, final double weight) {
+			if (size == sources.length) {
+				final int capacity = size * 2;
+				sources = Arrays.copyOf(sources, capacity);
+				targets = Arrays.copyOf(targets, capacity);
+				weights = Arrays.copyOf(weights, capacity);
+			}
+			sources[size] = from;
+			targets[size] = to;
+			weights[size] = weight;
+			size++;
+		}
+	}
+
+	/*
+	 * uniform grid of square cells of the given size over the points, for neighbour searches in linear time.
+	 */
+	private static final class Cells {
+
+		private final double[] xs;
+		private final double[] ys;
+		private final double cellSize;
+		private final int cellsPerSide;
+		private final int[] offsets;
+		private final int[] nodes;
+
+		Cells(final double[] xs, final double[] ys, final double side, final double cellSize) {
+			this.xs = xs;
+			this.ys = ys;
+			this.cellSize = cellSize;
+			this.cellsPerSide = Math.max(1, (int) Math.ceil(side / cellSize));
+			this.offsets = new int[cellsPerSide * cellsPerSide + 1];
+			for (int node = 0; node < xs.length; node++) {
+				offsets[cell(node) + 1]++;
+			}
+			for (int cell = 0; cell < cellsPerSide * cellsPerSide; cell++) {
+				offsets[cell + 1] += offsets[cell];
+			}
+			this.nodes = new int[xs.length];
+			final int[] fill = Arrays.copyOf(offsets, cellsPerSide * cellsPerSide);
+			for (int node = 0; node < xs.length; node++) {
+				nodes[fill[cell(node)]++] = node;
+			}
+		}
+
+		/*
+		 * passes all points of the cell of the node and the neighbouring cells.
+		 */
+		void forEachCandidate(final int node, final IntConsumer action) {
+			final int column = column(xs[node]);
+			final int row = column(ys[node]);
+			for (int r = Math.max(0, row - 1); r <= Math.min(cellsPerSide - 1, row + 1); r++) {
+				for (int c = Math.max(0, column - 1); c <= Math.min(cellsPerSide - 1, column + 1); c++) {
+					final int cell = r * cellsPerSide + c;
+					for (int position = offsets[cell]; position < offsets[cell + 1]; position++) {
+						action.accept(nodes[position]);
+					}
+				}
+			}
+		}
+
+		private int cell(final int node) {
+			return column(ys[node]) * cellsPerSide + column(xs[node]);
+		}
+
+		private int column(final double coordinate) {
+			return Math.min(cellsPerSide - 1, (int) (coordinate / cellSize));
+		}
+	}
+}
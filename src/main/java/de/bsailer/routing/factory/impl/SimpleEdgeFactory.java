@@ -2,11 +2,12 @@ package de.bsailer.routing.factory.impl;
 
 import de.bsailer.routing.factory.EdgeFactory;
 import de.bsailer.routing.factory.EdgeIdentifierSupplier;
+import de.bsailer.routing.factory.IndexedEdgeFactory;
 import de.bsailer.routing.model.impl.SimpleEdge;
 import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
 
 public class SimpleEdgeFactory implements EdgeFactory<SimpleEdge, SimpleEdgeIdentifier>,
-        EdgeIdentifierSupplier<SimpleEdgeIdentifier> {
+        IndexedEdgeFactory<SimpleEdge, SimpleEdgeIdentifier>, EdgeIdentifierSupplier<SimpleEdgeIdentifier> {
 
     private int latestAdditionalId = -1;
 
@@ -25,6 +26,16 @@ public class SimpleEdgeFactory implements EdgeFactory<SimpleEdge, SimpleEdgeIden
         return new SimpleEdge(idSupplier.newId()).setWeight(weight);
     }
 
+    @Override
+    public SimpleEdgeIdentifier edgeIdentifier(final int index) {
+        return new SimpleEdgeIdentifier(index);
+    }
+
+    @Override
+    public SimpleEdge edge(final SimpleEdgeIdentifier id, final double weight) {
+        return new SimpleEdge(id).setWeight(weight);
+    }
+
     @Override
     public SimpleEdgeIdentifier newId() {
         return new SimpleEdgeIdentifier(latestAdditionalId--);
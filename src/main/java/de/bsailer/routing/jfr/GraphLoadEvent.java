@@ -0,0 +1,39 @@
+package de.bsailer.routing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of loading a graph or a part of it (e.g. a tile).
+ */
+@Name("de.bsailer.routing.GraphLoad")
+@Label("Graph Load")
+@Category("Routing")
+@Description("Loading of a graph or graph tile")
+public final class GraphLoadEvent extends jdk.jfr.Event {
+
+	@Label("Loader")
+	private String loader;
+
+	@Label("Source")
+	@Description("File, tile or other origin of the graph")
+	private String source;
+
+	@Label("Edges")
+	private long edgeCount;
+
+	/**
+	 * Commits the event with its values, if enabled and above the threshold.
+	 */
+	public void commit(final Class<?> loader, final Object source, final long edgeCount) {
+		end();
+		if (shouldCommit()) {
+			this.loader = loader.getSimpleName();
+			this.source = String.valueOf(source);
+			this.edgeCount = edgeCount;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package de.bsailer.routing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the transformation of one prohibition equivalence class of a
+ * {@code PathProhibitionGraph}, lazily during a query or by {@code compile()}.
+ */
+@Name("de.bsailer.routing.ProhibitionTransformation")
+@Label("Prohibition Transformation")
+@Category("Routing")
+@Description("Transformation of the prohibited paths sharing their first edge into shadow edges")
+@StackTrace(false)
+public final class ProhibitionTransformationEvent extends jdk.jfr.Event {
+
+	@Label("Prohibition Class")
+	@Description("Id of the first edge of the prohibited paths")
+	private String prohibitionClass;
+
+	@Label("Prohibited Paths")
+	private int prohibitedPathCount;
+
+	/**
+	 * Commits the event with its values, if enabled and above the threshold.
+	 */
+	public void commit(final Object prohibitionClass, final int prohibitedPathCount) {
+		end();
+		if (shouldCommit()) {
+			this.prohibitionClass = String.valueOf(prohibitionClass);
+			this.prohibitedPathCount = prohibitedPathCount;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package de.bsailer.routing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one run of a {@code Traversal} or one query of a bidirectional {@code PathFinder}, spanning
+ * from the start of the search to its end.
+ */
+@Name("de.bsailer.routing.TraversalQuery")
+@Label("Traversal Query")
+@Category("Routing")
+@Description("One search of a traversal")
+@StackTrace(false)
+public final class TraversalQueryEvent extends jdk.jfr.Event {
+
+	@Label("Algorithm")
+	private String algorithm;
+
+	@Label("Settled Edges")
+	@Description("Edges settled, in both directions for a bidirectional query")
+	private long settledCount;
+
+	@Label("Cost")
+	@Description("Reach cost of the last settled edge, the one of the target for a target query or the meeting cost"
+			+ " of a bidirectional query")
+	private double cost;
+
+	@Label("Aborted By")
+	@Description("Aborter that stopped the search, null if the reachable edges were exhausted or the directions of a"
+			+ " bidirectional query met")
+	private String abortedBy;
+
+	/**
+	 * Commits the event with its values, if enabled and above the threshold.
+	 */
+	public void commit(final String algorithm, final long settledCount, final double cost, final String abortedBy) {
+		end();
+		if (shouldCommit()) {
+			this.algorithm = algorithm;
+			this.settledCount = settledCount;
+			this.cost = cost;
+			this.abortedBy = abortedBy;
+			commit();
+		}
+	}
+}
@@ -1,6 +1,6 @@
 package de.bsailer.routing.model;
 
-public interface ConstructableGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> extends Graph<E, I> {
+public interface ConstructableGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> extends EnumerableGraph<E, I> {
 
     void addEdge(E edge);
 
@@ -0,0 +1,53 @@
+package de.bsailer.routing.model;
+
+/**
+ * Planar position, e.g. projected map coordinates in meters.
+ */
+@SuppressWarnings("ClassCanBeRecord")
+public final class Coordinate {
+
+	private final double x;
+
+	private final double y;
+
+	public Coordinate(final double x, final double y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	public double x() {
+		return x;
+	}
+
+	public double y() {
+		return y;
+	}
+
+	/**
+	 * Euclidean distance to another {@code Coordinate}.
+	 */
+	public double distance(final Coordinate other) {
+		return Math.hypot(x - other.x, y - other.y);
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Coordinate other)) {
+			return false;
+		}
+		return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Double.hashCode(x) + Double.hashCode(y);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{" + x + ", " + y + "}";
+	}
+}
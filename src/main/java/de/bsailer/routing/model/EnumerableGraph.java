@@ -0,0 +1,18 @@
+package de.bsailer.routing.model;
+
+import java.util.function.Consumer;
+
+/**
+ * Implementors of this interface know all of their {@code Edge}s, so they can be transformed as a whole (e.g. into
+ * another storage layout or by preprocessing for speed-up techniques).
+ *
+ * @param <E> concrete type of the {@code Edge}s provided.
+ * @param <I> concrete type of the {@code EdgeIdentifier}s.
+ */
+public interface EnumerableGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> extends Graph<E, I> {
+
+	/**
+	 * passes every edge of the graph to {@code action}.
+	 */
+	void forEachEdge(Consumer<? super E> action);
+}
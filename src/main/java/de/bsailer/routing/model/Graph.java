@@ -1,6 +1,7 @@
 package de.bsailer.routing.model;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementors of this interface represent a source of {@code Edge}s and can thus be used for traversal.
@@ -14,5 +15,15 @@ public interface Graph<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 */
 	List<E> adjacents(I id);
 
+	/**
+	 * passes the adjacents of a given edge to {@code action}, in the order of {@code adjacents(id)}.
+	 *
+	 * Traversals call this once per settled edge, so implementations should override it to visit their adjacency
+	 * storage directly instead of creating a list.
+	 */
+	default void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		adjacents(id).forEach(action);
+	}
+
 	E edge(I id);
-}
\ No newline at end of file
+}
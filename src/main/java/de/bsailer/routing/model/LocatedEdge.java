@@ -0,0 +1,21 @@
+package de.bsailer.routing.model;
+
+/**
+ * Implementors of this interface represent an {@code Edge} with location information.  Adjacent edges are expected to
+ * continue where the edge ends, i.e. the end of an edge is the start of its adjacents.
+ *
+ * @param <I> type of the identifier.
+ */
+public interface LocatedEdge<I extends EdgeIdentifier<I>> extends Edge<I> {
+
+	/**
+	 * Retrieve the position the edge starts at.
+	 */
+	Coordinate start();
+
+	/**
+	 * Retrieve the position the edge ends at.
+	 */
+	Coordinate end();
+
+}
@@ -0,0 +1,240 @@
+package de.bsailer.routing.model.impl;
+
+import de.bsailer.routing.model.ConstructableGraph;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable compressed-sparse-row implementation of {@code Graph}.
+ *
+ * The adjacent indices of all edges are stored back to back in one {@code int[] targets}, the adjacents of the edge
+ * with index {@code i} being {@code targets[offsets[i]]} (inclusive) to {@code targets[offsets[i + 1]]} (exclusive).
+ * Compared to {@code IndexBasedSimpleGraph} this needs 4 bytes instead of a boxed {@code Integer} plus list overhead
+ * per adjacency entry.
+ *
+ * Instances are created by a {@code Builder} or by freezing a populated {@code ConstructableGraph}.  Being immutable,
+ * an instance can be shared by any number of query threads.
+ *
+ * @param <E> concrete type of {@code Edge}s within the graph.
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier} of these edges.
+ */
+public final class CompressedSparseRowGraph<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+		implements EnumerableGraph<E, I> {
+
+	private final Object[] edges;
+
+	private final int[] offsets;
+
+	private final int[] targets;
+
+	private CompressedSparseRowGraph(final Object[] edges, final int[] offsets, final int[] targets) {
+		this.edges = edges;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	/**
+	 * Copies the edges and adjacency of a populated graph.
+	 *
+	 * @param graph populated {@code ConstructableGraph}, which stays unchanged and can be discarded afterwards.
+	 * @return new {@code CompressedSparseRowGraph} with the same edges and adjacents.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> CompressedSparseRowGraph<E, I> freeze(
+			final ConstructableGraph<E, I> graph) {
+		final Builder<E, I> builder = new Builder<>();
+		graph.forEachEdge(builder::addEdge);
+		graph.forEachEdge(edge -> graph.forEachAdjacent(edge.id(), adjacent -> builder.connect(edge.id().index(), adjacent.id().index())));
+		return builder.build();
+	}
+
+	/**
+	 * Wraps ready-made arrays without copying, e.g. for loaders that fill presized arrays in parallel.  The arrays
+	 * are owned by the graph afterwards and must not be modified any more.
+	 *
+	 * @param edges   edges by index, {@code null} for unused indices.
+	 * @param offsets {@code edges.length + 1} non-decreasing start positions within {@code targets}, the last one being
+	 *                {@code targets.length}.
+	 * @param targets adjacent indices of all edges, each referring to an edge.
+	 * @return new {@code CompressedSparseRowGraph}.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> CompressedSparseRowGraph<E, I> wrap(
+			final E[] edges, final int[] offsets, final int[] targets) {
+		if (offsets.length != edges.length + 1 || offsets[0] != 0 || offsets[edges.length] != targets.length) {
+			throw new IllegalArgumentException("offsets do not match " + edges.length + " edges and "
+					+ targets.length + " targets");
+		}
+		return new CompressedSparseRowGraph<>(edges, offsets, targets);
+	}
+
+	@Override
+	public List<E> adjacents(final I id) {
+		final int index = id.index();
+		if (index >= edges.length) {
+			return Collections.emptyList();
+		}
+		final List<E> result = new ArrayList<>(offsets[index + 1] - offsets[index]);
+		forEachAdjacent(id, result::add);
+		return result;
+	}
+
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final int index = id.index();
+		if (index < edges.length) {
+			for (int position = offsets[index]; position < offsets[index + 1]; position++) {
+				action.accept(edge(targets[position]));
+			}
+		}
+	}
+
+	@Override
+	public E edge(final I id) {
+		final int index = id.index();
+		return index < edges.length ? edge(index) : null;
+	}
+
+	@Override
+	public void forEachEdge(final Consumer<? super E> action) {
+		for (int index = 0; index < edges.length; index++) {
+			if (edges[index] != null) {
+				action.accept(edge(index));
+			}
+		}
+	}
+
+	/**
+	 * Number of index positions, i.e. the highest edge index plus one.
+	 */
+	public int indexCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Number of adjacency entries of all edges.
+	 */
+	public int adjacencyCount() {
+		return targets.length;
+	}
+
+	/**
+	 * Edge with the given index, {@code null} for unused indices.
+	 */
+	@SuppressWarnings("unchecked")
+	public E edge(final int index) {
+		return (E) edges[index];
+	}
+
+	/**
+	 * First position of the adjacents of the edge with the given index, see {@code adjacentIndex(int)}.
+	 */
+	public int adjacentsBegin(final int index) {
+		return offsets[index];
+	}
+
+	/**
+	 * Position after the last adjacent of the edge with the given index, see {@code adjacentIndex(int)}.
+	 */
+	public int adjacentsEnd(final int index) {
+		return offsets[index + 1];
+	}
+
+	/**
+	 * Index of the adjacent at the given adjacency position.
+	 */
+	public int adjacentIndex(final int position) {
+		return targets[position];
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{indices=" + edges.length + ", adjacents=" + targets.length + "}";
+	}
+
+	/**
+	 * Collects edges and connections in primitive arrays and sorts them into a {@code CompressedSparseRowGraph}.
+	 * The order of connections per edge is kept.
+	 *
+	 * @param <E> concrete type of {@code Edge}s within the graph.
+	 * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier} of these edges.
+	 */
+	public static final class Builder<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private Object[] edges = new Object[INITIAL_CAPACITY];
+
+		private int indexCount;
+
+		private int[] froms = new int[INITIAL_CAPACITY];
+
+		private int[] tos = new int[INITIAL_CAPACITY];
+
+		private int connectionCount;
+
+		public Builder<E, I> addEdge(final E edge) {
+			final int index = edge.id().index();
+			if (index < 0) {
+				throw new IllegalArgumentException("negative index of " + edge.id() + " cannot be stored");
+			}
+			if (index >= edges.length) {
+				edges = Arrays.copyOf(edges, Math.max(index + 1, edges.length * 2));
+			}
+			edges[index] = edge;
+			indexCount = Math.max(indexCount, index + 1);
+			return this;
+		}
+
+		public Builder<E, I> connectEdges(final I edgeId, final I adjacentId) {
+			return connect(edgeId.index(), adjacentId.index());
+		}
+
+		Builder<E, I> connect(final int edgeIndex, final int adjacentIndex) {
+			if (connectionCount == froms.length) {
+				froms = Arrays.copyOf(froms, connectionCount * 2);
+				tos = Arrays.copyOf(tos, connectionCount * 2);
+			}
+			froms[connectionCount] = edgeIndex;
+			tos[connectionCount] = adjacentIndex;
+			connectionCount++;
+			return this;
+		}
+
+		/**
+		 * Creates the graph.  The builder must not be used afterwards.
+		 *
+		 * @throws IllegalStateException if a connection refers to an edge that has not been added.
+		 */
+		public CompressedSparseRowGraph<E, I> build() {
+			final int[] offsets = new int[indexCount + 1];
+			for (int i = 0; i < connectionCount; i++) {
+				checkAdded(froms[i]);
+				checkAdded(tos[i]);
+				offsets[froms[i] + 1]++;
+			}
+			for (int index = 0; index < indexCount; index++) {
+				offsets[index + 1] += offsets[index];
+			}
+			final int[] fill = Arrays.copyOf(offsets, indexCount);
+			final int[] targets = new int[connectionCount];
+			for (int i = 0; i < connectionCount; i++) {
+				targets[fill[froms[i]]++] = tos[i];
+			}
+			froms = null;
+			tos = null;
+			return new CompressedSparseRowGraph<>(Arrays.copyOf(edges, indexCount), offsets, targets);
+		}
+
+		private void checkAdded(final int index) {
+			if (index < 0 || index >= indexCount || edges[index] == null) {
+				throw new IllegalStateException("edge with index " + index + " is connected but has not been added");
+			}
+		}
+	}
+}
@@ -5,7 +5,9 @@ import de.bsailer.routing.model.Edge;
 import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Simple {@code Array}-based implementation of {@code Graph}.
@@ -21,15 +23,32 @@ public class IndexBasedSimpleGraph<E extends Edge<I>, I extends IndexProvidingEd
 
 	@Override
 	public List<E> adjacents(final I id) {
-		final var edgeAdjacents = adjacents.get(id.index());
+		final var edgeAdjacents = edgeAdjacents(id.index());
 		return edgeAdjacents.stream().map(edges::get).toList();
 	}
 
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final var edgeAdjacents = edgeAdjacents(id.index());
+		for (int i = 0; i < edgeAdjacents.size(); i++) {
+			action.accept(edges.get(edgeAdjacents.get(i)));
+		}
+	}
+
 	@Override
 	public E edge(final I id) {
 		return edges.get(id.index());
 	}
 
+	@Override
+	public void forEachEdge(final Consumer<? super E> action) {
+		for (final E edge : edges) {
+			if (edge != null) {
+				action.accept(edge);
+			}
+		}
+	}
+
 	@Override
 	public void addEdge(final E edge) {
 		final int index = edge.id().index();
@@ -47,6 +66,13 @@ public class IndexBasedSimpleGraph<E extends Edge<I>, I extends IndexProvidingEd
 		adjacents.get(index).add(adjacentId.index());
 	}
 
+	private List<Integer> edgeAdjacents(final int index) {
+		if (index >= adjacents.size() || adjacents.get(index) == null) {
+			return Collections.emptyList();
+		}
+		return adjacents.get(index);
+	}
+
 	private void extendArrayIfNeeded(final ArrayList<?> array, final int index) {
 		final int capacity = index + 1;
 		array.ensureCapacity(capacity);
@@ -5,9 +5,11 @@ import de.bsailer.routing.model.Edge;
 import de.bsailer.routing.model.EdgeIdentifier;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -24,15 +26,30 @@ public class SimpleGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> impleme
 
 	@Override
 	public List<E> adjacents(final I id) {
-		final var edgeAdjacents = adjacents.get(id);
+		final var edgeAdjacents = adjacents.getOrDefault(id, Collections.emptyList());
 		return edgeAdjacents.stream().map(edges::get).collect(Collectors.toList());
 	}
 
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final var edgeAdjacents = adjacents.get(id);
+		if (edgeAdjacents != null) {
+			for (int i = 0; i < edgeAdjacents.size(); i++) {
+				action.accept(edges.get(edgeAdjacents.get(i)));
+			}
+		}
+	}
+
 	@Override
 	public E edge(final I id) {
 		return edges.get(id);
 	}
 
+	@Override
+	public void forEachEdge(final Consumer<? super E> action) {
+		edges.values().forEach(action);
+	}
+
 	@Override
 	public void addEdge(final E edge) {
 		edges.put(edge.id(), edge);
@@ -0,0 +1,46 @@
+package de.bsailer.routing.model.impl;
+
+import de.bsailer.routing.model.Coordinate;
+import de.bsailer.routing.model.LocatedEdge;
+
+import java.util.Objects;
+
+public class SimpleLocatedEdge extends SimpleEdge implements LocatedEdge<SimpleEdgeIdentifier> {
+
+	private final Coordinate start;
+	private final Coordinate end;
+
+	public SimpleLocatedEdge(final SimpleEdgeIdentifier id, final Coordinate start, final Coordinate end) {
+		super(id);
+		this.start = Objects.requireNonNull(start);
+		this.end = Objects.requireNonNull(end);
+	}
+
+	@Override
+	public Coordinate start() {
+		return start;
+	}
+
+	@Override
+	public Coordinate end() {
+		return end;
+	}
+
+	@Override
+	public SimpleLocatedEdge setWeight(final double weight) {
+		super.setWeight(weight);
+		return this;
+	}
+
+	@Override
+	public SimpleLocatedEdge setLength(final double length) {
+		super.setLength(length);
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{id=" + id() + ", weight=" + weight() + ", start=" + start + ", end="
+				+ end + "}";
+	}
+}
@@ -0,0 +1,169 @@
+package de.bsailer.routing.model.mapped;
+
+import de.bsailer.routing.factory.IndexedEdgeFactory;
+import de.bsailer.routing.jfr.GraphLoadEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.BYTE_ORDER;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.HEADER_SIZE;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.MAGIC;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.VERSION;
+
+/**
+ * Read-only {@code Graph} implementation served directly from a memory-mapped binary graph file (see
+ * {@code MappedGraphWriter}).
+ *
+ * Opening only validates the header and maps the file, independent of the graph size, so a process is query-ready
+ * right away.  The data lives off-heap in the page cache, which is shared by all processes mapping the same file.
+ * Edges are created by an {@code IndexedEdgeFactory} on access, so in contrast to heap-based graphs traversals
+ * allocate one edge object per visited adjacent.
+ *
+ * Instances are immutable and can be shared by any number of query threads.
+ *
+ * @param <E> concrete type of {@code Edge}s created.
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}.
+ */
+public final class MappedGraph<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+		implements EnumerableGraph<E, I> {
+
+	private final IndexedEdgeFactory<E, I> edgeFactory;
+
+	private final int indexCount;
+
+	private final DoubleBuffer weights;
+
+	private final IntBuffer offsets;
+
+	private final IntBuffer targets;
+
+	private MappedGraph(final IndexedEdgeFactory<E, I> edgeFactory,
+						final int indexCount,
+						final DoubleBuffer weights,
+						final IntBuffer offsets,
+						final IntBuffer targets) {
+		this.edgeFactory = edgeFactory;
+		this.indexCount = indexCount;
+		this.weights = weights;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	/**
+	 * Maps a graph file.  The file must not be modified while mapped.
+	 *
+	 * @param file        graph file written by {@code MappedGraphWriter}.
+	 * @param edgeFactory {@code IndexedEdgeFactory} creating edges from index and weight.
+	 * @return new {@code MappedGraph}.
+	 * @throws IOException if the file cannot be read or is no (supported) graph file.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> MappedGraph<E, I> open(
+			final Path file, final IndexedEdgeFactory<E, I> edgeFactory) throws IOException {
+		final GraphLoadEvent event = new GraphLoadEvent();
+		event.begin();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read complete header
+			}
+			header.flip();
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				throw new IOException(file + " is no graph file");
+			}
+			final int version = header.getInt();
+			if (version != VERSION) {
+				throw new IOException(file + " has unsupported version " + version);
+			}
+			final int indexCount = header.getInt();
+			final int adjacencyCount = header.getInt();
+			if (indexCount < 0 || adjacencyCount < 0
+					|| channel.size() != MappedGraphFormat.fileSize(indexCount, adjacencyCount)) {
+				throw new IOException(file + " is truncated or corrupt");
+			}
+			final DoubleBuffer weights = map(channel, MappedGraphFormat.weightsPosition(),
+					(long) Double.BYTES * indexCount).asDoubleBuffer();
+			final IntBuffer offsets = map(channel, MappedGraphFormat.offsetsPosition(indexCount),
+					(long) Integer.BYTES * (indexCount + 1)).asIntBuffer();
+			final IntBuffer targets = map(channel, MappedGraphFormat.targetsPosition(indexCount),
+					(long) Integer.BYTES * adjacencyCount).asIntBuffer();
+			event.commit(MappedGraph.class, file, indexCount);
+			return new MappedGraph<>(edgeFactory, indexCount, weights, offsets, targets);
+		}
+	}
+
+	private static ByteBuffer map(final FileChannel channel, final long position, final long size) throws IOException {
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("section of " + size + " bytes exceeds the mappable size");
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(BYTE_ORDER);
+	}
+
+	@Override
+	public List<E> adjacents(final I id) {
+		final int index = id.index();
+		if (index >= indexCount) {
+			return Collections.emptyList();
+		}
+		final List<E> result = new ArrayList<>(offsets.get(index + 1) - offsets.get(index));
+		forEachAdjacent(id, result::add);
+		return result;
+	}
+
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final int index = id.index();
+		if (index < indexCount) {
+			final int end = offsets.get(index + 1);
+			for (int position = offsets.get(index); position < end; position++) {
+				action.accept(edge(targets.get(position)));
+			}
+		}
+	}
+
+	@Override
+	public E edge(final I id) {
+		final int index = id.index();
+		if (index >= indexCount || Double.isNaN(weights.get(index))) {
+			return null;
+		}
+		return edgeFactory.edge(id, weights.get(index));
+	}
+
+	@Override
+	public void forEachEdge(final Consumer<? super E> action) {
+		for (int index = 0; index < indexCount; index++) {
+			if (!Double.isNaN(weights.get(index))) {
+				action.accept(edge(index));
+			}
+		}
+	}
+
+	/**
+	 * Number of index positions, i.e. the highest edge index plus one.
+	 */
+	public int indexCount() {
+		return indexCount;
+	}
+
+	private E edge(final int index) {
+		return edgeFactory.edge(edgeFactory.edgeIdentifier(index), weights.get(index));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{indices=" + indexCount + ", adjacents=" + targets.capacity() + "}";
+	}
+}
@@ -0,0 +1,49 @@
+package de.bsailer.routing.model.mapped;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the binary graph file read by {@code MappedGraph} and written by {@code MappedGraphWriter}.
+ *
+ * <pre>
+ * header   (32 bytes)  int magic, int version, int indexCount, int adjacencyCount, 16 bytes reserved
+ * weights  (8 bytes x indexCount)        double weight per edge index, NaN for unused indices
+ * offsets  (4 bytes x (indexCount + 1))  int start of the adjacents per edge index within targets
+ * targets  (4 bytes x adjacencyCount)    int adjacent edge index
+ * </pre>
+ *
+ * All values are little endian, every section starts at a multiple of its element size.
+ */
+final class MappedGraphFormat {
+
+	static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * "RGRF" (routing graph file).
+	 */
+	static final int MAGIC = 0x46524752;
+
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 32;
+
+	private MappedGraphFormat() {
+		throw new IllegalStateException("no instance");
+	}
+
+	static long weightsPosition() {
+		return HEADER_SIZE;
+	}
+
+	static long offsetsPosition(final int indexCount) {
+		return weightsPosition() + (long) Double.BYTES * indexCount;
+	}
+
+	static long targetsPosition(final int indexCount) {
+		return offsetsPosition(indexCount) + (long) Integer.BYTES * (indexCount + 1);
+	}
+
+	static long fileSize(final int indexCount, final int adjacencyCount) {
+		return targetsPosition(indexCount) + (long) Integer.BYTES * adjacencyCount;
+	}
+}
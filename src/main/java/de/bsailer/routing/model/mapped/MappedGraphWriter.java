@@ -0,0 +1,74 @@
+package de.bsailer.routing.model.mapped;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.BYTE_ORDER;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.HEADER_SIZE;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.MAGIC;
+import static de.bsailer.routing.model.mapped.MappedGraphFormat.VERSION;
+
+/**
+ * Writes a {@code CompressedSparseRowGraph} in the binary format opened by {@code MappedGraph}.
+ */
+public final class MappedGraphWriter {
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private MappedGraphWriter() {
+		throw new IllegalStateException("no instance");
+	}
+
+	/**
+	 * Writes (and overwrites) the graph file.
+	 *
+	 * @param graph {@code CompressedSparseRowGraph} to write.
+	 * @param file  target file.
+	 * @throws IOException on write errors.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> void write(
+			final CompressedSparseRowGraph<E, I> graph, final Path file) throws IOException {
+		final int indexCount = graph.indexCount();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BYTE_ORDER);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(indexCount).putInt(graph.adjacencyCount());
+			buffer.position(HEADER_SIZE);
+			for (int index = 0; index < indexCount; index++) {
+				final E edge = graph.edge(index);
+				ensureRemaining(channel, buffer, Double.BYTES).putDouble(edge == null ? Double.NaN : edge.weight());
+			}
+			for (int index = 0; index < indexCount; index++) {
+				ensureRemaining(channel, buffer, Integer.BYTES).putInt(graph.adjacentsBegin(index));
+			}
+			ensureRemaining(channel, buffer, Integer.BYTES).putInt(graph.adjacencyCount());
+			for (int position = 0; position < graph.adjacencyCount(); position++) {
+				ensureRemaining(channel, buffer, Integer.BYTES).putInt(graph.adjacentIndex(position));
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	private static ByteBuffer ensureRemaining(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+			throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush(channel, buffer);
+		}
+		return buffer;
+	}
+
+	private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
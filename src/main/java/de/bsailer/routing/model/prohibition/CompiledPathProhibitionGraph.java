@@ -0,0 +1,223 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Immutable {@code Graph} holding the complete transformation of a {@code PathProhibitionGraph}, created by
+ * {@code PathProhibitionGraph.compile()}.
+ *
+ * Every shadow edge has a slot; adjacency is stored in compressed sparse row layout over the slots.  The edges
+ * returned by this graph carry their slot in their identifier, so looking up the adjacents of such an edge is plain
+ * array access.  Identifiers created elsewhere are resolved by one map lookup.  Instances can be shared by any number
+ * of query threads.
+ *
+ * @param <E> concrete type of delegate graph {@code Edge}s.
+ * @param <I> concrete type of delegate graph {@code EdgeIdentifier}s.
+ */
+public final class CompiledPathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>>
+        implements Graph<ShadowEdge<E, I>, ShadowEdgeIdentifier<I>> {
+
+    private final ShadowEdge<E, I>[] edges;
+
+    private final int[] offsets;
+
+    private final int[] adjacents;
+
+    private final Map<ShadowEdgeIdentifier<I>, Integer> slots;
+
+    private CompiledPathProhibitionGraph(final ShadowEdge<E, I>[] edges,
+                                         final int[] offsets,
+                                         final int[] adjacents,
+                                         final Map<ShadowEdgeIdentifier<I>, Integer> slots) {
+        this.edges = edges;
+        this.offsets = offsets;
+        this.adjacents = adjacents;
+        this.slots = slots;
+    }
+
+    @Override
+    public List<ShadowEdge<E, I>> adjacents(final ShadowEdgeIdentifier<I> id) {
+        final List<ShadowEdge<E, I>> result = new ArrayList<>();
+        forEachAdjacent(id, result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachAdjacent(final ShadowEdgeIdentifier<I> id, final Consumer<? super ShadowEdge<E, I>> action) {
+        final int slot = slot(id);
+        if (slot < 0) {
+            return;
+        }
+        for (int position = offsets[slot]; position < offsets[slot + 1]; position++) {
+            action.accept(edges[adjacents[position]]);
+        }
+    }
+
+    /**
+     * Retrieves a shadow edge.
+     *
+     * @return {@code ShadowEdge} or {@code null} if not part of the transformation.
+     */
+    @Override
+    public ShadowEdge<E, I> edge(final ShadowEdgeIdentifier<I> id) {
+        final int slot = slot(id);
+        return slot < 0 ? null : edges[slot];
+    }
+
+    /**
+     * Number of shadow edges, root copies included.
+     */
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Converts a compiled graph over index-providing delegate ids into a {@code CompressedSparseRowGraph} with
+     * {@code PackedShadowEdgeIdentifier}s, so searches can use array-backed state such as {@code IndexedDijkstra}.
+     * Root copies keep the index of their delegate, the other copies are indexed densely beyond.
+     *
+     * @param graph {@code CompiledPathProhibitionGraph} to convert.
+     * @return new {@code CompressedSparseRowGraph} with the same edges and adjacency.
+     */
+    public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+            CompressedSparseRowGraph<PackedShadowEdge<E, I>, PackedShadowEdgeIdentifier> pack(
+                    final CompiledPathProhibitionGraph<E, I> graph) {
+        final int slotCount = graph.edges.length;
+        int rootCount = 0;
+        for (final ShadowEdge<E, I> edge : graph.edges) {
+            if (edge.id().isRootCopy()) {
+                final int delegateIndex = edge.id().delegateId().index();
+                if (delegateIndex < 0) {
+                    throw new IllegalStateException("negative delegate index of root copy: " + edge.id());
+                }
+                rootCount = Math.max(rootCount, delegateIndex + 1);
+            }
+        }
+        final int[] indices = new int[slotCount];
+        int indexCount = rootCount;
+        for (int slot = 0; slot < slotCount; slot++) {
+            final ShadowEdgeIdentifier<I> id = graph.edges[slot].id();
+            indices[slot] = id.isRootCopy() ? id.delegateId().index() : indexCount++;
+        }
+        @SuppressWarnings("unchecked")
+        final PackedShadowEdge<E, I>[] edges = (PackedShadowEdge<E, I>[]) new PackedShadowEdge<?, ?>[indexCount];
+        final int[] degrees = new int[indexCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            final ShadowEdge<E, I> edge = graph.edges[slot];
+            final int index = indices[slot];
+            edges[index] = new PackedShadowEdge<>(edge.delegateEdge(), new PackedShadowEdgeIdentifier(
+                    edge.id().delegateId().index(), edge.id().copy(), index));
+            degrees[index] = graph.offsets[slot + 1] - graph.offsets[slot];
+        }
+        final int[] offsets = new int[indexCount + 1];
+        for (int index = 0; index < indexCount; index++) {
+            offsets[index + 1] = offsets[index] + degrees[index];
+        }
+        final int[] targets = new int[graph.adjacents.length];
+        for (int slot = 0; slot < slotCount; slot++) {
+            int target = offsets[indices[slot]];
+            for (int position = graph.offsets[slot]; position < graph.offsets[slot + 1]; position++) {
+                targets[target++] = indices[graph.adjacents[position]];
+            }
+        }
+        return CompressedSparseRowGraph.wrap(edges, offsets, targets);
+    }
+
+    private int slot(final ShadowEdgeIdentifier<I> id) {
+        if (id instanceof CompiledShadowEdgeIdentifier<?> compiled) {
+            final int slot = compiled.slot();
+            if (slot < edges.length && edges[slot].id() == id) {
+                return slot;
+            }
+        }
+        return slots.getOrDefault(id, -1);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{edges=" + edges.length + ", adjacents=" + adjacents.length + "}";
+    }
+
+    /*
+     * Collects the adjacency of all shadow edges reachable from the given ones into slot arrays.  The transformation
+     * must be complete, i.e. all prohibitions transformed.
+     */
+    static class Compiler<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+
+        private final Graph<E, I> delegateGraph;
+
+        private final PathProhibitionGraph.GraphOverlay<E, I> graphOverlay;
+
+        private final List<ShadowEdge<E, I>> edges = new ArrayList<>();
+
+        private final Map<ShadowEdgeIdentifier<I>, Integer> slots = new HashMap<>();
+
+        Compiler(final Graph<E, I> delegateGraph, final PathProhibitionGraph.GraphOverlay<E, I> graphOverlay) {
+            this.delegateGraph = delegateGraph;
+            this.graphOverlay = graphOverlay;
+        }
+
+        void add(final ShadowEdge<E, I> edge) {
+            slot(edge);
+        }
+
+        CompiledPathProhibitionGraph<E, I> compile() {
+            int[] offsets = new int[Math.max(16, edges.size() + 1)];
+            int[] adjacents = new int[Math.max(16, edges.size())];
+            int adjacentCount = 0;
+            for (int slot = 0; slot < edges.size(); slot++) {
+                if (slot + 1 >= offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[slot] = adjacentCount;
+                final ShadowEdgeIdentifier<I> id = edges.get(slot).id();
+                final List<E> delegateAdjacents = id.isRootCopy()
+                        ? delegateGraph.adjacents(id.delegateId())
+                        : List.of();
+                final List<ShadowEdge<E, I>> shadowAdjacents = new ArrayList<>();
+                graphOverlay.forEachAdjacent(id, delegateAdjacents, shadowAdjacents::add);
+                if (adjacentCount + shadowAdjacents.size() > adjacents.length) {
+                    adjacents = Arrays.copyOf(adjacents, Math.max(adjacents.length * 2, adjacentCount + shadowAdjacents.size()));
+                }
+                for (final ShadowEdge<E, I> shadowAdjacent : shadowAdjacents) {
+                    adjacents[adjacentCount++] = slot(shadowAdjacent);
+                }
+            }
+            offsets[edges.size()] = adjacentCount;
+            @SuppressWarnings("unchecked")
+            final ShadowEdge<E, I>[] edgeArray = (ShadowEdge<E, I>[]) edges.toArray(new ShadowEdge<?, ?>[0]);
+            return new CompiledPathProhibitionGraph<>(edgeArray,
+                    Arrays.copyOf(offsets, edges.size() + 1),
+                    Arrays.copyOf(adjacents, adjacentCount),
+                    slots);
+        }
+
+        /*
+         * slot of a shadow edge, newly assigned (and to be compiled later on) if not seen yet.
+         */
+        private int slot(final ShadowEdge<E, I> edge) {
+            final Integer known = slots.get(edge.id());
+            if (known != null) {
+                return known;
+            }
+            final int slot = edges.size();
+            final var id = new CompiledShadowEdgeIdentifier<>(edge.id(), slot);
+            edges.add(new ShadowEdge<>(edge.delegateEdge(), id));
+            slots.put(id, slot);
+            return slot;
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.model.EdgeIdentifier;
+
+/**
+ * {@code ShadowEdgeIdentifier} handed out by a {@code CompiledPathProhibitionGraph}, additionally carrying the slot of
+ * its edge in the arrays of that graph.  The slot is not part of equality, so instances are interchangeable with
+ * plain {@code ShadowEdgeIdentifier}s.
+ *
+ * @param <I> concrete type of delegate {@code EdgeIdentifier}s.
+ */
+final class CompiledShadowEdgeIdentifier<I extends EdgeIdentifier<I>> extends ShadowEdgeIdentifier<I> {
+
+    private final int slot;
+
+    CompiledShadowEdgeIdentifier(final ShadowEdgeIdentifier<I> id, final int slot) {
+        super(id.delegateId(), id.copy());
+        this.slot = slot;
+    }
+
+    int slot() {
+        return slot;
+    }
+
+}
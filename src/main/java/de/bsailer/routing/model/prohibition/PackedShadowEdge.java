@@ -0,0 +1,41 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+/**
+ * {@code Edge} of a packed prohibition graph (see {@code CompiledPathProhibitionGraph.pack(...)}), holding its
+ * delegate like {@code ShadowEdge}.
+ *
+ * @param <E> concrete type of delegate {@code Edge}s.
+ * @param <I> concrete type of delegate {@code IndexProvidingEdgeIdentifier}s.
+ */
+public class PackedShadowEdge<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+        implements Edge<PackedShadowEdgeIdentifier> {
+
+    private final PackedShadowEdgeIdentifier id;
+
+    private final E delegateEdge;
+
+    PackedShadowEdge(final E delegateEdge, final PackedShadowEdgeIdentifier id) {
+        this.delegateEdge = delegateEdge;
+        this.id = id;
+    }
+
+    @Override
+    public PackedShadowEdgeIdentifier id() {
+        return id;
+    }
+
+    @Override
+    public double weight() {
+        return delegateEdge.weight();
+    }
+
+    /**
+     * The delegate edge, a virtual one for point and penalty edges of the transformation.
+     */
+    public E delegateEdge() {
+        return delegateEdge;
+    }
+}
@@ -0,0 +1,81 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+/**
+ * Compact counterpart of {@code ShadowEdgeIdentifier} for delegate graphs with {@code IndexProvidingEdgeIdentifier}s:
+ * delegate index and copy number are packed into one {@code long}, and a dense index over all shadow edges allows
+ * array-backed storage and search state.
+ *
+ * Root copies have the index of their delegate, so they can be created by {@code root(int)} without knowing the
+ * transformation; the other copies are indexed beyond the highest delegate index by {@code
+ * CompiledPathProhibitionGraph.pack(...)}.  Equality is determined by delegate index and copy number.
+ */
+public final class PackedShadowEdgeIdentifier implements IndexProvidingEdgeIdentifier<PackedShadowEdgeIdentifier> {
+
+    private static final int ROOT_COPY = -1;
+
+    private final long packed;
+
+    private final int index;
+
+    PackedShadowEdgeIdentifier(final int delegateIndex, final int copy, final int index) {
+        this.packed = ((long) delegateIndex << Integer.SIZE) | (copy & 0xFFFFFFFFL);
+        this.index = index;
+    }
+
+    /**
+     * Creates the identifier of the root copy of a delegate edge.
+     *
+     * @param delegateIndex index of the delegate edge.
+     * @return {@code PackedShadowEdgeIdentifier} of the root copy.
+     */
+    public static PackedShadowEdgeIdentifier root(final int delegateIndex) {
+        return new PackedShadowEdgeIdentifier(delegateIndex, ROOT_COPY, delegateIndex);
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    public int delegateIndex() {
+        return (int) (packed >> Integer.SIZE);
+    }
+
+    /**
+     * Copy number, {@code -1} for the root copy.
+     */
+    public int copy() {
+        return (int) packed;
+    }
+
+    public boolean isRootCopy() {
+        return copy() == ROOT_COPY;
+    }
+
+    @Override
+    public boolean equals(final PackedShadowEdgeIdentifier other) {
+        return packed == other.packed;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o instanceof PackedShadowEdgeIdentifier other) {
+            return equals(other);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(packed);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{delegateIndex=" + delegateIndex() + ", copy=" + copy()
+                + ", index=" + index + "}";
+    }
+
+}
@@ -2,11 +2,18 @@ package de.bsailer.routing.model.prohibition;
 
 import de.bsailer.routing.factory.EdgeFactory;
 import de.bsailer.routing.factory.EdgeIdentifierSupplier;
+import de.bsailer.routing.jfr.ProhibitionTransformationEvent;
 import de.bsailer.routing.model.Edge;
 import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.EnumerableGraph;
 import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.util.CacheStatistics;
+import de.bsailer.routing.util.ConcurrentClockCache;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -16,6 +23,21 @@ import java.util.stream.Stream;
  * to a new {@code Graph<ShadowEdge<E, I>, ShadowEdgeIdentifier<I>>}.  The new transformed graph implicitly respects the
  * path prohibitions (hopefully according to Schmid_Diss.pdf given in the docs).
  *
+ * The transformation is done lazily, around the edges asked for.  For query-heavy use, {@code compile()} transforms
+ * all prohibitions at once into an immutable {@code CompiledPathProhibitionGraph}.
+ *
+ * Any number of query threads can share an instance, provided the delegate graph, edge factory and id supplier are
+ * safe for concurrent reads.  Each prohibition equivalent class is transformed exactly once, by the first thread
+ * needing it, under the lock of that class; other threads needing the class wait for the transformation to complete,
+ * transformations of different classes run concurrently.  Prohibitions must be added before the instance is shared.
+ *
+ * Optionally, computed adjacency lists are kept in a size-bounded {@code ConcurrentClockCache}, so hot junctions
+ * expanded by many queries are computed once; its segmented CLOCK eviction keeps hits free of shared writes, so
+ * concurrent queries do not contend on the cache.  The cache is invalidated whenever prohibitions are added.
+ *
+ * Each transformation of a prohibition equivalent class is recorded as {@code ProhibitionTransformationEvent} for the
+ * flight recorder.
+ *
  * @param <E> concrete type of delegate graph {@code Edge}s.
  * @param <I> concrete type of delegate graph {@code EdgeIdentifier}s.
  */
@@ -28,22 +50,100 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
 
     private final Graph<E, I> delegateGraph;
 
+    private final ConcurrentClockCache<ShadowEdgeIdentifier<I>, List<ShadowEdge<E, I>>> adjacencyCache;
+
     public PathProhibitionGraph(final Graph<E, I> delegateGraph,
                                 final EdgeFactory<E, I> edgeFactory,
                                 final EdgeIdentifierSupplier<I> idSupplier,
                                 final double prohibitionViolationPenalty) {
+        this(delegateGraph, edgeFactory, idSupplier, prohibitionViolationPenalty, 0L);
+    }
+
+    /**
+     * Constructs with a cache of adjacency lists.
+     *
+     * @param adjacencyCacheSize maximum number of cached adjacency entries (each list counting its size plus one),
+     *                           {@code 0} for no cache.
+     */
+    public PathProhibitionGraph(final Graph<E, I> delegateGraph,
+                                final EdgeFactory<E, I> edgeFactory,
+                                final EdgeIdentifierSupplier<I> idSupplier,
+                                final double prohibitionViolationPenalty,
+                                final long adjacencyCacheSize) {
+        if (adjacencyCacheSize < 0) {
+            throw new IllegalArgumentException("adjacencyCacheSize must not be negative: " + adjacencyCacheSize);
+        }
         this.delegateGraph = delegateGraph;
         this.graphOverlay = new GraphOverlay<>(delegateGraph, edgeFactory, idSupplier, prohibitionViolationPenalty);
+        this.adjacencyCache = adjacencyCacheSize == 0L
+                ? null
+                : new ConcurrentClockCache<>(adjacencyCacheSize, adjacents -> adjacents.size() + 1L);
     }
 
     public void addProhibitedPath(final List<I> prohibitedPath) {
         prohibitions.addProhibitedPath(prohibitedPath);
+        if (adjacencyCache != null) {
+            adjacencyCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Statistics of the cache of adjacency lists, e.g. for its hit rate.
+     *
+     * @return {@code CacheStatistics}, empty if constructed without cache.
+     */
+    public Optional<CacheStatistics> adjacencyCacheStatistics() {
+        return Optional.ofNullable(adjacencyCache).map(ConcurrentClockCache::statistics);
+    }
+
+    /**
+     * Transforms all prohibitions added so far and freezes the result.  Prohibitions added afterwards only affect this
+     * graph, not the returned one.
+     *
+     * @return {@code CompiledPathProhibitionGraph} equivalent to this graph.
+     * @throws IllegalStateException if the delegate graph is no {@code EnumerableGraph}.
+     */
+    public CompiledPathProhibitionGraph<E, I> compile() {
+        if (!(delegateGraph instanceof EnumerableGraph<E, I> enumerableGraph)) {
+            throw new IllegalStateException("compiling requires an EnumerableGraph delegate: " + delegateGraph);
+        }
+        prohibitions.equivalentClasses().forEach(this::transformProhibition);
+        final var compiler = new CompiledPathProhibitionGraph.Compiler<>(delegateGraph, graphOverlay);
+        enumerableGraph.forEachEdge(edge -> compiler.add(new ShadowEdge<>(edge)));
+        graphOverlay.forEachOverlayEdge(compiler::add);
+        return compiler.compile();
     }
 
     @Override
     public List<ShadowEdge<E, I>> adjacents(final ShadowEdgeIdentifier<I> id) {
-        assureLocalGraphTransformation(id);
-        return doListAdjacents(id);
+        final List<ShadowEdge<E, I>> result = new ArrayList<>();
+        forEachAdjacent(id, result::add);
+        return result;
+    }
+
+    @Override
+    public void forEachAdjacent(final ShadowEdgeIdentifier<I> id, final Consumer<? super ShadowEdge<E, I>> action) {
+        if (adjacencyCache != null) {
+            adjacencyCache.get(id, this::computeAdjacents).forEach(action);
+        } else {
+            computeAdjacents(id, action);
+        }
+    }
+
+    /*
+     * Once computed, the adjacents of an edge do not change until prohibitions are added: transformations of other
+     * classes neither touch the overlay adjacents of this edge nor add copies of its adjacents.
+     */
+    private List<ShadowEdge<E, I>> computeAdjacents(final ShadowEdgeIdentifier<I> id) {
+        final List<ShadowEdge<E, I>> result = new ArrayList<>();
+        computeAdjacents(id, result::add);
+        return Collections.unmodifiableList(result);
+    }
+
+    private void computeAdjacents(final ShadowEdgeIdentifier<I> id, final Consumer<? super ShadowEdge<E, I>> action) {
+        final var delegateAdjacents = delegateGraph.adjacents(id.delegateId());
+        assureLocalGraphTransformation(id, delegateAdjacents);
+        graphOverlay.forEachAdjacent(id, delegateAdjacents, action);
     }
 
     @Override
@@ -51,38 +151,91 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
         return new ShadowEdge<>(delegateGraph.edge(id.delegateId()), id.copy());
     }
 
-    private void assureLocalGraphTransformation(final ShadowEdgeIdentifier<I> id) {
-        final var idsToCheck = Stream.concat(Stream.of(id.delegateId()),
-                delegateGraph.adjacents(id.delegateId()).stream().map(Edge::id)).collect(Collectors.toSet());
-        idsToCheck.forEach(i -> prohibitions.touchingEquivalentClasses(i).forEach(this::transformProhibition));
+    private void assureLocalGraphTransformation(final ShadowEdgeIdentifier<I> id, final List<E> delegateAdjacents) {
+        assureTransformation(id.delegateId());
+        for (final E delegateAdjacent : delegateAdjacents) {
+            assureTransformation(delegateAdjacent.id());
+        }
     }
 
-    private void transformProhibition(final ProhibitionEquivalentClass<I> prohibitionEquivalentClass) {
-        graphOverlay.addProhibitionEquivalentClass(prohibitionEquivalentClass);
-        prohibitions.removeProhibitionEquivalentClass(prohibitionEquivalentClass.prohibitionClassId());
+    private void assureTransformation(final I delegateId) {
+        if (prohibitions.isTouched(delegateId)) {
+            prohibitions.touchingEquivalentClasses(delegateId).forEach(this::transformProhibition);
+        }
     }
 
-    private List<ShadowEdge<E, I>> doListAdjacents(final ShadowEdgeIdentifier<I> id) {
-        final var delegateAdjacents = delegateGraph.adjacents(id.delegateId());
-        return graphOverlay.listAdjacents(id, delegateAdjacents);
+    private void transformProhibition(final ProhibitionEquivalentClass<I> prohibitionEquivalentClass) {
+        prohibitionEquivalentClass.transformOnce(c -> {
+            final var event = new ProhibitionTransformationEvent();
+            event.begin();
+            graphOverlay.addProhibitionEquivalentClass(c);
+            prohibitions.removeProhibitionEquivalentClass(c.prohibitionClassId());
+            event.commit(c.prohibitionClassId(), c.prohibitedPaths().size());
+        });
     }
 
     record ProhibitedPath<I extends EdgeIdentifier<I>>(List<I> edgeIds) { }
 
-    record ProhibitionEquivalentClass<I extends EdgeIdentifier<I>>(I prohibitionClassId, List<ProhibitedPath<I>> prohibitedPaths) { }
+    static final class ProhibitionEquivalentClass<I extends EdgeIdentifier<I>> {
+
+        private final I prohibitionClassId;
+
+        private final List<ProhibitedPath<I>> prohibitedPaths;
+
+        private volatile boolean transformed;
+
+        ProhibitionEquivalentClass(final I prohibitionClassId, final List<ProhibitedPath<I>> prohibitedPaths) {
+            this.prohibitionClassId = prohibitionClassId;
+            this.prohibitedPaths = prohibitedPaths;
+        }
+
+        I prohibitionClassId() {
+            return prohibitionClassId;
+        }
+
+        List<ProhibitedPath<I>> prohibitedPaths() {
+            return prohibitedPaths;
+        }
+
+        /*
+         * Runs the transformation unless done already; threads arriving meanwhile wait for it.  Not marked as
+         * transformed if the transformation fails, so it is retried.
+         */
+        void transformOnce(final Consumer<ProhibitionEquivalentClass<I>> transformation) {
+            if (!transformed) {
+                synchronized (this) {
+                    if (!transformed) {
+                        transformation.accept(this);
+                        transformed = true;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{prohibitionClassId=" + prohibitionClassId
+                    + ", prohibitedPaths=" + prohibitedPaths + ", transformed=" + transformed + "}";
+        }
+    }
 
     static class Prohibitions<I extends EdgeIdentifier<I>> {
 
-        private final Map<I, ProhibitionEquivalentClass<I>> prohibitionEquivalentClasses = new HashMap<>();
+        private final Map<I, ProhibitionEquivalentClass<I>> prohibitionEquivalentClasses = new ConcurrentHashMap<>();
 
-        private final Map<I, Set<I>> edgeIdToProhibitionEquivalentClassKey = new HashMap<>();
+        private final Map<I, Set<I>> edgeIdToProhibitionEquivalentClassKey = new ConcurrentHashMap<>();
 
         void addProhibitedPath(final List<I> prohibitedPath) {
             final var initialEdgeId = prohibitedPath.get(0);
             final var prohibitionEquivalentClass =
                     getOrNewContainer(this.prohibitionEquivalentClasses, initialEdgeId, () -> new ProhibitionEquivalentClass<>(initialEdgeId, new ArrayList<>()));
             prohibitionEquivalentClass.prohibitedPaths().add(new ProhibitedPath<>(prohibitedPath));
-            prohibitedPath.forEach(id -> getOrNewContainer(edgeIdToProhibitionEquivalentClassKey, id, HashSet::new).add(initialEdgeId));
+            prohibitedPath.forEach(id -> getOrNewContainer(edgeIdToProhibitionEquivalentClassKey, id, ConcurrentHashMap::newKeySet).add(initialEdgeId));
+        }
+
+        boolean isTouched(final I delegateId) {
+            final var equivalentClassKeys = edgeIdToProhibitionEquivalentClassKey.get(delegateId);
+            return equivalentClassKeys != null && !equivalentClassKeys.isEmpty();
         }
 
         List<ProhibitionEquivalentClass<I>> touchingEquivalentClasses(final I delegateId) {
@@ -93,9 +246,24 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
                     .toList();
         }
 
+        List<ProhibitionEquivalentClass<I>> equivalentClasses() {
+            return List.copyOf(prohibitionEquivalentClasses.values());
+        }
+
         void removeProhibitionEquivalentClass(final I initialEdgeId) {
-            prohibitionEquivalentClasses.remove(initialEdgeId);
-            edgeIdToProhibitionEquivalentClassKey.values().forEach(s -> s.remove(initialEdgeId));
+            final var prohibitionEquivalentClass = prohibitionEquivalentClasses.remove(initialEdgeId);
+            if (prohibitionEquivalentClass == null) {
+                return;
+            }
+            // only the edges of its paths refer to the class
+            for (final var prohibitedPath : prohibitionEquivalentClass.prohibitedPaths()) {
+                for (final var id : prohibitedPath.edgeIds()) {
+                    final var equivalentClassKeys = edgeIdToProhibitionEquivalentClassKey.get(id);
+                    if (equivalentClassKeys != null) {
+                        equivalentClassKeys.remove(initialEdgeId);
+                    }
+                }
+            }
         }
 
         private <T> T getOrNewContainer(final Map<I, T> prohibitionMap,
@@ -117,13 +285,19 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
 
         private final double prohibitionViolationPenalty;
 
-        private final Map<I, List<ShadowEdge<E, I>>> overlayEdges = new HashMap<>();
+        /*
+         * All maps are concurrent, as transformations of different classes run concurrently with each other and with
+         * reads of already transformed parts.
+         */
+        private final Map<I, List<ShadowEdge<E, I>>> overlayEdges = new ConcurrentHashMap<>();
+
+        private final Map<ShadowEdgeIdentifier<I>, Set<ShadowEdgeIdentifier<I>>> overlayAdjacents = new ConcurrentHashMap<>();
 
-        private final Map<ShadowEdgeIdentifier<I>, Set<ShadowEdgeIdentifier<I>>> overlayAdjacents = new HashMap<>();
+        private final Map<ShadowEdgeIdentifier<I>, Set<ShadowEdgeIdentifier<I>>> removedAdjacents = new ConcurrentHashMap<>();
 
-        private final Map<ShadowEdgeIdentifier<I>, Set<ShadowEdgeIdentifier<I>>> removedAdjacents = new HashMap<>();
+        private final Map<ShadowEdgeIdentifier<I>, Set<I>> forbiddenPredecessors = new ConcurrentHashMap<>();
 
-        private final Map<ShadowEdgeIdentifier<I>, Set<I>> forbiddenPredecessors = new HashMap<>();
+        private final Object newEdgeLock = new Object();
 
         GraphOverlay(final Graph<E, I> delegateGraph,
                      final EdgeFactory<E, I> edgeFactory,
@@ -198,23 +372,24 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
             removeAdjacent(encapsulate(lastIntermediateEdgeId), encapsulate(lastEdgeId));
         }
 
+        void forEachOverlayEdge(final Consumer<? super ShadowEdge<E, I>> action) {
+            overlayEdges.values().forEach(shadowEdges -> shadowEdges.forEach(action));
+        }
+
         private ShadowEdgeIdentifier<I> toLocalVirtual(final Map<I, ShadowEdge<E, I>> virtualIntermediateEdges, final I edgeId) {
             return virtualIntermediateEdges.get(edgeId).id();
         }
 
         private void addVirtualAdjacent(final ShadowEdgeIdentifier<I> from, final ShadowEdgeIdentifier<I> to) {
-            overlayAdjacents.computeIfAbsent(from, f -> new HashSet<>());
-            overlayAdjacents.get(from).add(to);
+            overlayAdjacents.computeIfAbsent(from, f -> ConcurrentHashMap.newKeySet()).add(to);
         }
 
         private void removeAdjacent(final ShadowEdgeIdentifier<I> from, final ShadowEdgeIdentifier<I> to) {
-            removedAdjacents.computeIfAbsent(from, f -> new HashSet<>());
-            removedAdjacents.get(from).add(to);
+            removedAdjacents.computeIfAbsent(from, f -> ConcurrentHashMap.newKeySet()).add(to);
         }
 
         private void addForbiddenPredecessor(final I fromEdgeId, final ShadowEdgeIdentifier<I> toShadowEdgeId) {
-            forbiddenPredecessors.computeIfAbsent(toShadowEdgeId, id -> new HashSet<>());
-            forbiddenPredecessors.get(toShadowEdgeId).add(fromEdgeId);
+            forbiddenPredecessors.computeIfAbsent(toShadowEdgeId, id -> ConcurrentHashMap.newKeySet()).add(fromEdgeId);
         }
 
         private void connectShadowAdjacents(final ShadowEdgeIdentifier<I> from, final I to) {
@@ -238,59 +413,76 @@ public class PathProhibitionGraph<E extends Edge<I>, I extends EdgeIdentifier<I>
         }
 
         private ShadowEdge<E,I> newPointEdge() {
-            final var pointEdge = edgeFactory.edgeWithWeight(idSupplier, 0.0D);
-            return newShadowEdge(pointEdge.id(), pointEdge);
+            return newShadowEdge(newEdge(0.0D));
         }
 
         private ShadowEdge<E, I> newPenaltyEdge() {
-            final var penaltyEdge = edgeFactory.edgeWithWeight(idSupplier, prohibitionViolationPenalty);
-            return newShadowEdge(penaltyEdge.id(), penaltyEdge);
+            return newShadowEdge(newEdge(prohibitionViolationPenalty));
         }
 
-        private ShadowEdge<E, I> newShadowEdge(final I edgeId, final E edge) {
-            final var shadowEdges = overlayEdges.computeIfAbsent(edgeId, e -> new ArrayList<>());
-            final var result = new ShadowEdge<>(edge, shadowEdges.size());
-            shadowEdges.add(result);
-            return result;
+        /*
+         * id suppliers usually count, so new ids are drawn one at a time.
+         */
+        private E newEdge(final double weight) {
+            synchronized (newEdgeLock) {
+                return edgeFactory.edgeWithWeight(idSupplier, weight);
+            }
         }
 
-        private List<ShadowEdge<E, I>> listAdjacents(final ShadowEdgeIdentifier<I> id, final List<E> delegateAdjacents) {
-            final var rootAdjacents = delegatesForRootEdgeId(id, delegateAdjacents)
-                    .stream()
-                    .map(Edge::id)
-                    .flatMap(i -> filterPredecessors(id, shadows(i)).stream())
-                    .map(this::toEdge);
-            final var overlayAdjacents = overlayAdjacents(id);
-            final var result = Stream.concat(rootAdjacents, overlayAdjacents.stream());
-            return result
-                    .filter(a -> !isRemovedAdjacent(id, a.id()))
-                    .toList();
+        private ShadowEdge<E, I> newShadowEdge(final E edge) {
+            return newShadowEdge(edge.id(), edge);
         }
 
-        private Set<ShadowEdgeIdentifier<I>> filterPredecessors(final ShadowEdgeIdentifier<I> id,
-                                                                final Set<ShadowEdgeIdentifier<I>> adjacents) {
-            if (id.isRootCopy()) {
-                return adjacents.stream()
-                        .filter(i -> !forbiddenPredecessors.getOrDefault(i, Collections.emptySet()).contains(id.delegateId()))
-                        .collect(Collectors.toSet());
+        /*
+         * The copy number is the position in the list of copies, so determining and adding it is atomic; readers
+         * iterate snapshots of the list.
+         */
+        private ShadowEdge<E, I> newShadowEdge(final I edgeId, final E edge) {
+            final var shadowEdges = overlayEdges.computeIfAbsent(edgeId, e -> new CopyOnWriteArrayList<>());
+            synchronized (shadowEdges) {
+                final var result = new ShadowEdge<>(edge, shadowEdges.size());
+                shadowEdges.add(result);
+                return result;
             }
-            return adjacents;
         }
 
-        private List<E> delegatesForRootEdgeId(final ShadowEdgeIdentifier<I> id, final List<E> delegateAdjacents) {
+        /*
+         * Root copies are adjacent to all shadows of their delegate adjacents (unless being a forbidden predecessor),
+         * all copies to their overlay adjacents, except removed adjacents.
+         */
+        void forEachAdjacent(final ShadowEdgeIdentifier<I> id,
+                                     final List<E> delegateAdjacents,
+                                     final Consumer<? super ShadowEdge<E, I>> action) {
             if (id.isRootCopy()) {
-                return delegateAdjacents;
+                for (final E delegateAdjacent : delegateAdjacents) {
+                    final I adjacentId = delegateAdjacent.id();
+                    acceptRootAdjacent(id, encapsulate(adjacentId), action);
+                    for (final ShadowEdge<E, I> adjacentCopy : overlayEdges.getOrDefault(adjacentId, Collections.emptyList())) {
+                        acceptRootAdjacent(id, adjacentCopy.id(), action);
+                    }
+                }
+            }
+            for (final ShadowEdgeIdentifier<I> overlayAdjacent : overlayAdjacents.getOrDefault(id, Collections.emptySet())) {
+                if (!isRemovedAdjacent(id, overlayAdjacent)) {
+                    action.accept(toEdge(overlayAdjacent));
+                }
             }
-            return Collections.emptyList();
         }
 
-        private boolean isRemovedAdjacent(final ShadowEdgeIdentifier<I> edge, final ShadowEdgeIdentifier<I> adjacent) {
-            return removedAdjacents.getOrDefault(edge, Collections.emptySet()).contains(adjacent);
+        private void acceptRootAdjacent(final ShadowEdgeIdentifier<I> id,
+                                        final ShadowEdgeIdentifier<I> adjacent,
+                                        final Consumer<? super ShadowEdge<E, I>> action) {
+            if (!isForbiddenPredecessor(id.delegateId(), adjacent) && !isRemovedAdjacent(id, adjacent)) {
+                action.accept(toEdge(adjacent));
+            }
+        }
+
+        private boolean isForbiddenPredecessor(final I predecessor, final ShadowEdgeIdentifier<I> edge) {
+            return forbiddenPredecessors.getOrDefault(edge, Collections.emptySet()).contains(predecessor);
         }
 
-        private List<ShadowEdge<E, I>> overlayAdjacents(final ShadowEdgeIdentifier<I> id) {
-            final Set<ShadowEdgeIdentifier<I>> result = overlayAdjacents.getOrDefault(id, Collections.emptySet());
-            return result.stream().map(this::toEdge).toList();
+        private boolean isRemovedAdjacent(final ShadowEdgeIdentifier<I> edge, final ShadowEdgeIdentifier<I> adjacent) {
+            return removedAdjacents.getOrDefault(edge, Collections.emptySet()).contains(adjacent);
         }
 
         private ShadowEdge<E, I> toEdge(final ShadowEdgeIdentifier<I> shadowEdgeId) {
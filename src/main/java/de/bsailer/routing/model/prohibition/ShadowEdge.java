@@ -27,6 +27,11 @@ public class ShadowEdge<E extends Edge<I>, I extends EdgeIdentifier<I>>
         this.id = new ShadowEdgeIdentifier<>(delegateEdge.id());
     }
 
+    ShadowEdge(final E delegateEdge, final ShadowEdgeIdentifier<I> id) {
+        this.delegateEdge = delegateEdge;
+        this.id = id;
+    }
+
     @Override
     public ShadowEdgeIdentifier<I> id() {
         return id;
@@ -36,4 +41,8 @@ public class ShadowEdge<E extends Edge<I>, I extends EdgeIdentifier<I>>
     public double weight() {
         return delegateEdge.weight();
     }
+
+    E delegateEdge() {
+        return delegateEdge;
+    }
 }
@@ -2,8 +2,6 @@ package de.bsailer.routing.model.prohibition;
 
 import de.bsailer.routing.model.EdgeIdentifier;
 
-import java.util.Objects;
-
 /**
  * This {@code EdgeIdentifier} implementation holds a delegate thus allowing several copies of that
  * delegate.  This 1:n-relation is needed for non-bijective graph transformations.
@@ -49,7 +47,7 @@ public class ShadowEdgeIdentifier<I extends EdgeIdentifier<I>>
 
     @Override
     public int hashCode() {
-        return Objects.hash(delegateId, copy);
+        return 31 * delegateId.hashCode() + copy;
     }
 
     @Override
@@ -0,0 +1,132 @@
+package de.bsailer.routing.model.tile;
+
+import de.bsailer.routing.factory.IndexedEdgeFactory;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code TileSource} reading tiles from files of a local directory.  Edge indices are tiled in ranges of
+ * {@code tileSize}; the tile {@code n} is stored in the file {@code tile-n.txt} with one edge descriptor per line in
+ * the format of {@code DescriptorGraphFactory} ({@code id;weight;adjacentId,adjacentId,...}).  Tiles without file
+ * are empty.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class FileTileSource<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> implements TileSource<E, I> {
+
+	private final Path directory;
+
+	private final int tileSize;
+
+	private final IndexedEdgeFactory<E, I> edgeFactory;
+
+	/**
+	 * @param directory   directory containing the tile files.
+	 * @param tileSize    number of edge indices per tile, positive.
+	 * @param edgeFactory {@code IndexedEdgeFactory} creating edges from index and weight.
+	 */
+	public FileTileSource(final Path directory, final int tileSize, final IndexedEdgeFactory<E, I> edgeFactory) {
+		if (tileSize <= 0) {
+			throw new IllegalArgumentException("tileSize must be positive: " + tileSize);
+		}
+		this.directory = directory;
+		this.tileSize = tileSize;
+		this.edgeFactory = edgeFactory;
+	}
+
+	/**
+	 * Writes the tile files of a graph.
+	 *
+	 * @param graph     {@code EnumerableGraph} to tile.
+	 * @param directory existing target directory.
+	 * @param tileSize  number of edge indices per tile, positive.
+	 * @throws IOException on write errors.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> void write(
+			final EnumerableGraph<E, I> graph, final Path directory, final int tileSize) throws IOException {
+		final Map<Long, List<String>> tiles = new TreeMap<>();
+		graph.forEachEdge(edge -> {
+			final StringBuilder descriptor = new StringBuilder()
+					.append(edge.id().index()).append(';').append(edge.weight()).append(';');
+			final String[] separator = { "" };
+			graph.forEachAdjacent(edge.id(), adjacent -> {
+				descriptor.append(separator[0]).append(adjacent.id().index());
+				separator[0] = ",";
+			});
+			tiles.computeIfAbsent((long) (edge.id().index() / tileSize), k -> new ArrayList<>())
+					.add(descriptor.toString());
+		});
+		for (final Map.Entry<Long, List<String>> tile : tiles.entrySet()) {
+			try (BufferedWriter writer = Files.newBufferedWriter(file(directory, tile.getKey()), StandardCharsets.US_ASCII)) {
+				for (final String line : tile.getValue()) {
+					writer.write(line);
+					writer.newLine();
+				}
+			}
+		}
+	}
+
+	@Override
+	public long tileId(final I id) {
+		return id.index() / tileSize;
+	}
+
+	@Override
+	public Tile<E, I> loadTile(final long tileId) throws IOException {
+		final Path file = file(directory, tileId);
+		if (!Files.exists(file)) {
+			return Tile.empty();
+		}
+		final Map<I, E> edges = new HashMap<>();
+		final Map<I, List<I>> adjacentIds = new HashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty()) {
+					parse(line, edges, adjacentIds);
+				}
+			}
+		}
+		return new Tile<>(edges, adjacentIds);
+	}
+
+	private void parse(final String line, final Map<I, E> edges, final Map<I, List<I>> adjacentIds) throws IOException {
+		final String[] properties = line.split(";");
+		try {
+			final I id = edgeFactory.edgeIdentifier(Integer.parseInt(properties[0]));
+			edges.put(id, edgeFactory.edge(id, Double.parseDouble(properties[1])));
+			if (properties.length > 2 && !properties[2].isEmpty()) {
+				final List<I> adjacents = new ArrayList<>();
+				for (final String adjacent : properties[2].split(",")) {
+					adjacents.add(edgeFactory.edgeIdentifier(Integer.parseInt(adjacent)));
+				}
+				adjacentIds.put(id, adjacents);
+			}
+		} catch (final RuntimeException e) {
+			throw new IOException("malformed edge descriptor: " + line, e);
+		}
+	}
+
+	private static Path file(final Path directory, final long tileId) {
+		return directory.resolve("tile-" + tileId + ".txt");
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{directory=" + directory + ", tileSize=" + tileSize + "}";
+	}
+}
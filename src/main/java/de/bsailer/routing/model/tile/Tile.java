@@ -0,0 +1,84 @@
+package de.bsailer.routing.model.tile;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The edges of one tile of a {@code TileGraph} together with the ids of their adjacents, which may belong to other
+ * tiles.  Instances are immutable.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public final class Tile<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+
+	private final Map<I, E> edges;
+
+	private final Map<I, List<I>> adjacentIds;
+
+	private final long weight;
+
+	/**
+	 * @param edges       edges of the tile by id.
+	 * @param adjacentIds adjacent ids by id of the edges of the tile, missing for edges without adjacents.
+	 */
+	public Tile(final Map<I, E> edges, final Map<I, List<I>> adjacentIds) {
+		this.edges = new HashMap<>(edges);
+		this.adjacentIds = new HashMap<>();
+		long adjacencyCount = 0;
+		for (final Map.Entry<I, List<I>> entry : adjacentIds.entrySet()) {
+			this.adjacentIds.put(entry.getKey(), List.copyOf(entry.getValue()));
+			adjacencyCount += entry.getValue().size();
+		}
+		this.weight = this.edges.size() + adjacencyCount;
+	}
+
+	/**
+	 * Creates a tile without edges, e.g. for areas without data.
+	 */
+	public static <E extends Edge<I>, I extends EdgeIdentifier<I>> Tile<E, I> empty() {
+		return new Tile<>(Collections.<I, E>emptyMap(), Collections.<I, List<I>>emptyMap());
+	}
+
+	/**
+	 * Retrieves an edge of the tile.
+	 *
+	 * @return {@code Edge} or {@code null} if not part of the tile.
+	 */
+	public E edge(final I id) {
+		return edges.get(id);
+	}
+
+	/**
+	 * Retrieves the adjacent ids of an edge of the tile.
+	 *
+	 * @return unmodifiable list, empty if the edge has no adjacents or is not part of the tile.
+	 */
+	public List<I> adjacentIds(final I id) {
+		return adjacentIds.getOrDefault(id, Collections.emptyList());
+	}
+
+	/**
+	 * Number of edges of the tile.
+	 */
+	public int edgeCount() {
+		return edges.size();
+	}
+
+	/**
+	 * Memory estimate in units of edges and adjacency entries, used for bounding the tile cache.
+	 */
+	public long weight() {
+		return weight;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{edges=" + edges.size() + ", weight=" + weight + "}";
+	}
+}
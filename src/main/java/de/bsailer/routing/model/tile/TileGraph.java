@@ -0,0 +1,94 @@
+package de.bsailer.routing.model.tile;
+
+import de.bsailer.routing.jfr.GraphLoadEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.util.CacheStatistics;
+import de.bsailer.routing.util.ConcurrentLruCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * {@code Graph} loading its edges and adjacency lazily per tile from a {@code TileSource}, so that only the tiles
+ * touched by queries occupy memory.
+ *
+ * Tiles are kept in a {@code ConcurrentLruCache} bounded by the number of edges and adjacency entries; the least
+ * recently used tiles are evicted and reloaded on demand.  Any number of query threads can use an instance
+ * concurrently, each tile is loaded once even if requested by several threads at the same time.  Read errors of the
+ * tile source surface as {@code UncheckedIOException}.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public class TileGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> implements Graph<E, I> {
+
+	private final TileSource<E, I> tileSource;
+
+	private final ConcurrentLruCache<Long, Tile<E, I>> tiles;
+
+	/**
+	 * @param tileSource     {@code TileSource} providing the tiles.
+	 * @param maxCachedWeight maximum number of edges plus adjacency entries of all cached tiles.
+	 */
+	public TileGraph(final TileSource<E, I> tileSource, final long maxCachedWeight) {
+		this.tileSource = Objects.requireNonNull(tileSource);
+		this.tiles = new ConcurrentLruCache<>(maxCachedWeight, Tile::weight);
+	}
+
+	@Override
+	public List<E> adjacents(final I id) {
+		final List<E> result = new ArrayList<>();
+		forEachAdjacent(id, result::add);
+		return result;
+	}
+
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final Tile<E, I> tile = tile(id);
+		final List<I> adjacentIds = tile.adjacentIds(id);
+		for (int i = 0; i < adjacentIds.size(); i++) {
+			final I adjacentId = adjacentIds.get(i);
+			final E adjacent = tile.edge(adjacentId);
+			action.accept(adjacent != null ? adjacent : edge(adjacentId));
+		}
+	}
+
+	@Override
+	public E edge(final I id) {
+		return tile(id).edge(id);
+	}
+
+	/**
+	 * Statistics of the tile cache: hits, misses, evictions and the current weight.
+	 */
+	public CacheStatistics tileCacheStatistics() {
+		return tiles.statistics();
+	}
+
+	private Tile<E, I> tile(final I id) {
+		return tiles.get(tileSource.tileId(id), this::loadTile);
+	}
+
+	private Tile<E, I> loadTile(final long tileId) {
+		final GraphLoadEvent event = new GraphLoadEvent();
+		event.begin();
+		try {
+			final Tile<E, I> result = tileSource.loadTile(tileId);
+			event.commit(tileSource.getClass(), "tile " + tileId, result.edgeCount());
+			return result;
+		} catch (final IOException e) {
+			throw new UncheckedIOException("loading tile " + tileId + " failed", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{tileSource=" + tileSource + ", tiles=" + tiles + "}";
+	}
+}
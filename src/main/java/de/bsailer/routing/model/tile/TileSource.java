@@ -0,0 +1,33 @@
+package de.bsailer.routing.model.tile;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+
+import java.io.IOException;
+
+/**
+ * Implementors of this interface provide the tiles of a {@code TileGraph}.  Loading must be thread-safe, as tiles
+ * may be loaded by several query threads concurrently.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public interface TileSource<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+
+	/**
+	 * Determines the tile an edge belongs to.
+	 *
+	 * @param id {@code EdgeIdentifier} of the edge.
+	 * @return id of the tile.
+	 */
+	long tileId(I id);
+
+	/**
+	 * Loads a tile.
+	 *
+	 * @param tileId id of the tile.
+	 * @return loaded {@code Tile}, empty for tiles without data.
+	 * @throws IOException if the tile cannot be read.
+	 */
+	Tile<E, I> loadTile(long tileId) throws IOException;
+}
@@ -0,0 +1,72 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.Route;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This class implements the A* algorithm: a {@code Dijkstra} ordering its queue by reach cost plus a
+ * {@code Heuristic} estimate of the remaining cost to a target, so that point-to-point queries settle only a fraction
+ * of the edges.
+ *
+ * The workflow is the one of {@code Dijkstra}.  {@code pathFromTo} and {@code costFromTo} direct the search towards
+ * their target; for {@code run} the target is set beforehand with {@code setTarget}.  Without target the search
+ * behaves like {@code Dijkstra}.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public class AStar<E extends Edge<I>, I extends EdgeIdentifier<I>> extends Dijkstra<E, I> {
+
+	private final Heuristic<? super E> heuristic;
+
+	private E target;
+
+	public AStar(final Graph<E, I> graph, final Heuristic<? super E> heuristic) {
+		super(graph);
+		this.heuristic = Objects.requireNonNull(heuristic);
+	}
+
+	/**
+	 * Constructs with a specific {@code DijkstraQueue} implementation.
+	 *
+	 * @param graph     {@code Graph} to traverse.
+	 * @param heuristic admissible {@code Heuristic}.
+	 * @param queue     empty {@code DijkstraQueue} exclusively used by this instance.
+	 */
+	public AStar(final Graph<E, I> graph, final Heuristic<? super E> heuristic, final DijkstraQueue queue) {
+		super(graph, queue);
+		this.heuristic = Objects.requireNonNull(heuristic);
+	}
+
+	/**
+	 * Sets the target the following runs are directed towards.
+	 *
+	 * @param target {@code Edge} to reach, {@code null} for an undirected search.
+	 */
+	public void setTarget(final E target) {
+		this.target = target;
+	}
+
+	@Override
+	public Optional<Route<E>> pathFromTo(final E start, final E target) {
+		setTarget(target);
+		return super.pathFromTo(start, target);
+	}
+
+	@Override
+	public Double costFromTo(final E start, final E target) {
+		setTarget(target);
+		return super.costFromTo(start, target);
+	}
+
+	@Override
+	double estimate(final E edge) {
+		return target == null ? 0.0D : heuristic.estimate(edge, target);
+	}
+
+}
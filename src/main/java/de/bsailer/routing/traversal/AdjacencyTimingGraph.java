@@ -0,0 +1,57 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Graph;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@code Graph} decorator adding the time spent in {@code adjacents} of the decorated graph to
+ * {@code SearchStatistics}.
+ *
+ * {@code forEachAdjacent} retrieves the adjacents as list, so the time of their relaxation by the action is not
+ * counted.  Used by the traversals instead of their graph while statistics are collected only, since the lists cost
+ * an allocation per settled edge.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+final class AdjacencyTimingGraph<E extends Edge<I>, I extends EdgeIdentifier<I>> implements Graph<E, I> {
+
+	private final Graph<E, I> delegate;
+
+	private final SearchStatistics statistics;
+
+	AdjacencyTimingGraph(final Graph<E, I> delegate, final SearchStatistics statistics) {
+		this.delegate = delegate;
+		this.statistics = statistics;
+	}
+
+	@Override
+	public List<E> adjacents(final I id) {
+		final long begin = System.nanoTime();
+		final List<E> result = delegate.adjacents(id);
+		statistics.addAdjacencyNanos(System.nanoTime() - begin);
+		return result;
+	}
+
+	@Override
+	public void forEachAdjacent(final I id, final Consumer<? super E> action) {
+		final List<E> adjacents = adjacents(id);
+		for (int i = 0; i < adjacents.size(); i++) {
+			action.accept(adjacents.get(i));
+		}
+	}
+
+	@Override
+	public E edge(final I id) {
+		return delegate.edge(id);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{delegate=" + delegate + "}";
+	}
+}
@@ -0,0 +1,111 @@
+package de.bsailer.routing.traversal;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code SearchStatisticsListener} summing up the statistics of any number of searches, e.g. all queries of a
+ * service, for totals, averages and maxima.
+ *
+ * Thread-safe: one instance can be set to the traversals of all query threads.
+ */
+public final class AggregatedSearchStatistics implements SearchStatisticsListener {
+
+	private final LongAdder searchCount = new LongAdder();
+
+	private final LongAdder settledCount = new LongAdder();
+
+	private final LongAdder relaxationCount = new LongAdder();
+
+	private final LongAdder decreaseKeyCount = new LongAdder();
+
+	private final LongAdder adjacencyNanos = new LongAdder();
+
+	private final LongAdder durationNanos = new LongAdder();
+
+	private final LongAccumulator maxSettledCount = new LongAccumulator(Math::max, 0L);
+
+	private final LongAccumulator maxPeakQueueSize = new LongAccumulator(Math::max, 0L);
+
+	private final LongAccumulator maxDurationNanos = new LongAccumulator(Math::max, 0L);
+
+	@Override
+	public void searchFinished(final SearchStatistics statistics) {
+		searchCount.increment();
+		settledCount.add(statistics.settledCount());
+		relaxationCount.add(statistics.relaxationCount());
+		decreaseKeyCount.add(statistics.decreaseKeyCount());
+		adjacencyNanos.add(statistics.adjacencyNanos());
+		durationNanos.add(statistics.durationNanos());
+		maxSettledCount.accumulate(statistics.settledCount());
+		maxPeakQueueSize.accumulate(statistics.peakQueueSize());
+		maxDurationNanos.accumulate(statistics.durationNanos());
+	}
+
+	public long searchCount() {
+		return searchCount.sum();
+	}
+
+	public long settledCount() {
+		return settledCount.sum();
+	}
+
+	public long relaxationCount() {
+		return relaxationCount.sum();
+	}
+
+	public long decreaseKeyCount() {
+		return decreaseKeyCount.sum();
+	}
+
+	public long adjacencyNanos() {
+		return adjacencyNanos.sum();
+	}
+
+	public long durationNanos() {
+		return durationNanos.sum();
+	}
+
+	/**
+	 * Average number of settled edges per search, {@code 0.0} without searches.
+	 */
+	public double averageSettledCount() {
+		final long count = searchCount.sum();
+		return count == 0 ? 0.0D : (double) settledCount.sum() / count;
+	}
+
+	public long maxSettledCount() {
+		return maxSettledCount.get();
+	}
+
+	public long maxPeakQueueSize() {
+		return maxPeakQueueSize.get();
+	}
+
+	public long maxDurationNanos() {
+		return maxDurationNanos.get();
+	}
+
+	/**
+	 * Clears all sums and maxima, e.g. at the start of a reporting interval.  Searches finishing concurrently may be
+	 * partly counted in either interval.
+	 */
+	public void reset() {
+		searchCount.reset();
+		settledCount.reset();
+		relaxationCount.reset();
+		decreaseKeyCount.reset();
+		adjacencyNanos.reset();
+		durationNanos.reset();
+		maxSettledCount.reset();
+		maxPeakQueueSize.reset();
+		maxDurationNanos.reset();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{searches=" + searchCount() + ", settled=" + settledCount()
+				+ ", relaxations=" + relaxationCount() + ", decreaseKeys=" + decreaseKeyCount()
+				+ ", maxSettled=" + maxSettledCount() + ", maxPeakQueueSize=" + maxPeakQueueSize() + "}";
+	}
+}
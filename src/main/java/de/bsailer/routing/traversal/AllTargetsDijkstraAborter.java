@@ -0,0 +1,42 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+
+import java.util.Collection;
+
+/**
+ * Implementation of {@code DijkstraAborter} that aborts when all of several target {@code Edge}s are reached.
+ *
+ * The aborter keeps track of the targets reached within a run, it must therefore not be shared by concurrent runs.
+ *
+ * @param <E> concrete type of the {@code Edge}
+ */
+public class AllTargetsDijkstraAborter<E extends Edge<?>> implements DijkstraAborter<E> {
+
+	private final TargetSet<E> targets;
+
+	private int remaining;
+
+	/**
+	 * @param targets non-empty collection of target {@code Edge}s.
+	 */
+	public AllTargetsDijkstraAborter(final Collection<? extends E> targets) {
+		this.targets = TargetSet.of(targets);
+		this.remaining = this.targets.size();
+	}
+
+	@Override
+	public boolean abort(final E current) {
+		if (targets.settle(current)) {
+			remaining--;
+		}
+		return remaining == 0;
+	}
+
+	@Override
+	public void reset() {
+		targets.clearSettled();
+		remaining = targets.size();
+	}
+
+}
@@ -0,0 +1,28 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+
+import java.util.Collection;
+
+/**
+ * Implementation of {@code DijkstraAborter} that aborts when one of several target {@code Edge}s is reached.
+ *
+ * @param <E> concrete type of the {@code Edge}
+ */
+public class AnyTargetDijkstraAborter<E extends Edge<?>> implements DijkstraAborter<E> {
+
+	private final TargetSet<E> targets;
+
+	/**
+	 * @param targets non-empty collection of target {@code Edge}s.
+	 */
+	public AnyTargetDijkstraAborter(final Collection<? extends E> targets) {
+		this.targets = TargetSet.of(targets);
+	}
+
+	@Override
+	public boolean abort(final E current) {
+		return targets.contains(current);
+	}
+
+}
@@ -0,0 +1,287 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.jfr.TraversalQueryEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a bidirectional Dijkstra for point-to-point queries: a forward search from the start on the
+ * graph and a backward search from the target on the reverse graph (see {@code ReverseGraphFactory}) meet in the
+ * middle, so that roughly half of the edges of a plain {@code Dijkstra} are settled.
+ *
+ * Costs follow the edge-based model of {@code Dijkstra}: the forward cost of an edge is the cost to reach its start,
+ * the backward cost is the cost from its start to the start of the target, i.e. it includes the weight of the edge
+ * itself and is {@code 0.0} for the target.  Their sum over a common edge is the cost of a route through it.  The
+ * search stops as soon as the smallest forward and backward queue keys add up to at least the best route cost met so
+ * far.
+ *
+ * Optionally the backward search runs on a thread of an {@code ExecutorService} concurrently to the forward search
+ * on the calling thread.  Instances are not thread-safe, i.e. one query runs at a time.
+ *
+ * Each query is recorded as {@code TraversalQueryEvent} for the flight recorder, with the edges settled in both
+ * directions and the cost of the route found.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public class BidirectionalDijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> implements PathFinder<E, I> {
+
+	private final ExecutorService executor;
+	private final Search forward;
+	private final Search backward;
+	private final Object bestLock = new Object();
+	private double bestCost;
+	private E meeting;
+	private volatile boolean done;
+
+	/**
+	 * Constructs a single-threaded search.
+	 *
+	 * @param graph        {@code Graph} to search.
+	 * @param reverseGraph reverse of {@code graph}.
+	 */
+	public BidirectionalDijkstra(final Graph<E, I> graph, final Graph<E, I> reverseGraph) {
+		this(graph, reverseGraph, null);
+	}
+
+	/**
+	 * Constructs a search running the backward search on a thread of {@code executor}.
+	 *
+	 * @param graph        {@code Graph} to search.
+	 * @param reverseGraph reverse of {@code graph}.
+	 * @param executor     {@code ExecutorService} for the backward search, {@code null} for a single-threaded search.
+	 */
+	public BidirectionalDijkstra(final Graph<E, I> graph, final Graph<E, I> reverseGraph,
+								 final ExecutorService executor) {
+		this.executor = executor;
+		final boolean concurrent = executor != null;
+		this.forward = new Search(Objects.requireNonNull(graph), false, concurrent);
+		this.backward = new Search(Objects.requireNonNull(reverseGraph), true, concurrent);
+		forward.opposite = backward;
+		backward.opposite = forward;
+	}
+
+	@Override
+	public Optional<Route<E>> pathFromTo(final E start, final E target) {
+		search(start, target);
+		if (meeting == null) {
+			return Optional.empty();
+		}
+		final List<E> result = forward.backtrack(meeting);
+		Collections.reverse(result);
+		final List<E> remainder = backward.backtrack(meeting);
+		result.addAll(remainder.subList(1, remainder.size()));
+		return Optional.of(new Route<>(result));
+	}
+
+	@Override
+	public Double costFromTo(final E start, final E target) {
+		search(start, target);
+		return bestCost;
+	}
+
+	private void search(final E start, final E target) {
+		final TraversalQueryEvent event = new TraversalQueryEvent();
+		event.begin();
+		forward.reset();
+		backward.reset();
+		bestCost = Double.POSITIVE_INFINITY;
+		meeting = null;
+		done = false;
+		forward.start(start);
+		backward.start(target);
+		if (executor == null) {
+			alternate();
+		} else {
+			concurrently();
+		}
+		event.commit(getClass().getSimpleName(), forward.settledCount + backward.settledCount, bestCost, null);
+	}
+
+	private void alternate() {
+		while (!isStoppable()) {
+			if (forward.lowerBound <= backward.lowerBound) {
+				forward.step();
+			} else {
+				backward.step();
+			}
+		}
+	}
+
+	private void concurrently() {
+		final Future<?> backwardSearch = executor.submit(backward::runUntilDone);
+		try {
+			forward.runUntilDone();
+		} finally {
+			done = true;
+			try {
+				backwardSearch.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("backward search interrupted", e);
+			} catch (final ExecutionException e) {
+				throw new IllegalStateException("backward search failed", e.getCause());
+			}
+		}
+	}
+
+	private boolean isStoppable() {
+		final double best;
+		synchronized (bestLock) {
+			best = bestCost;
+		}
+		return forward.lowerBound + backward.lowerBound >= best;
+	}
+
+	private void meet(final E edge, final double cost) {
+		synchronized (bestLock) {
+			if (cost < bestCost) {
+				bestCost = cost;
+				meeting = edge;
+			}
+		}
+	}
+
+	/**
+	 * Label of an {@code Edge} within one search direction.  The link is the predecessor for the forward search and
+	 * the successor for the backward search.
+	 */
+	private static final class Label<E> {
+
+		private final E edge;
+		private final int slot;
+		private E link;
+		private volatile double cost;
+
+		private Label(final E edge, final E link, final double cost, final int slot) {
+			this.edge = edge;
+			this.link = link;
+			this.cost = cost;
+			this.slot = slot;
+		}
+	}
+
+	/**
+	 * One search direction.
+	 */
+	private final class Search {
+
+		private final Graph<E, I> graph;
+		private final boolean backwards;
+		private final Map<I, Label<E>> labels;
+		private final List<Label<E>> slots = new ArrayList<>();
+		private final DijkstraQueue queue = new IndexedDaryHeap();
+		private final Consumer<E> relaxation = this::relaxAdjacent;
+		private Search opposite;
+		/*
+		 * cost of the last polled label, a lower bound of all queue keys since keys are polled in ascending order;
+		 * infinite once the queue is exhausted.
+		 */
+		private volatile double lowerBound;
+		private Label<E> relaxed;
+		/*
+		 * written by the thread of the direction only, read after it finished.
+		 */
+		private long settledCount;
+
+		private Search(final Graph<E, I> graph, final boolean backwards, final boolean concurrent) {
+			this.graph = graph;
+			this.backwards = backwards;
+			this.labels = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+		}
+
+		private void reset() {
+			labels.clear();
+			slots.clear();
+			queue.clear();
+			lowerBound = 0.0D;
+			settledCount = 0L;
+		}
+
+		private void start(final E edge) {
+			label(edge, null, 0.0D);
+		}
+
+		private void runUntilDone() {
+			while (!done) {
+				if (isStoppable()) {
+					done = true;
+				} else {
+					step();
+				}
+			}
+		}
+
+		private void step() {
+			if (queue.isEmpty()) {
+				lowerBound = Double.POSITIVE_INFINITY;
+				return;
+			}
+			relaxed = slots.get(queue.poll());
+			lowerBound = relaxed.cost;
+			settledCount++;
+			graph.forEachAdjacent(relaxed.edge.id(), relaxation);
+		}
+
+		private void relaxAdjacent(final E adjacent) {
+			final double cost = relaxed.cost + (backwards ? adjacent.weight() : relaxed.edge.weight());
+			final Label<E> original = labels.get(adjacent.id());
+			if (original == null) {
+				label(adjacent, relaxed.edge, cost);
+			} else if (cost < original.cost) {
+				original.link = relaxed.edge;
+				original.cost = cost;
+				if (queue.contains(original.slot)) {
+					queue.decreaseKey(original.slot, cost);
+				} else {
+					queue.insert(original.slot, cost);
+				}
+				meetOpposite(adjacent, cost);
+			}
+		}
+
+		private void label(final E edge, final E link, final double cost) {
+			final Label<E> label = new Label<>(edge, link, cost, slots.size());
+			slots.add(label);
+			labels.put(edge.id(), label);
+			queue.insert(label.slot, cost);
+			meetOpposite(edge, cost);
+		}
+
+		/*
+		 * the own label is written before the opposite one is read, so that of two concurrent searches labelling the
+		 * same edge at least one sees both.
+		 */
+		private void meetOpposite(final E edge, final double cost) {
+			final Label<E> other = opposite.labels.get(edge.id());
+			if (other != null) {
+				meet(edge, cost + other.cost);
+			}
+		}
+
+		private List<E> backtrack(final E from) {
+			final List<E> result = new ArrayList<>();
+			E current = from;
+			while (current != null) {
+				result.add(current);
+				current = labels.get(current.id()).link;
+			}
+			return result;
+		}
+	}
+}
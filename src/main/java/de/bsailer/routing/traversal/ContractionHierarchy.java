@@ -0,0 +1,152 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+/**
+ * Result of the Contraction Hierarchies preprocessing (see {@code ContractionHierarchyBuilder}) for an index-based
+ * graph, queried by {@code ContractionHierarchyQuery}.
+ *
+ * The hierarchy is built on the edge-based model of {@code Dijkstra}: every edge is a node, and every adjacency is
+ * an arc costing the weight of the edge it leaves.  Each node has a rank (its contraction order); the arcs, original
+ * and shortcut, are stored twice in compressed sparse row layout: upward arcs by their source, for the forward search,
+ * and arcs coming down to a node by their target, for the backward search.  Shortcuts refer to the two arcs they
+ * bridge, so routes can be unpacked into original edges.
+ *
+ * Instances are immutable and can be shared by any number of query threads.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public final class ContractionHierarchy<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+	static final int NO_ARC = -1;
+
+	private final CompressedSparseRowGraph<E, I> graph;
+	private final int[] ranks;
+	private final int[] upOffsets;
+	private final int[] upArcs;
+	private final int[] downOffsets;
+	private final int[] downArcs;
+	private final int[] arcSources;
+	private final int[] arcTargets;
+	private final double[] arcCosts;
+	private final int[] arcFirsts;
+	private final int[] arcSeconds;
+	private final int shortcutCount;
+
+	ContractionHierarchy(final CompressedSparseRowGraph<E, I> graph,
+						 final int[] ranks,
+						 final int[] upOffsets,
+						 final int[] upArcs,
+						 final int[] downOffsets,
+						 final int[] downArcs,
+						 final int[] arcSources,
+						 final int[] arcTargets,
+						 final double[] arcCosts,
+						 final int[] arcFirsts,
+						 final int[] arcSeconds) {
+		this.graph = graph;
+		this.ranks = ranks;
+		this.upOffsets = upOffsets;
+		this.upArcs = upArcs;
+		this.downOffsets = downOffsets;
+		this.downArcs = downArcs;
+		this.arcSources = arcSources;
+		this.arcTargets = arcTargets;
+		this.arcCosts = arcCosts;
+		this.arcFirsts = arcFirsts;
+		this.arcSeconds = arcSeconds;
+		int shortcuts = 0;
+		for (final int arc : upArcs) {
+			shortcuts += arcFirsts[arc] == NO_ARC ? 0 : 1;
+		}
+		for (final int arc : downArcs) {
+			shortcuts += arcFirsts[arc] == NO_ARC ? 0 : 1;
+		}
+		this.shortcutCount = shortcuts;
+	}
+
+	/**
+	 * Creates a new query on this hierarchy, to be used by one thread at a time.
+	 */
+	public ContractionHierarchyQuery<E, I> query() {
+		return new ContractionHierarchyQuery<>(this);
+	}
+
+	/**
+	 * The underlying graph.
+	 */
+	public CompressedSparseRowGraph<E, I> graph() {
+		return graph;
+	}
+
+	/**
+	 * Number of shortcut arcs added by the preprocessing.
+	 */
+	public int shortcutCount() {
+		return shortcutCount;
+	}
+
+	/**
+	 * Contraction order of an edge index, {@code -1} for unused indices.
+	 */
+	public int rank(final int index) {
+		return ranks[index];
+	}
+
+	int indexCount() {
+		return ranks.length;
+	}
+
+	int upBegin(final int index) {
+		return upOffsets[index];
+	}
+
+	int upEnd(final int index) {
+		return upOffsets[index + 1];
+	}
+
+	int upArc(final int position) {
+		return upArcs[position];
+	}
+
+	int downBegin(final int index) {
+		return downOffsets[index];
+	}
+
+	int downEnd(final int index) {
+		return downOffsets[index + 1];
+	}
+
+	int downArc(final int position) {
+		return downArcs[position];
+	}
+
+	int arcSource(final int arc) {
+		return arcSources[arc];
+	}
+
+	int arcTarget(final int arc) {
+		return arcTargets[arc];
+	}
+
+	double arcCost(final int arc) {
+		return arcCosts[arc];
+	}
+
+	int arcFirst(final int arc) {
+		return arcFirsts[arc];
+	}
+
+	int arcSecond(final int arc) {
+		return arcSeconds[arc];
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{indices=" + ranks.length + ", arcs=" + (upArcs.length + downArcs.length)
+				+ ", shortcuts=" + shortcutCount + "}";
+	}
+}
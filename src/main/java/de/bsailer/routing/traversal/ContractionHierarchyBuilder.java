@@ -0,0 +1,397 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static de.bsailer.routing.traversal.ContractionHierarchy.NO_ARC;
+import static de.bsailer.routing.traversal.DijkstraWorkspace.NO_PREDECESSOR;
+
+/**
+ * This class builds a {@code ContractionHierarchy} from a {@code CompressedSparseRowGraph}.
+ *
+ * Edges (the nodes of the hierarchy) are contracted in rounds.  Each round contracts an independent set of nodes, the
+ * ones whose priority (edge difference plus number of contracted neighbours) is a local minimum, in parallel: for
+ * every pair of incoming and outgoing arc of a node a bounded witness search looks for a path avoiding all nodes of
+ * the round that is not longer than the path over the node, otherwise a shortcut is added.  Witness searches of a
+ * round only read the remaining graph, which is updated with removals and shortcuts after the round.  Priorities of
+ * the neighbours of contracted nodes are then recomputed in parallel.
+ *
+ * Witness searches are limited to a number of settled nodes; hitting the limit adds superfluous shortcuts, but never
+ * wrong ones.  Their workspaces are pooled per {@code build()} call, so each is created once per concurrent witness
+ * search and released with the pool when the build returns.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class ContractionHierarchyBuilder<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+	public static final int DEFAULT_WITNESS_SETTLE_LIMIT = 500;
+
+	private final CompressedSparseRowGraph<E, I> graph;
+	private final ForkJoinPool pool;
+	private final int witnessSettleLimit;
+	private Queue<DijkstraWorkspace> workspaces;
+
+	/*
+	 * remaining graph during preprocessing: arc ids per node, arcs in a growing table.
+	 */
+	private IntList[] outgoing;
+	private IntList[] incoming;
+	private IntList[] up;
+	private IntList[] down;
+	private final IntList arcSources = new IntList();
+	private final IntList arcTargets = new IntList();
+	private double[] arcCosts = new double[16];
+	private final IntList arcFirsts = new IntList();
+	private final IntList arcSeconds = new IntList();
+	private boolean[] contracted;
+	private boolean[] inRound;
+	private int[] contractedNeighbours;
+	private int[] priorities;
+
+	public ContractionHierarchyBuilder(final CompressedSparseRowGraph<E, I> graph) {
+		this(graph, ForkJoinPool.commonPool(), DEFAULT_WITNESS_SETTLE_LIMIT);
+	}
+
+	/**
+	 * @param graph              {@code CompressedSparseRowGraph} to preprocess.
+	 * @param pool               {@code ForkJoinPool} running the parallel phases.
+	 * @param witnessSettleLimit maximum number of nodes settled per witness search.
+	 */
+	public ContractionHierarchyBuilder(final CompressedSparseRowGraph<E, I> graph, final ForkJoinPool pool,
+									   final int witnessSettleLimit) {
+		this.graph = graph;
+		this.pool = pool;
+		this.witnessSettleLimit = witnessSettleLimit;
+	}
+
+	/**
+	 * Runs the preprocessing.  A builder builds one hierarchy.
+	 *
+	 * @return new {@code ContractionHierarchy}.
+	 */
+	public ContractionHierarchy<E, I> build() {
+		workspaces = new ConcurrentLinkedQueue<>();
+		try {
+			return contractAll();
+		} finally {
+			workspaces = null;
+		}
+	}
+
+	private ContractionHierarchy<E, I> contractAll() {
+		final int indexCount = graph.indexCount();
+		initialize(indexCount);
+		final int[] ranks = new int[indexCount];
+		Arrays.fill(ranks, -1);
+		int[] remaining = IntStream.range(0, indexCount).filter(index -> graph.edge(index) != null).toArray();
+		final int[] initial = remaining;
+		parallel(() -> IntStream.of(initial).parallel().forEach(node -> priorities[node] = priority(node)));
+		int rank = 0;
+		while (remaining.length > 0) {
+			final int[] candidates = remaining;
+			final int[] round = parallel(() -> IntStream.of(candidates).parallel().filter(this::isLocalMinimum).toArray());
+			for (final int node : round) {
+				inRound[node] = true;
+			}
+			@SuppressWarnings("unchecked")
+			final List<Shortcut>[] shortcuts = (List<Shortcut>[]) new List<?>[round.length];
+			parallel(() -> IntStream.range(0, round.length).parallel()
+					.forEach(i -> shortcuts[i] = shortcuts(round[i])));
+			for (int i = 0; i < round.length; i++) {
+				ranks[round[i]] = rank++;
+				contract(round[i]);
+			}
+			for (final List<Shortcut> nodeShortcuts : shortcuts) {
+				for (final Shortcut shortcut : nodeShortcuts) {
+					addArc(shortcut.source, shortcut.target, shortcut.cost, shortcut.first, shortcut.second);
+				}
+			}
+			final int[] affected = IntStream.of(round).flatMap(this::neighbours).filter(node -> !contracted[node])
+					.distinct().toArray();
+			parallel(() -> IntStream.of(affected).parallel().forEach(node -> priorities[node] = priority(node)));
+			remaining = IntStream.of(remaining).filter(node -> !contracted[node]).toArray();
+		}
+		return createHierarchy(ranks);
+	}
+
+	private void initialize(final int indexCount) {
+		outgoing = new IntList[indexCount];
+		incoming = new IntList[indexCount];
+		up = new IntList[indexCount];
+		down = new IntList[indexCount];
+		for (int index = 0; index < indexCount; index++) {
+			outgoing[index] = new IntList();
+			incoming[index] = new IntList();
+			up[index] = new IntList();
+			down[index] = new IntList();
+		}
+		contracted = new boolean[indexCount];
+		inRound = new boolean[indexCount];
+		contractedNeighbours = new int[indexCount];
+		priorities = new int[indexCount];
+		for (int index = 0; index < indexCount; index++) {
+			final E edge = graph.edge(index);
+			if (edge != null) {
+				for (int position = graph.adjacentsBegin(index); position < graph.adjacentsEnd(index); position++) {
+					addArc(index, graph.adjacentIndex(position), edge.weight(), NO_ARC, NO_ARC);
+				}
+			}
+		}
+	}
+
+	private <T> T parallel(final Supplier<T> task) {
+		return pool.submit(task::get).join();
+	}
+
+	private void parallel(final Runnable task) {
+		pool.submit(task).join();
+	}
+
+	/*
+	 * Adds an arc unless an arc between the nodes with at most the same cost exists, which is replaced otherwise.
+	 */
+	private void addArc(final int source, final int target, final double cost, final int first, final int second) {
+		if (source == target) {
+			return;
+		}
+		final IntList sourceArcs = outgoing[source];
+		int existingPosition = -1;
+		for (int i = 0; i < sourceArcs.size; i++) {
+			if (arcTargets.get(sourceArcs.get(i)) == target) {
+				existingPosition = i;
+				break;
+			}
+		}
+		if (existingPosition >= 0 && arcCosts[sourceArcs.get(existingPosition)] <= cost) {
+			return;
+		}
+		final int arc = arcSources.size;
+		arcSources.add(source);
+		arcTargets.add(target);
+		arcFirsts.add(first);
+		arcSeconds.add(second);
+		if (arc == arcCosts.length) {
+			arcCosts = Arrays.copyOf(arcCosts, arc * 2);
+		}
+		arcCosts[arc] = cost;
+		if (existingPosition >= 0) {
+			final int replaced = sourceArcs.get(existingPosition);
+			sourceArcs.set(existingPosition, arc);
+			incoming[target].replace(replaced, arc);
+		} else {
+			sourceArcs.add(arc);
+			incoming[target].add(arc);
+		}
+	}
+
+	/*
+	 * Former neighbours of a contracted node.
+	 */
+	private IntStream neighbours(final int node) {
+		return IntStream.concat(
+				IntStream.range(0, up[node].size).map(i -> arcTargets.get(up[node].get(i))),
+				IntStream.range(0, down[node].size).map(i -> arcSources.get(down[node].get(i))));
+	}
+
+	private boolean isLocalMinimum(final int node) {
+		return isLowerPriority(node, outgoing[node], arcTargets) && isLowerPriority(node, incoming[node], arcSources);
+	}
+
+	private boolean isLowerPriority(final int node, final IntList arcs, final IntList neighbourEnds) {
+		for (int i = 0; i < arcs.size; i++) {
+			final int neighbour = neighbourEnds.get(arcs.get(i));
+			if (priorities[neighbour] < priorities[node]
+					|| (priorities[neighbour] == priorities[node] && neighbour < node)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int priority(final int node) {
+		return shortcuts(node).size() - outgoing[node].size - incoming[node].size + contractedNeighbours[node];
+	}
+
+	/*
+	 * Removes the node from the remaining graph and keeps its arcs as upward and downward arcs.
+	 */
+	private void contract(final int node) {
+		for (int i = 0; i < outgoing[node].size; i++) {
+			final int arc = outgoing[node].get(i);
+			up[node].add(arc);
+			incoming[arcTargets.get(arc)].remove(arc);
+			contractedNeighbours[arcTargets.get(arc)]++;
+		}
+		for (int i = 0; i < incoming[node].size; i++) {
+			final int arc = incoming[node].get(i);
+			down[node].add(arc);
+			outgoing[arcSources.get(arc)].remove(arc);
+			contractedNeighbours[arcSources.get(arc)]++;
+		}
+		outgoing[node] = new IntList();
+		incoming[node] = new IntList();
+		contracted[node] = true;
+		inRound[node] = false;
+	}
+
+	/*
+	 * Shortcuts needed for contracting the node, found by witness searches from each incoming neighbour.
+	 */
+	private List<Shortcut> shortcuts(final int node) {
+		final List<Shortcut> result = new ArrayList<>();
+		final IntList in = incoming[node];
+		final IntList out = outgoing[node];
+		if (out.size == 0) {
+			return result;
+		}
+		double maxOutCost = 0.0D;
+		for (int j = 0; j < out.size; j++) {
+			maxOutCost = Math.max(maxOutCost, arcCosts[out.get(j)]);
+		}
+		DijkstraWorkspace workspace = workspaces.poll();
+		if (workspace == null) {
+			workspace = new DijkstraWorkspace();
+		}
+		for (int i = 0; i < in.size; i++) {
+			final int inArc = in.get(i);
+			final int source = arcSources.get(inArc);
+			final double inCost = arcCosts[inArc];
+			witnessSearch(workspace, source, node, inCost + maxOutCost);
+			for (int j = 0; j < out.size; j++) {
+				final int outArc = out.get(j);
+				final int target = arcTargets.get(outArc);
+				final double viaCost = inCost + arcCosts[outArc];
+				if (target != source
+						&& !(workspace.isReached(target) && workspace.reachCost(target) <= viaCost)) {
+					result.add(new Shortcut(source, target, viaCost, inArc, outArc));
+				}
+			}
+		}
+		workspaces.offer(workspace);
+		return result;
+	}
+
+	private void witnessSearch(final DijkstraWorkspace workspace, final int source, final int excluded,
+							   final double maxCost) {
+		workspace.reset();
+		final DijkstraQueue queue = workspace.queue();
+		workspace.reach(source, null, NO_PREDECESSOR, 0.0D);
+		queue.insert(source, 0.0D);
+		int settled = 0;
+		while (!queue.isEmpty() && settled++ < witnessSettleLimit) {
+			final int current = queue.poll();
+			final double cost = workspace.reachCost(current);
+			if (cost > maxCost) {
+				return;
+			}
+			workspace.settle(current);
+			final IntList arcs = outgoing[current];
+			for (int i = 0; i < arcs.size; i++) {
+				final int arc = arcs.get(i);
+				final int next = arcTargets.get(arc);
+				if (next == excluded || contracted[next] || inRound[next]) {
+					continue;
+				}
+				final double nextCost = cost + arcCosts[arc];
+				if (!workspace.isReached(next)) {
+					workspace.reach(next, null, current, nextCost);
+					queue.insert(next, nextCost);
+				} else if (!workspace.isSettled(next) && nextCost < workspace.reachCost(next)) {
+					workspace.improve(next, current, nextCost);
+					queue.decreaseKey(next, nextCost);
+				}
+			}
+		}
+	}
+
+	private ContractionHierarchy<E, I> createHierarchy(final int[] ranks) {
+		final int indexCount = ranks.length;
+		final int[] upOffsets = new int[indexCount + 1];
+		final int[] downOffsets = new int[indexCount + 1];
+		for (int index = 0; index < indexCount; index++) {
+			upOffsets[index + 1] = upOffsets[index] + up[index].size;
+			downOffsets[index + 1] = downOffsets[index] + down[index].size;
+		}
+		final int[] upArcs = new int[upOffsets[indexCount]];
+		final int[] downArcs = new int[downOffsets[indexCount]];
+		for (int index = 0; index < indexCount; index++) {
+			System.arraycopy(up[index].values, 0, upArcs, upOffsets[index], up[index].size);
+			System.arraycopy(down[index].values, 0, downArcs, downOffsets[index], down[index].size);
+		}
+		return new ContractionHierarchy<>(graph, ranks, upOffsets, upArcs, downOffsets, downArcs,
+				arcSources.toArray(), arcTargets.toArray(), Arrays.copyOf(arcCosts, arcSources.size),
+				arcFirsts.toArray(), arcSeconds.toArray());
+	}
+
+	@SuppressWarnings("ClassCanBeRecord")
+	private static final class Shortcut {
+
+		private final int source;
+		private final int target;
+		private final double cost;
+		private final int first;
+		private final int second;
+
+		private Shortcut(final int source, final int target, final double cost, final int first, final int second) {
+			this.source = source;
+			this.target = target;
+			this.cost = cost;
+			this.first = first;
+			this.second = second;
+		}
+	}
+
+	private static final class IntList {
+
+		private int[] values = new int[4];
+		private int size;
+
+		int get(final int position) {
+			return values[position];
+		}
+
+		void set(final int position, final int value) {
+			values[position] = value;
+		}
+
+		void add(final int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void remove(final int value) {
+			for (int i = 0; i < size; i++) {
+				if (values[i] == value) {
+					values[i] = values[--size];
+					return;
+				}
+			}
+		}
+
+		void replace(final int value, final int replacement) {
+			for (int i = 0; i < size; i++) {
+				if (values[i] == value) {
+					values[i] = replacement;
+					return;
+				}
+			}
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.jfr.TraversalQueryEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static de.bsailer.routing.traversal.DijkstraWorkspace.NO_PREDECESSOR;
+
+/**
+ * Point-to-point query on a {@code ContractionHierarchy}: a forward search from the start and a backward search from
+ * the target, both only following arcs upward in rank, meet at the highest ranked edge of the shortest route.
+ * Shortcuts of the found route are unpacked recursively into the original edges.
+ *
+ * The search state is held in two {@code DijkstraWorkspace}s, whose predecessors are the arcs used.  Instances are
+ * reusable for any number of queries, but not thread-safe (see {@code ContractionHierarchy.query()}).
+ *
+ * Each query is recorded as {@code TraversalQueryEvent} for the flight recorder, with the edges settled in both
+ * directions and the cost of the route found.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class ContractionHierarchyQuery<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+		implements PathFinder<E, I> {
+
+	private final ContractionHierarchy<E, I> hierarchy;
+	private final DijkstraWorkspace forward = new DijkstraWorkspace();
+	private final DijkstraWorkspace backward = new DijkstraWorkspace();
+	private int[] unpackStack = new int[16];
+	private double bestCost;
+	private int meeting;
+	private long settledCount;
+
+	ContractionHierarchyQuery(final ContractionHierarchy<E, I> hierarchy) {
+		this.hierarchy = hierarchy;
+	}
+
+	@Override
+	public Optional<Route<E>> pathFromTo(final E start, final E target) {
+		search(start, target);
+		if (meeting == NO_PREDECESSOR) {
+			return Optional.empty();
+		}
+		final List<Integer> forwardArcs = new ArrayList<>();
+		for (int index = meeting; forward.predecessor(index) != NO_PREDECESSOR;) {
+			final int arc = forward.predecessor(index);
+			forwardArcs.add(arc);
+			index = hierarchy.arcSource(arc);
+		}
+		final List<E> result = new ArrayList<>();
+		result.add(start);
+		for (int i = forwardArcs.size() - 1; i >= 0; i--) {
+			unpack(forwardArcs.get(i), result);
+		}
+		for (int index = meeting; backward.predecessor(index) != NO_PREDECESSOR;) {
+			final int arc = backward.predecessor(index);
+			unpack(arc, result);
+			index = hierarchy.arcTarget(arc);
+		}
+		return Optional.of(new Route<>(result));
+	}
+
+	@Override
+	public Double costFromTo(final E start, final E target) {
+		search(start, target);
+		return bestCost;
+	}
+
+	private void search(final E start, final E target) {
+		final TraversalQueryEvent event = new TraversalQueryEvent();
+		event.begin();
+		forward.reset();
+		backward.reset();
+		bestCost = Double.POSITIVE_INFINITY;
+		meeting = NO_PREDECESSOR;
+		settledCount = 0L;
+		searchBothDirections(start, target);
+		event.commit(getClass().getSimpleName(), settledCount, bestCost, null);
+	}
+
+	private void searchBothDirections(final E start, final E target) {
+		final int startIndex = start.id().index();
+		final int targetIndex = target.id().index();
+		if (!isContained(startIndex) || !isContained(targetIndex)) {
+			return;
+		}
+		label(forward, startIndex, NO_PREDECESSOR, 0.0D);
+		label(backward, targetIndex, NO_PREDECESSOR, 0.0D);
+		if (startIndex == targetIndex) {
+			bestCost = 0.0D;
+			meeting = startIndex;
+		}
+		boolean forwardActive = true;
+		boolean backwardActive = true;
+		boolean forwardTurn = true;
+		while (forwardActive || backwardActive) {
+			if (forwardTurn ? forwardActive : !backwardActive) {
+				forwardActive = step(forward, backward, true);
+			} else {
+				backwardActive = step(backward, forward, false);
+			}
+			forwardTurn = !forwardTurn;
+		}
+	}
+
+	private boolean isContained(final int index) {
+		return index >= 0 && index < hierarchy.indexCount() && hierarchy.rank(index) >= 0;
+	}
+
+	/*
+	 * Settles the next index of one direction; false if the direction is finished, i.e. exhausted or not able to
+	 * improve the best cost any more.
+	 */
+	private boolean step(final DijkstraWorkspace own, final DijkstraWorkspace opposite, final boolean upward) {
+		final DijkstraQueue queue = own.queue();
+		if (queue.isEmpty()) {
+			return false;
+		}
+		final int index = queue.poll();
+		final double cost = own.reachCost(index);
+		if (cost >= bestCost) {
+			return false;
+		}
+		own.settle(index);
+		settledCount++;
+		if (opposite.isReached(index) && cost + opposite.reachCost(index) < bestCost) {
+			bestCost = cost + opposite.reachCost(index);
+			meeting = index;
+		}
+		final int end = upward ? hierarchy.upEnd(index) : hierarchy.downEnd(index);
+		for (int position = upward ? hierarchy.upBegin(index) : hierarchy.downBegin(index); position < end; position++) {
+			final int arc = upward ? hierarchy.upArc(position) : hierarchy.downArc(position);
+			final int next = upward ? hierarchy.arcTarget(arc) : hierarchy.arcSource(arc);
+			final double nextCost = cost + hierarchy.arcCost(arc);
+			if (!own.isReached(next)) {
+				label(own, next, arc, nextCost);
+			} else if (!own.isSettled(next) && nextCost < own.reachCost(next)) {
+				own.improve(next, arc, nextCost);
+				queue.decreaseKey(next, nextCost);
+			}
+		}
+		return true;
+	}
+
+	private static void label(final DijkstraWorkspace workspace, final int index, final int arc, final double cost) {
+		workspace.reach(index, null, arc, cost);
+		workspace.queue().insert(index, cost);
+	}
+
+	/*
+	 * Appends the edges an arc leads over, excluding its source, resolving shortcuts depth-first.
+	 */
+	private void unpack(final int arc, final List<E> result) {
+		int size = 0;
+		unpackStack[size++] = arc;
+		while (size > 0) {
+			final int current = unpackStack[--size];
+			final int first = hierarchy.arcFirst(current);
+			if (first == ContractionHierarchy.NO_ARC) {
+				result.add(hierarchy.graph().edge(hierarchy.arcTarget(current)));
+			} else {
+				if (size + 2 > unpackStack.length) {
+					unpackStack = Arrays.copyOf(unpackStack, unpackStack.length * 2);
+				}
+				unpackStack[size++] = hierarchy.arcSecond(current);
+				unpackStack[size++] = first;
+			}
+		}
+	}
+}
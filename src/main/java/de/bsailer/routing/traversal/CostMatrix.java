@@ -0,0 +1,93 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * This class computes many-to-many cost matrices with one search per source, which stops as soon as all targets are
+ * settled.
+ *
+ * Sources are distributed across a {@code ForkJoinPool}.  Each worker thread uses its own {@code Traversal} created
+ * by the given factory, so the graph shared by the traversals is only read and has to be safe for concurrent reads.
+ * The {@code AllTargetsDijkstraAborter}s of a matrix are pooled, so each is created once per concurrent row and
+ * reset by the runs reusing it.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public class CostMatrix<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+
+	private final ThreadLocal<Traversal<E, I>> traversals;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Constructs using the common {@code ForkJoinPool}.
+	 *
+	 * @param traversalFactory creates a new {@code Traversal} per worker thread, e.g. {@code () -> new
+	 *                         IndexedDijkstra<>(graph)}.
+	 */
+	public CostMatrix(final Supplier<? extends Traversal<E, I>> traversalFactory) {
+		this(traversalFactory, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param traversalFactory creates a new {@code Traversal} per worker thread.
+	 * @param pool             {@code ForkJoinPool} the sources are distributed across.
+	 */
+	public CostMatrix(final Supplier<? extends Traversal<E, I>> traversalFactory, final ForkJoinPool pool) {
+		Objects.requireNonNull(traversalFactory);
+		this.traversals = ThreadLocal.withInitial(traversalFactory::get);
+		this.pool = Objects.requireNonNull(pool);
+	}
+
+	/**
+	 * Computes the reach costs of all targets from all sources.
+	 *
+	 * @param sources start {@code Edge}s, one row each.
+	 * @param targets target {@code Edge}s, one column each.
+	 * @return {@code double[sources.size()][targets.size()]}, {@code Double.POSITIVE_INFINITY} for unreachable targets.
+	 */
+	public double[][] costs(final List<E> sources, final List<E> targets) {
+		final double[][] result = new double[sources.size()][];
+		if (targets.isEmpty()) {
+			Arrays.fill(result, new double[0]);
+			return result;
+		}
+		@SuppressWarnings("unchecked")
+		final E[] targetArray = (E[]) targets.toArray(new Edge<?>[0]);
+		final Queue<AllTargetsDijkstraAborter<E>> aborters = new ConcurrentLinkedQueue<>();
+		pool.submit(() -> IntStream.range(0, sources.size()).parallel().forEach(row -> {
+			AllTargetsDijkstraAborter<E> aborter = aborters.poll();
+			if (aborter == null) {
+				aborter = new AllTargetsDijkstraAborter<>(targets);
+			}
+			result[row] = row(sources.get(row), targetArray, aborter);
+			aborters.offer(aborter);
+		})).join();
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private double[] row(final E source, final E[] targets, final AllTargetsDijkstraAborter<E> aborter) {
+		final Traversal<E, I> traversal = traversals.get();
+		traversal.setAborter(aborter);
+		traversal.run(source);
+		final Map<I, Double> costs = traversal.costs(targets);
+		final double[] result = new double[targets.length];
+		for (int column = 0; column < targets.length; column++) {
+			result[column] = costs.get(targets[column].id());
+		}
+		return result;
+	}
+}
@@ -1,12 +1,13 @@
 package de.bsailer.routing.traversal;
 
+import de.bsailer.routing.jfr.TraversalQueryEvent;
 import de.bsailer.routing.model.Edge;
 import de.bsailer.routing.model.EdgeIdentifier;
 import de.bsailer.routing.model.Graph;
 import de.bsailer.routing.model.Route;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * This class implements a Dijkstra algorithm for finding the shortest prohibitedPaths.
@@ -23,12 +24,16 @@ import java.util.stream.Collectors;
  * above workflow for exactly one start and one target (except the construction
  * of the object itself).
  *
+ * Optionally a {@code SearchStatisticsListener} is notified with the
+ * {@code SearchStatistics} of each run; without listener nothing is counted.
+ * Each run is recorded as {@code TraversalQueryEvent} for the flight recorder.
+ *
  * @author bsailer
  *
  * @param <E> concrete type of {@code Edge}
  * @param <I> concrete type of {@code EdgeIdentifier}
  */
-public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> implements Traversal<E, I> {
 
 	private final DijkstraEdge<E> INFINITY_EDGE = new DijkstraEdge<>(Double.POSITIVE_INFINITY) {
 		@Override
@@ -37,12 +42,40 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 		}
 	};
 	private final Graph<E, I> graph;
-	private final PriorityQueue<DijkstraEdge<E>> queue = new PriorityQueue<>();
+	private final DijkstraQueue queue;
 	private final Map<I, DijkstraEdge<E>> visited = new HashMap<>();
+	private final List<DijkstraEdge<E>> slots = new ArrayList<>();
 	private DijkstraAborter<E> aborter = new DefaultDijkstraAborter<>();
+	private SearchStatisticsListener statisticsListener;
+	/*
+	 * null while no listener is set.
+	 */
+	private SearchStatistics statistics;
+	/*
+	 * the graph, wrapped to time its adjacency while statistics are collected.
+	 */
+	private Graph<E, I> traversedGraph;
+	/*
+	 * the edge currently relaxed, kept in fields so that relaxation does not need a capturing lambda per edge.
+	 */
+	private final Consumer<E> relaxation = this::relaxAdjacent;
+	private DijkstraEdge<E> relaxed;
+	private double relaxedReachCost;
 
 	public Dijkstra(final Graph<E, I> graph) {
+		this(graph, new IndexedDaryHeap());
+	}
+
+	/**
+	 * Constructs with a specific {@code DijkstraQueue} implementation.
+	 *
+	 * @param graph {@code Graph} to traverse.
+	 * @param queue empty {@code DijkstraQueue} exclusively used by this instance.
+	 */
+	public Dijkstra(final Graph<E, I> graph, final DijkstraQueue queue) {
 		this.graph = graph;
+		this.traversedGraph = graph;
+		this.queue = Objects.requireNonNull(queue);
 	}
 
 	/**
@@ -50,24 +83,58 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 *
 	 * @param aborter new {@code DijkstraAborter}, to set.
 	 */
+	@Override
 	public void setAborter(final DijkstraAborter<E> aborter) {
 		this.aborter = aborter;
 	}
 
 	/**
-	 * This method actually runs the Dijkstra.
+	 * Sets the listener notified with the statistics of each run.
+	 *
+	 * @param statisticsListener {@code SearchStatisticsListener}, {@code null} to disable collecting statistics.
+	 */
+	public void setStatisticsListener(final SearchStatisticsListener statisticsListener) {
+		this.statisticsListener = statisticsListener;
+		this.statistics = statisticsListener == null ? null : new SearchStatistics();
+		this.traversedGraph = statisticsListener == null ? graph : new AdjacencyTimingGraph<>(graph, statistics);
+	}
+
+	/**
+	 * This method actually runs the Dijkstra.  Results of a previous run are discarded.
 	 *
 	 * @param starts varargs of start {@code Edge}s.
 	 */
 	@SafeVarargs
+	@Override
 	public final void run(final E... starts) {
+		final TraversalQueryEvent event = new TraversalQueryEvent();
+		event.begin();
+		final SearchStatistics statistics = this.statistics;
+		if (statistics != null) {
+			statistics.start();
+		}
+		reset();
 		setStartEdges(starts);
+		aborter.reset();
 		E currentEdge;
+		double currentReachCost;
+		long settledCount = 0L;
 		do {
+			settledCount++;
 			final DijkstraEdge<E> dijkstraEdge = poll();
 			currentEdge = dijkstraEdge.edge;
+			currentReachCost = dijkstraEdge.reachCost;
+			if (statistics != null) {
+				statistics.settled();
+			}
 			relax(dijkstraEdge);
-		} while (!(queueIsEmpty() || aborter.abort(currentEdge)));
+		} while (!(queueIsEmpty() || aborter.abort(currentEdge, currentReachCost)));
+		event.commit(getClass().getSimpleName(), settledCount, currentReachCost,
+				queueIsEmpty() ? null : aborter.getClass().getSimpleName());
+		if (statistics != null) {
+			statistics.finish();
+			statisticsListener.searchFinished(statistics);
+		}
 	}
 
 	/**
@@ -80,6 +147,7 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 * @return {@code Map<Edge, Optional<Route>>}.
 	 */
 	@SafeVarargs
+	@Override
 	public final Map<I, Optional<Route<E>>> routes(final E... targets) {
 		final Map<I, Optional<Route<E>>> result = new HashMap<>();
 		for (final E target : targets) {
@@ -98,6 +166,7 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 * @return {@code Map<Edge, Double>}.
 	 */
 	@SafeVarargs
+	@Override
 	public final Map<I, Double> costs(final E... targets) {
 		final Map<I, Double> result = new HashMap<>();
 		for (final E target : targets) {
@@ -114,6 +183,7 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 * @return {@code Optional<Route>}, which is empty in case no edgeIds has been
 	 *         found.
 	 */
+	@Override
 	public Optional<Route<E>> pathFromTo(final E start, final E target) {
 		setAborter(new TargetDijkstraAborter<>(target));
 		run(start);
@@ -128,6 +198,7 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	 * @return cost, which is {@code Double.POSITIVE_INFINITY} in case no edgeIds has
 	 *         been found.
 	 */
+	@Override
 	public Double costFromTo(final E start, final E target) {
 		setAborter(new TargetDijkstraAborter<>(target));
 		run(start);
@@ -145,28 +216,38 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	@SafeVarargs
 	private void setStartEdges(final E... start) {
 		for (final E edge : start) {
-			enqueue(new DijkstraEdge<>(edge));
+			if (!isCreated(edge)) {
+				enqueue(new DijkstraEdge<>(edge, slots.size()));
+			}
 		}
 	}
 
 	private void enqueue(final DijkstraEdge<E> dijkstraEdge) {
-		queue.offer(dijkstraEdge);
+		slots.add(dijkstraEdge);
+		dijkstraEdge.estimate = estimate(dijkstraEdge.edge);
+		queue.insert(dijkstraEdge.slot, dijkstraEdge.reachCost + dijkstraEdge.estimate);
+		if (statistics != null) {
+			statistics.queued();
+		}
 		visited.put(dijkstraEdge.edge().id(), dijkstraEdge);
 	}
 
 	private void relax(final DijkstraEdge<E> dijkstraEdge) {
-		final var adjacentDijkstraEdges = dijkstraAdjacents(dijkstraEdge);
-		for (final var adjacent : adjacentDijkstraEdges) {
-			if (notYetLazyInitialized(adjacent)) {
-				enqueue(adjacent);
-			} else {
-				update(adjacent);
-			}
-		}
+		relaxed = dijkstraEdge;
+		relaxedReachCost = dijkstraEdge.reachCost + dijkstraEdge.edge.weight();
+		traversedGraph.forEachAdjacent(dijkstraEdge.edge().id(), relaxation);
 	}
 
-	private boolean notYetLazyInitialized(final DijkstraEdge<E> dijkstraEdge) {
-		return !isCreated(dijkstraEdge.edge());
+	private void relaxAdjacent(final E adjacent) {
+		if (statistics != null) {
+			statistics.relaxed();
+		}
+		final DijkstraEdge<E> original = visited.get(adjacent.id());
+		if (original == null) {
+			enqueue(new DijkstraEdge<>(adjacent, relaxed.edge, relaxedReachCost, slots.size()));
+		} else {
+			update(original, relaxed.edge, relaxedReachCost);
+		}
 	}
 
 	private boolean isCreated(final E edge) {
@@ -186,25 +267,42 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	}
 
 	private DijkstraEdge<E> poll() {
-		return queue.poll();
+		return slots.get(queue.poll());
 	}
 
-	private List<DijkstraEdge<E>> dijkstraAdjacents(final DijkstraEdge<E> dijkstraEdge) {
-		return graph.adjacents(dijkstraEdge.edge().id()).stream().map((e) -> new DijkstraEdge<>(e, dijkstraEdge))
-				.collect(Collectors.toList());
+	private void update(final DijkstraEdge<E> original, final E predecessor, final double reachCost) {
+		if (original.reachCost > reachCost) {
+			original.predecessor = predecessor;
+			original.reachCost = reachCost;
+			if (queue.contains(original.slot)) {
+				queue.decreaseKey(original.slot, reachCost + original.estimate);
+				if (statistics != null) {
+					statistics.decreasedKey();
+				}
+			} else {
+				queue.insert(original.slot, reachCost + original.estimate);
+				if (statistics != null) {
+					statistics.queued();
+				}
+			}
+		}
 	}
 
-	private void update(final DijkstraEdge<E> adjacent) {
-		final DijkstraEdge<E> original = visited.get(adjacent.edge().id());
-		if (original.reachCost > adjacent.reachCost) {
-			remove(original);
-			enqueue(adjacent);
-		}
+	/**
+	 * Hook for goal-directed subclasses: lower bound of the remaining cost from the start of {@code edge}, which is
+	 * added to the reach cost for the queue order.  Computed once per reached edge.
+	 *
+	 * @param edge newly reached {@code Edge}.
+	 * @return {@code 0.0} for plain Dijkstra.
+	 */
+	double estimate(final E edge) {
+		return 0.0D;
 	}
 
-	private void remove(final DijkstraEdge<E> dijkstraEdge) {
-		queue.remove(dijkstraEdge);
-		visited.remove(dijkstraEdge.edge().id());
+	private void reset() {
+		queue.clear();
+		visited.clear();
+		slots.clear();
 	}
 
 	private boolean queueIsEmpty() {
@@ -212,42 +310,37 @@ public class Dijkstra<E extends Edge<I>, I extends EdgeIdentifier<I>> {
 	}
 
 	/**
-	 * This class encapsulates an {@code Edge} for Dijkstra routing.  Note that for routing purposes
+	 * This class encapsulates an {@code Edge} for Dijkstra routing.  Predecessor and reach cost are updated in place
+	 * on improvement, the slot addresses the entry within the {@code DijkstraQueue}.
 	 * @param <E>
 	 */
-	private static class DijkstraEdge<E extends Edge<?>> implements Comparable<DijkstraEdge<E>> {
+	private static class DijkstraEdge<E extends Edge<?>> {
 
 		private final E edge;
-		private final E predecessor;
-		private final double reachCost;
+		private final int slot;
+		private E predecessor;
+		private double reachCost;
+		private double estimate;
 
-		private DijkstraEdge(final E edge) {
-			this.edge = edge;
-			this.predecessor = null;
-			this.reachCost = 0.0D;
+		private DijkstraEdge(final E edge, final int slot) {
+			this(edge, null, 0.0D, slot);
 		}
 
-		private DijkstraEdge(final E edge, final DijkstraEdge<E> predecessor) {
+		private DijkstraEdge(final E edge, final E predecessor, final double reachCost, final int slot) {
 			this.edge = edge;
-			this.predecessor = predecessor.edge;
-			this.reachCost = predecessor.reachCost + predecessor.edge.weight();
+			this.predecessor = predecessor;
+			this.reachCost = reachCost;
+			this.slot = slot;
 		}
 
 		private DijkstraEdge(final double cost) {
-			this.edge = null;
-			this.predecessor = null;
-			this.reachCost = cost;
+			this(null, null, cost, -1);
 		}
 
 		E edge() {
 			return edge;
 		}
 
-		@Override
-		public int compareTo(final DijkstraEdge<E> o) {
-			return Double.compare(this.reachCost, o.reachCost);
-		}
-
 		@Override
 		public String toString() {
 			return getClass().getSimpleName() + " " + Arrays.asList(edge, predecessor, reachCost);
@@ -5,9 +5,30 @@ import de.bsailer.routing.model.Edge;
 /**
  * Implementors of this interface provide criterion to abort a {@code Dijkstra} run by visiting the current {@code Edge}.
  *
+ * Traversals call {@code reset()} at the start of each run and {@code abort(current, reachCost)} for every settled
+ * edge, so stateful aborters can be reused across runs and criteria may depend on the reach cost.
+ *
  * @param <E> concrete type of the edge.
  */
 public interface DijkstraAborter<E extends Edge<?>> {
 
 	boolean abort(E current);
+
+	/**
+	 * Decides on abort given the reach cost of the current {@code Edge} as well.  Delegates to {@code abort(current)}
+	 * by default.
+	 *
+	 * @param current   {@code Edge} just settled.
+	 * @param reachCost its reach cost.
+	 * @return true to abort the run.
+	 */
+	default boolean abort(final E current, final double reachCost) {
+		return abort(current);
+	}
+
+	/**
+	 * Prepares for a new run.  Does nothing by default.
+	 */
+	default void reset() {
+	}
 }
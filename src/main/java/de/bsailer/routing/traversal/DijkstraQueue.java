@@ -0,0 +1,42 @@
+package de.bsailer.routing.traversal;
+
+/**
+ * Implementors of this interface serve as priority queue of a {@code Dijkstra} run.
+ *
+ * Entries are addressed by a non-negative int slot (assigned by the traversal, e.g. per visited edge), so that an
+ * implementation is free to keep its bookkeeping in arrays.  Each slot is contained at most once.
+ */
+public interface DijkstraQueue {
+
+	/**
+	 * Adds a slot, which must not be contained yet.
+	 *
+	 * @param slot non-negative slot of the entry.
+	 * @param key  priority of the entry, smaller keys are polled first.
+	 */
+	void insert(int slot, double key);
+
+	/**
+	 * Lowers the key of a contained slot.
+	 *
+	 * @param slot contained slot.
+	 * @param key  new key, not greater than the current one.
+	 */
+	void decreaseKey(int slot, double key);
+
+	/**
+	 * Removes the slot with the smallest key.
+	 *
+	 * @return the removed slot.
+	 */
+	int poll();
+
+	boolean contains(int slot);
+
+	boolean isEmpty();
+
+	/**
+	 * Removes all entries, so the queue can be reused for another run.
+	 */
+	void clear();
+}
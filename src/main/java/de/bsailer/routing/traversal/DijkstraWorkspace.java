@@ -0,0 +1,135 @@
+package de.bsailer.routing.traversal;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the reusable per-query search state of an {@code IndexedDijkstra}: queue, reach costs,
+ * predecessors and settled flags, all addressed by edge index.
+ *
+ * Entries are valid only if stamped with the current epoch, so {@code reset()} merely starts a new epoch and clears
+ * the queue; it takes time proportional to the entries touched by the last query, not to the size of the graph.
+ * Arrays grow on demand and are kept, so a workspace reused for many queries stops allocating once it has seen the
+ * largest index.
+ *
+ * A workspace must only be used by one query at a time (see {@code DijkstraWorkspaces} for per-thread instances).
+ */
+public class DijkstraWorkspace {
+
+	static final int NO_PREDECESSOR = -1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final DijkstraQueue queue = new IndexedDaryHeap();
+
+	private double[] reachCosts = new double[0];
+
+	private int[] predecessors = new int[0];
+
+	private Object[] edges = new Object[0];
+
+	private int[] reachedEpochs = new int[0];
+
+	private int[] settledEpochs = new int[0];
+
+	private int[] touched = new int[INITIAL_CAPACITY];
+
+	private int touchedCount;
+
+	private int epoch = 1;
+
+	/**
+	 * Invalidates all entries of the previous query.
+	 */
+	public void reset() {
+		queue.clear();
+		touchedCount = 0;
+		if (epoch == Integer.MAX_VALUE) {
+			Arrays.fill(reachedEpochs, 0);
+			Arrays.fill(settledEpochs, 0);
+			epoch = 0;
+		}
+		epoch++;
+	}
+
+	DijkstraQueue queue() {
+		return queue;
+	}
+
+	boolean isReached(final int index) {
+		return index < reachedEpochs.length && reachedEpochs[index] == epoch;
+	}
+
+	boolean isSettled(final int index) {
+		return index < settledEpochs.length && settledEpochs[index] == epoch;
+	}
+
+	void settle(final int index) {
+		settledEpochs[index] = epoch;
+	}
+
+	/**
+	 * Labels a not yet reached index.
+	 */
+	void reach(final int index, final Object edge, final int predecessor, final double reachCost) {
+		ensureCapacity(index);
+		reachedEpochs[index] = epoch;
+		edges[index] = edge;
+		predecessors[index] = predecessor;
+		reachCosts[index] = reachCost;
+		if (touchedCount == touched.length) {
+			touched = Arrays.copyOf(touched, touchedCount * 2);
+		}
+		touched[touchedCount++] = index;
+	}
+
+	/**
+	 * Updates the label of a reached index.
+	 */
+	void improve(final int index, final int predecessor, final double reachCost) {
+		predecessors[index] = predecessor;
+		reachCosts[index] = reachCost;
+	}
+
+	double reachCost(final int index) {
+		return reachCosts[index];
+	}
+
+	int predecessor(final int index) {
+		return predecessors[index];
+	}
+
+	Object edge(final int index) {
+		return edges[index];
+	}
+
+	/**
+	 * Number of indices reached within the current epoch.
+	 */
+	int touchedCount() {
+		return touchedCount;
+	}
+
+	/**
+	 * Index reached as {@code position}-th within the current epoch.
+	 */
+	int touched(final int position) {
+		return touched[position];
+	}
+
+	private void ensureCapacity(final int index) {
+		if (index >= reachedEpochs.length) {
+			final int newLength = Math.max(index + 1, Math.max(INITIAL_CAPACITY, reachedEpochs.length * 2));
+			reachCosts = Arrays.copyOf(reachCosts, newLength);
+			predecessors = Arrays.copyOf(predecessors, newLength);
+			edges = Arrays.copyOf(edges, newLength);
+			reachedEpochs = Arrays.copyOf(reachedEpochs, newLength);
+			settledEpochs = Arrays.copyOf(settledEpochs, newLength);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{epoch=" + epoch + ", touched=" + touchedCount
+				+ ", capacity=" + reachedEpochs.length + "}";
+	}
+}
@@ -0,0 +1,31 @@
+package de.bsailer.routing.traversal;
+
+import java.util.function.Supplier;
+
+/**
+ * Providers of {@code DijkstraWorkspace}s for servers running many queries concurrently.
+ */
+public final class DijkstraWorkspaces {
+
+	private DijkstraWorkspaces() {
+		throw new IllegalStateException("no instance");
+	}
+
+	/**
+	 * Creates a provider handing out one {@code DijkstraWorkspace} per calling thread, so every query thread reuses
+	 * its own search state:
+	 *
+	 * <pre>
+	 * final Supplier&lt;DijkstraWorkspace&gt; workspaces = DijkstraWorkspaces.threadLocal();
+	 * ...
+	 * // per query, on any thread
+	 * new IndexedDijkstra&lt;&gt;(graph, workspaces.get()).pathFromTo(start, target);
+	 * </pre>
+	 *
+	 * The workspaces live as long as their thread and the returned provider, so use it with a bounded thread pool.
+	 */
+	public static Supplier<DijkstraWorkspace> threadLocal() {
+		final ThreadLocal<DijkstraWorkspace> workspaces = ThreadLocal.withInitial(DijkstraWorkspace::new);
+		return workspaces::get;
+	}
+}
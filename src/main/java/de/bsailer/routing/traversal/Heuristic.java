@@ -0,0 +1,27 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+
+/**
+ * Estimate of the remaining cost used by {@code AStar} to direct the search towards a target.
+ *
+ * Estimates must be admissible, i.e. never exceed the actual cost, otherwise routes found may not be the shortest.
+ * Consistent estimates (the estimate of an edge does not exceed its weight plus the estimate of any adjacent) in
+ * addition avoid that edges are polled more than once.
+ *
+ * @param <E> concrete type of {@code Edge}
+ */
+@FunctionalInterface
+public interface Heuristic<E extends Edge<?>> {
+
+	/**
+	 * Estimates the cost from the start of {@code edge} to the start of {@code target}, i.e. the reach cost of
+	 * {@code target} when starting at {@code edge}.
+	 *
+	 * @param edge   {@code Edge} the search is at.
+	 * @param target {@code Edge} to reach.
+	 * @return lower bound of the cost, {@code 0.0} for {@code edge} being {@code target}.
+	 */
+	double estimate(E edge, E target);
+
+}
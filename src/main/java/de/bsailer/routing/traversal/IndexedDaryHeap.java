@@ -0,0 +1,151 @@
+package de.bsailer.routing.traversal;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-based indexed d-ary min-heap implementation of {@code DijkstraQueue}.
+ *
+ * The heap position of every slot is tracked, so {@code decreaseKey} and {@code contains} do not have to search the
+ * heap: insert, decrease-key and poll are {@code O(log n)}, contains is {@code O(1)}.  A higher arity makes the heap
+ * shallower (cheaper decrease-keys) at the cost of more comparisons per poll, 4 is a good default for road graphs.
+ */
+public class IndexedDaryHeap implements DijkstraQueue {
+
+	public static final int DEFAULT_ARITY = 4;
+
+	private static final int ABSENT = -1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int arity;
+
+	private int[] heapSlots = new int[INITIAL_CAPACITY];
+
+	private double[] heapKeys = new double[INITIAL_CAPACITY];
+
+	private int[] positions = new int[0];
+
+	private int size;
+
+	public IndexedDaryHeap() {
+		this(DEFAULT_ARITY);
+	}
+
+	public IndexedDaryHeap(final int arity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("arity must be at least 2, but was " + arity);
+		}
+		this.arity = arity;
+	}
+
+	@Override
+	public void insert(final int slot, final double key) {
+		ensureSlot(slot);
+		if (positions[slot] != ABSENT) {
+			throw new IllegalStateException("slot " + slot + " is already contained");
+		}
+		if (size == heapSlots.length) {
+			heapSlots = Arrays.copyOf(heapSlots, size * 2);
+			heapKeys = Arrays.copyOf(heapKeys, size * 2);
+		}
+		siftUp(size++, slot, key);
+	}
+
+	@Override
+	public void decreaseKey(final int slot, final double key) {
+		final int position = slot < positions.length ? positions[slot] : ABSENT;
+		if (position == ABSENT) {
+			throw new IllegalStateException("slot " + slot + " is not contained");
+		}
+		siftUp(position, slot, key);
+	}
+
+	@Override
+	public int poll() {
+		if (size == 0) {
+			throw new NoSuchElementException("heap is empty");
+		}
+		final int result = heapSlots[0];
+		positions[result] = ABSENT;
+		size--;
+		if (size > 0) {
+			siftDown(0, heapSlots[size], heapKeys[size]);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean contains(final int slot) {
+		return slot < positions.length && positions[slot] != ABSENT;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Clears in {@code O(size)}, i.e. proportional to the entries still contained.
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heapSlots[i]] = ABSENT;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int position, final int slot, final double key) {
+		while (position > 0) {
+			final int parent = (position - 1) / arity;
+			if (heapKeys[parent] <= key) {
+				break;
+			}
+			place(position, heapSlots[parent], heapKeys[parent]);
+			position = parent;
+		}
+		place(position, slot, key);
+	}
+
+	private void siftDown(int position, final int slot, final double key) {
+		while (true) {
+			final int firstChild = position * arity + 1;
+			if (firstChild >= size) {
+				break;
+			}
+			final int lastChild = Math.min(firstChild + arity, size);
+			int minChild = firstChild;
+			for (int child = firstChild + 1; child < lastChild; child++) {
+				if (heapKeys[child] < heapKeys[minChild]) {
+					minChild = child;
+				}
+			}
+			if (heapKeys[minChild] >= key) {
+				break;
+			}
+			place(position, heapSlots[minChild], heapKeys[minChild]);
+			position = minChild;
+		}
+		place(position, slot, key);
+	}
+
+	private void place(final int position, final int slot, final double key) {
+		heapSlots[position] = slot;
+		heapKeys[position] = key;
+		positions[slot] = position;
+	}
+
+	private void ensureSlot(final int slot) {
+		if (slot >= positions.length) {
+			final int oldLength = positions.length;
+			positions = Arrays.copyOf(positions, Math.max(slot + 1, Math.max(INITIAL_CAPACITY, oldLength * 2)));
+			Arrays.fill(positions, oldLength, positions.length, ABSENT);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{arity=" + arity + ", size=" + size + "}";
+	}
+}
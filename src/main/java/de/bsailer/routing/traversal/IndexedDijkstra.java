@@ -0,0 +1,298 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.jfr.TraversalQueryEvent;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+import de.bsailer.routing.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static de.bsailer.routing.traversal.DijkstraWorkspace.NO_PREDECESSOR;
+
+/**
+ * This class implements the Dijkstra algorithm of {@code Dijkstra} for graphs with
+ * {@code IndexProvidingEdgeIdentifier}s.
+ *
+ * Instead of a map of label objects the search state is kept in the arrays of a {@code DijkstraWorkspace} addressed
+ * by {@code index()}: reach cost, predecessor index and settled state.  The queue is an {@code IndexedDaryHeap} keyed
+ * by the index as well, so relaxing an edge does not allocate.  Given non-negative weights the results are identical
+ * to those of {@code Dijkstra}.
+ *
+ * Turn bans and costs of {@code TurnRestrictions} are applied while relaxing, without expanding the graph.
+ *
+ * With a maximum cost set, adjacents whose reach cost would exceed it are not reached at all, so the search ends when
+ * all edges within the bound are settled (see {@code Isochrone}).
+ *
+ * Given {@code StronglyConnectedComponents} of the graph, {@code pathFromTo} and {@code costFromTo} answer targets
+ * known to be unreachable right away instead of exhausting the reachable edges.
+ *
+ * With a {@code SearchStatisticsListener} set, each run counts its work in {@code SearchStatistics}; without (the
+ * default) the counting is skipped.  Each run is recorded as {@code TraversalQueryEvent} for the flight recorder.
+ *
+ * Each {@code run} resets the workspace, so an instance (or a workspace shared by several instances on one thread)
+ * can be used for any number of queries.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class IndexedDijkstra<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> implements Traversal<E, I> {
+
+	private final Graph<E, I> graph;
+
+	private final DijkstraWorkspace workspace;
+
+	private DijkstraAborter<E> aborter = current -> false;
+
+	private TurnRestrictions turnRestrictions = TurnRestrictions.NONE;
+
+	private StronglyConnectedComponents components;
+
+	private double maxCost = Double.POSITIVE_INFINITY;
+
+	private SearchStatisticsListener statisticsListener;
+
+	/*
+	 * null while no listener is set.
+	 */
+	private SearchStatistics statistics;
+
+	/*
+	 * the graph, wrapped to time its adjacency while statistics are collected.
+	 */
+	private Graph<E, I> traversedGraph;
+
+	/*
+	 * the edge currently relaxed, kept in fields so that relaxation does not need a capturing lambda per edge.
+	 */
+	private final Consumer<E> relaxation = this::relaxAdjacent;
+
+	private int relaxedIndex;
+
+	private double relaxedReachCost;
+
+	private boolean relaxedRestricted;
+
+	public IndexedDijkstra(final Graph<E, I> graph) {
+		this(graph, new DijkstraWorkspace());
+	}
+
+	/**
+	 * Constructs with a (reused) {@code DijkstraWorkspace}, which must not be used by another query concurrently.
+	 *
+	 * @param graph     {@code Graph} to traverse.
+	 * @param workspace {@code DijkstraWorkspace} holding the search state.
+	 */
+	public IndexedDijkstra(final Graph<E, I> graph, final DijkstraWorkspace workspace) {
+		this.graph = graph;
+		this.traversedGraph = graph;
+		this.workspace = Objects.requireNonNull(workspace);
+	}
+
+	@Override
+	public void setAborter(final DijkstraAborter<E> aborter) {
+		this.aborter = aborter;
+	}
+
+	/**
+	 * Sets the turn bans and costs to apply, {@code TurnRestrictions.NONE} by default.
+	 */
+	public void setTurnRestrictions(final TurnRestrictions turnRestrictions) {
+		this.turnRestrictions = Objects.requireNonNull(turnRestrictions);
+	}
+
+	/**
+	 * Sets the bound on the reach cost of the edges reached, {@code Double.POSITIVE_INFINITY} by default.  Starts are
+	 * reached regardless.
+	 *
+	 * @param maxCost non-negative maximum reach cost.
+	 */
+	public void setMaxCost(final double maxCost) {
+		if (!(maxCost >= 0.0D)) {
+			throw new IllegalArgumentException("maximum cost must be non-negative: " + maxCost);
+		}
+		this.maxCost = maxCost;
+	}
+
+	/**
+	 * Sets the components consulted by point-to-point queries before searching.
+	 *
+	 * @param components {@code StronglyConnectedComponents} of the graph, {@code null} to always search.
+	 */
+	public void setComponents(final StronglyConnectedComponents components) {
+		this.components = components;
+	}
+
+	/**
+	 * Sets the listener notified with the statistics of each run.
+	 *
+	 * @param statisticsListener {@code SearchStatisticsListener}, {@code null} to disable collecting statistics.
+	 */
+	public void setStatisticsListener(final SearchStatisticsListener statisticsListener) {
+		this.statisticsListener = statisticsListener;
+		this.statistics = statisticsListener == null ? null : new SearchStatistics();
+		this.traversedGraph = statisticsListener == null ? graph : new AdjacencyTimingGraph<>(graph, statistics);
+	}
+
+	@SafeVarargs
+	@Override
+	public final void run(final E... starts) {
+		final TraversalQueryEvent event = new TraversalQueryEvent();
+		event.begin();
+		final SearchStatistics statistics = this.statistics;
+		if (statistics != null) {
+			statistics.start();
+		}
+		workspace.reset();
+		final DijkstraQueue queue = workspace.queue();
+		for (final E start : starts) {
+			final int index = start.id().index();
+			if (!workspace.isReached(index)) {
+				workspace.reach(index, start, NO_PREDECESSOR, 0.0D);
+				queue.insert(index, 0.0D);
+				if (statistics != null) {
+					statistics.queued();
+				}
+			}
+		}
+		aborter.reset();
+		E currentEdge;
+		double currentReachCost;
+		long settledCount = 0L;
+		do {
+			settledCount++;
+			final int current = queue.poll();
+			workspace.settle(current);
+			currentEdge = edge(current);
+			currentReachCost = workspace.reachCost(current);
+			if (statistics != null) {
+				statistics.settled();
+			}
+			relax(currentEdge, current);
+		} while (!(queue.isEmpty() || aborter.abort(currentEdge, currentReachCost)));
+		event.commit(getClass().getSimpleName(), settledCount, currentReachCost,
+				queue.isEmpty() ? null : aborter.getClass().getSimpleName());
+		if (statistics != null) {
+			statistics.finish();
+			statisticsListener.searchFinished(statistics);
+		}
+	}
+
+	@SafeVarargs
+	@Override
+	public final Map<I, Optional<Route<E>>> routes(final E... targets) {
+		final Map<I, Optional<Route<E>>> result = new HashMap<>();
+		for (final E target : targets) {
+			result.put(target.id(), createRoute(target));
+		}
+		return result;
+	}
+
+	@SafeVarargs
+	@Override
+	public final Map<I, Double> costs(final E... targets) {
+		final Map<I, Double> result = new HashMap<>();
+		for (final E target : targets) {
+			final int index = target.id().index();
+			result.put(target.id(), workspace.isReached(index) ? workspace.reachCost(index) : Double.POSITIVE_INFINITY);
+		}
+		return result;
+	}
+
+	@Override
+	public Optional<Route<E>> pathFromTo(final E start, final E target) {
+		if (isUnreachable(start, target)) {
+			return Optional.empty();
+		}
+		setAborter(new TargetDijkstraAborter<>(target));
+		run(start);
+		return routes(target).get(target.id());
+	}
+
+	@Override
+	public Double costFromTo(final E start, final E target) {
+		if (isUnreachable(start, target)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		setAborter(new TargetDijkstraAborter<>(target));
+		run(start);
+		return costs(target).get(target.id());
+	}
+
+	/*
+	 * true if the components exclude a route; the workspace is reset then, as by a search not reaching the target.
+	 */
+	private boolean isUnreachable(final E start, final E target) {
+		if (components == null || components.mayReach(start.id().index(), target.id().index())) {
+			return false;
+		}
+		workspace.reset();
+		return true;
+	}
+
+	private void relax(final E edge, final int index) {
+		relaxedIndex = index;
+		relaxedReachCost = workspace.reachCost(index) + edge.weight();
+		if (relaxedReachCost > maxCost) {
+			return;
+		}
+		relaxedRestricted = turnRestrictions.restrictsFrom(index);
+		traversedGraph.forEachAdjacent(edge.id(), relaxation);
+	}
+
+	private void relaxAdjacent(final E adjacent) {
+		if (statistics != null) {
+			statistics.relaxed();
+		}
+		final int adjacentIndex = adjacent.id().index();
+		double reachCost = relaxedReachCost;
+		if (relaxedRestricted) {
+			final double turnCost = turnRestrictions.turnCost(relaxedIndex, adjacentIndex);
+			if (turnCost == Double.POSITIVE_INFINITY) {
+				return;
+			}
+			reachCost += turnCost;
+			if (reachCost > maxCost) {
+				return;
+			}
+		}
+		if (!workspace.isReached(adjacentIndex)) {
+			workspace.reach(adjacentIndex, adjacent, relaxedIndex, reachCost);
+			workspace.queue().insert(adjacentIndex, reachCost);
+			if (statistics != null) {
+				statistics.queued();
+			}
+		} else if (!workspace.isSettled(adjacentIndex) && workspace.reachCost(adjacentIndex) > reachCost) {
+			workspace.improve(adjacentIndex, relaxedIndex, reachCost);
+			workspace.queue().decreaseKey(adjacentIndex, reachCost);
+			if (statistics != null) {
+				statistics.decreasedKey();
+			}
+		}
+	}
+
+	private Optional<Route<E>> createRoute(final E target) {
+		final int index = target.id().index();
+		if (!workspace.isReached(index)) {
+			return Optional.empty();
+		}
+		final List<E> result = new ArrayList<>();
+		for (int current = index; current != NO_PREDECESSOR; current = workspace.predecessor(current)) {
+			result.add(edge(current));
+		}
+		Collections.reverse(result);
+		return Optional.of(new Route<>(result));
+	}
+
+	@SuppressWarnings("unchecked")
+	private E edge(final int index) {
+		return (E) workspace.edge(index);
+	}
+}
@@ -0,0 +1,92 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * This class finds all edges reachable within a cost budget, i.e. whose reach cost (see {@code Dijkstra}) does not
+ * exceed it.
+ *
+ * Each query runs an {@code IndexedDijkstra} bounded by the budget (see {@code IndexedDijkstra.setMaxCost}), so the
+ * queue only ever holds edges within the budget and the search ends when it runs empty.  Turn restrictions and
+ * statistics listener are passed on to it.  The result is read from the touched entries of the
+ * {@code DijkstraWorkspace} into primitive arrays.
+ *
+ * An instance is thread-safe given a thread-safe workspace provider, by default one workspace per thread, so many
+ * isochrones can be computed concurrently over one shared graph.  It has to be configured before it is shared.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public class Isochrone<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> {
+
+	private final Graph<E, I> graph;
+
+	private final Supplier<DijkstraWorkspace> workspaces;
+
+	private TurnRestrictions turnRestrictions = TurnRestrictions.NONE;
+
+	private SearchStatisticsListener statisticsListener;
+
+	public Isochrone(final Graph<E, I> graph) {
+		this(graph, DijkstraWorkspaces.threadLocal());
+	}
+
+	/**
+	 * @param graph      {@code Graph} to search, only read.
+	 * @param workspaces provides a {@code DijkstraWorkspace} not used by any other query at the same time.
+	 */
+	public Isochrone(final Graph<E, I> graph, final Supplier<DijkstraWorkspace> workspaces) {
+		this.graph = Objects.requireNonNull(graph);
+		this.workspaces = Objects.requireNonNull(workspaces);
+	}
+
+	/**
+	 * Sets the turn bans and costs to apply, {@code TurnRestrictions.NONE} by default.
+	 */
+	public void setTurnRestrictions(final TurnRestrictions turnRestrictions) {
+		this.turnRestrictions = Objects.requireNonNull(turnRestrictions);
+	}
+
+	/**
+	 * Sets the listener notified with the statistics of each query, concurrently if queries are.
+	 *
+	 * @param statisticsListener {@code SearchStatisticsListener}, {@code null} to disable collecting statistics.
+	 */
+	public void setStatisticsListener(final SearchStatisticsListener statisticsListener) {
+		this.statisticsListener = statisticsListener;
+	}
+
+	/**
+	 * Finds the edges reachable from the starts within the budget, including the starts themselves.
+	 *
+	 * @param budget maximum reach cost, non-negative.
+	 * @param starts varargs of start {@code Edge}s.
+	 * @return new {@code IsochroneResult}.
+	 */
+	@SafeVarargs
+	@SuppressWarnings("varargs") // IndexedDijkstra.run only reads the starts
+	public final IsochroneResult compute(final double budget, final E... starts) {
+		if (!(budget >= 0.0D)) {
+			throw new IllegalArgumentException("budget must be non-negative: " + budget);
+		}
+		final DijkstraWorkspace workspace = workspaces.get();
+		final IndexedDijkstra<E, I> dijkstra = new IndexedDijkstra<>(graph, workspace);
+		dijkstra.setMaxCost(budget);
+		dijkstra.setTurnRestrictions(turnRestrictions);
+		dijkstra.setStatisticsListener(statisticsListener);
+		dijkstra.run(starts);
+		final int count = workspace.touchedCount();
+		final int[] indices = new int[count];
+		final double[] costs = new double[count];
+		for (int position = 0; position < count; position++) {
+			indices[position] = workspace.touched(position);
+			costs[position] = workspace.reachCost(indices[position]);
+		}
+		return new IsochroneResult(indices, costs);
+	}
+}
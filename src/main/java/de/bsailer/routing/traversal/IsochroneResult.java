@@ -0,0 +1,61 @@
+package de.bsailer.routing.traversal;
+
+import java.util.Arrays;
+
+/**
+ * Edges reachable within the budget of an {@code Isochrone} query, as parallel arrays of edge indices and reach costs
+ * in the order the edges were reached.
+ */
+public final class IsochroneResult {
+
+	private final int[] indices;
+
+	private final double[] costs;
+
+	IsochroneResult(final int[] indices, final double[] costs) {
+		this.indices = indices;
+		this.costs = costs;
+	}
+
+	/**
+	 * Number of reachable edges.
+	 */
+	public int size() {
+		return indices.length;
+	}
+
+	/**
+	 * Edge index of the {@code position}-th reachable edge.
+	 */
+	public int index(final int position) {
+		return indices[position];
+	}
+
+	/**
+	 * Reach cost of the {@code position}-th reachable edge.
+	 */
+	public double cost(final int position) {
+		return costs[position];
+	}
+
+	/**
+	 * Copy of all edge indices.
+	 */
+	public int[] indices() {
+		return indices.clone();
+	}
+
+	/**
+	 * Copy of all reach costs, in the order of {@code indices()}.
+	 */
+	public double[] costs() {
+		return costs.clone();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{size=" + indices.length + ", indices="
+				+ Arrays.toString(Arrays.copyOf(indices, Math.min(indices.length, 10)))
+				+ (indices.length > 10 ? "..." : "") + "}";
+	}
+}
@@ -0,0 +1,233 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.factory.ReverseGraphFactory;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * {@code Heuristic} based on landmarks and the triangle inequality (ALT), for graphs without location information.
+ *
+ * For each landmark the preprocessing computes the costs from the landmark to every edge and from every edge to the
+ * landmark, so that {@code cost(edge, target) >= cost(landmark, target) - cost(landmark, edge)} and
+ * {@code cost(edge, target) >= cost(edge, landmark) - cost(target, landmark)}; the estimate is the largest of these
+ * bounds.  Costs are reach costs as in {@code Dijkstra}.
+ *
+ * Landmarks are selected farthest-first: each next landmark is the edge with the largest round-trip cost to its
+ * nearest landmark so far, edges unreachable from all landmarks first.  The two searches per landmark run in parallel.
+ * Costs are stored as floats, node-major so that all landmarks of an edge are adjacent; estimates are reduced by the
+ * float rounding error, so they stay admissible and consistent up to that slack.
+ *
+ * Instances are immutable and can be shared by any number of query threads.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code IndexProvidingEdgeIdentifier}
+ */
+public final class LandmarkHeuristic<E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>>
+		implements Heuristic<E> {
+
+	private final int[] landmarks;
+
+	private final int indexCount;
+
+	/*
+	 * costs from landmark l to edge index i at [i * landmarks.length + l], and vice versa.
+	 */
+	private final float[] fromLandmarks;
+
+	private final float[] toLandmarks;
+
+	private LandmarkHeuristic(final int[] landmarks, final int indexCount, final float[] fromLandmarks,
+							  final float[] toLandmarks) {
+		this.landmarks = landmarks;
+		this.indexCount = indexCount;
+		this.fromLandmarks = fromLandmarks;
+		this.toLandmarks = toLandmarks;
+	}
+
+	/**
+	 * Preprocesses using the common {@code ForkJoinPool}.
+	 *
+	 * @param graph         {@code EnumerableGraph} the heuristic is used for.
+	 * @param landmarkCount number of landmarks, positive.
+	 * @return new {@code LandmarkHeuristic}.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> LandmarkHeuristic<E, I> create(
+			final EnumerableGraph<E, I> graph, final int landmarkCount) {
+		return create(graph, landmarkCount, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Preprocesses.
+	 *
+	 * @param graph         {@code EnumerableGraph} the heuristic is used for.
+	 * @param landmarkCount number of landmarks, positive.
+	 * @param pool          {@code ForkJoinPool} running the searches.
+	 * @return new {@code LandmarkHeuristic}.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> LandmarkHeuristic<E, I> create(
+			final EnumerableGraph<E, I> graph, final int landmarkCount, final ForkJoinPool pool) {
+		if (landmarkCount <= 0) {
+			throw new IllegalArgumentException("landmarkCount must be positive: " + landmarkCount);
+		}
+		final List<E> edges = new ArrayList<>();
+		graph.forEachEdge(edge -> {
+			final int index = edge.id().index();
+			while (edges.size() <= index) {
+				edges.add(null);
+			}
+			edges.set(index, edge);
+		});
+		final int indexCount = edges.size();
+		final Graph<E, I> reverseGraph = ReverseGraphFactory.createReverseGraph(graph);
+		final int count = Math.min(landmarkCount, (int) edges.stream().filter(e -> e != null).count());
+		final int[] landmarks = new int[count];
+		final float[] fromLandmarks = new float[indexCount * count];
+		final float[] toLandmarks = new float[indexCount * count];
+		final double[] nearestRoundTrip = new double[indexCount];
+		Arrays.fill(nearestRoundTrip, Double.POSITIVE_INFINITY);
+		int next = farthest(costs(graph, edges, firstEdge(edges)), edges, -1);
+		for (int l = 0; l < count; l++) {
+			landmarks[l] = next;
+			final E landmark = edges.get(next);
+			final List<double[]> tables = invokeAll(pool, List.of(
+					() -> costs(graph, edges, landmark),
+					() -> costs(reverseGraph, edges, landmark)));
+			for (int index = 0; index < indexCount; index++) {
+				final double from = tables.get(0)[index];
+				final double to = reverseCost(tables.get(1)[index], edges.get(index), landmark);
+				fromLandmarks[index * count + l] = (float) from;
+				toLandmarks[index * count + l] = (float) to;
+				nearestRoundTrip[index] = Math.min(nearestRoundTrip[index], from + to);
+			}
+			for (int chosen = 0; chosen <= l; chosen++) {
+				nearestRoundTrip[landmarks[chosen]] = -1.0D;
+			}
+			next = farthest(nearestRoundTrip, edges, next);
+		}
+		return new LandmarkHeuristic<>(landmarks, indexCount, fromLandmarks, toLandmarks);
+	}
+
+	/**
+	 * Number of landmarks.
+	 */
+	public int landmarkCount() {
+		return landmarks.length;
+	}
+
+	/**
+	 * Edge index of a landmark.
+	 */
+	public int landmark(final int landmark) {
+		return landmarks[landmark];
+	}
+
+	@Override
+	public double estimate(final E edge, final E target) {
+		final int index = edge.id().index();
+		final int targetIndex = target.id().index();
+		if (index >= indexCount || targetIndex >= indexCount) {
+			return 0.0D;
+		}
+		final int count = landmarks.length;
+		final int edgeOffset = index * count;
+		final int targetOffset = targetIndex * count;
+		double result = 0.0D;
+		for (int l = 0; l < count; l++) {
+			final double forward = bound(fromLandmarks[targetOffset + l], fromLandmarks[edgeOffset + l]);
+			if (forward > result) {
+				result = forward;
+			}
+			final double backward = bound(toLandmarks[edgeOffset + l], toLandmarks[targetOffset + l]);
+			if (backward > result) {
+				result = backward;
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * minuend - subtrahend reduced by the possible rounding error of both floats; NaN for two infinite costs, which
+	 * is ignored by the comparisons of estimate.
+	 */
+	private static double bound(final float minuend, final float subtrahend) {
+		return ((double) minuend - subtrahend) - Math.ulp(minuend) - Math.ulp(subtrahend);
+	}
+
+	/*
+	 * The reverse search from the landmark yields for each edge the cost from its end (the start of the adjacents) to
+	 * the start of the landmark plus the landmark's weight; converted to the reach cost of the landmark.
+	 */
+	private static <E extends Edge<?>> double reverseCost(final double reverseReachCost, final E edge,
+														  final E landmark) {
+		if (edge == null || Double.isInfinite(reverseReachCost)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (edge == landmark) {
+			return 0.0D;
+		}
+		return reverseReachCost - landmark.weight() + edge.weight();
+	}
+
+	private static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> double[] costs(
+			final Graph<E, I> graph, final List<E> edges, final E start) {
+		final DijkstraWorkspace workspace = new DijkstraWorkspace();
+		new IndexedDijkstra<>(graph, workspace).run(start);
+		final double[] result = new double[edges.size()];
+		Arrays.fill(result, Double.POSITIVE_INFINITY);
+		for (int position = 0; position < workspace.touchedCount(); position++) {
+			final int index = workspace.touched(position);
+			result[index] = workspace.reachCost(index);
+		}
+		return result;
+	}
+
+	private static <E> E firstEdge(final List<E> edges) {
+		return edges.stream().filter(e -> e != null).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("graph has no edges"));
+	}
+
+	/*
+	 * index of the existing edge with the largest cost, unreachable (infinite) ones first; fallback if none is left.
+	 */
+	private static int farthest(final double[] costs, final List<?> edges, final int fallback) {
+		int result = fallback;
+		double largest = -1.0D;
+		for (int index = 0; index < costs.length; index++) {
+			if (edges.get(index) != null && costs[index] > largest) {
+				largest = costs[index];
+				result = index;
+			}
+		}
+		return result;
+	}
+
+	private static <T> List<T> invokeAll(final ForkJoinPool pool, final List<Callable<T>> tasks) {
+		final List<T> result = new ArrayList<>(tasks.size());
+		try {
+			for (final Future<T> future : pool.invokeAll(tasks)) {
+				result.add(future.get());
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("landmark preprocessing interrupted", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("landmark preprocessing failed", e.getCause());
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{landmarks=" + Arrays.toString(landmarks) + "}";
+	}
+}
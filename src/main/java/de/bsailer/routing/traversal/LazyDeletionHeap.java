@@ -0,0 +1,140 @@
+package de.bsailer.routing.traversal;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Array-based binary min-heap implementation of {@code DijkstraQueue} without position tracking.
+ *
+ * {@code decreaseKey} pushes a second entry for the slot instead of moving the existing one, outdated entries are
+ * skipped when they reach the top.  This trades heap size for cheaper decrease-keys.
+ */
+public class LazyDeletionHeap implements DijkstraQueue {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] heapSlots = new int[INITIAL_CAPACITY];
+
+	private double[] heapKeys = new double[INITIAL_CAPACITY];
+
+	/*
+	 * current key per slot, NaN if not contained.
+	 */
+	private double[] currentKeys = new double[0];
+
+	private int size;
+
+	private int contained;
+
+	@Override
+	public void insert(final int slot, final double key) {
+		ensureSlot(slot);
+		if (!Double.isNaN(currentKeys[slot])) {
+			throw new IllegalStateException("slot " + slot + " is already contained");
+		}
+		contained++;
+		push(slot, key);
+	}
+
+	@Override
+	public void decreaseKey(final int slot, final double key) {
+		if (!contains(slot)) {
+			throw new IllegalStateException("slot " + slot + " is not contained");
+		}
+		push(slot, key);
+	}
+
+	@Override
+	public int poll() {
+		while (size > 0) {
+			final int slot = heapSlots[0];
+			final double key = heapKeys[0];
+			removeTop();
+			if (currentKeys[slot] == key) {
+				currentKeys[slot] = Double.NaN;
+				contained--;
+				return slot;
+			}
+		}
+		throw new NoSuchElementException("heap is empty");
+	}
+
+	@Override
+	public boolean contains(final int slot) {
+		return slot < currentKeys.length && !Double.isNaN(currentKeys[slot]);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return contained == 0;
+	}
+
+	/**
+	 * Clears in {@code O(size)}, i.e. proportional to the entries (including outdated ones) still in the heap.
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			currentKeys[heapSlots[i]] = Double.NaN;
+		}
+		size = 0;
+		contained = 0;
+	}
+
+	private void push(final int slot, final double key) {
+		currentKeys[slot] = key;
+		if (size == heapSlots.length) {
+			heapSlots = Arrays.copyOf(heapSlots, size * 2);
+			heapKeys = Arrays.copyOf(heapKeys, size * 2);
+		}
+		int position = size++;
+		while (position > 0) {
+			final int parent = (position - 1) >>> 1;
+			if (heapKeys[parent] <= key) {
+				break;
+			}
+			heapSlots[position] = heapSlots[parent];
+			heapKeys[position] = heapKeys[parent];
+			position = parent;
+		}
+		heapSlots[position] = slot;
+		heapKeys[position] = key;
+	}
+
+	private void removeTop() {
+		size--;
+		final int slot = heapSlots[size];
+		final double key = heapKeys[size];
+		int position = 0;
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+			if (heapKeys[child] >= key) {
+				break;
+			}
+			heapSlots[position] = heapSlots[child];
+			heapKeys[position] = heapKeys[child];
+			position = child;
+		}
+		heapSlots[position] = slot;
+		heapKeys[position] = key;
+	}
+
+	private void ensureSlot(final int slot) {
+		if (slot >= currentKeys.length) {
+			final int oldLength = currentKeys.length;
+			currentKeys = Arrays.copyOf(currentKeys, Math.max(slot + 1, Math.max(INITIAL_CAPACITY, oldLength * 2)));
+			Arrays.fill(currentKeys, oldLength, currentKeys.length, Double.NaN);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{size=" + size + ", contained=" + contained + "}";
+	}
+}
@@ -0,0 +1,35 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+
+/**
+ * Implementation of {@code DijkstraAborter} that aborts when the reach cost of the current {@code Edge} exceeds a
+ * maximum, i.e. all edges reachable within the maximum cost have been settled.
+ *
+ * This relies on edges being settled in order of their reach cost, as done by {@code Dijkstra} but not by
+ * {@code AStar}.
+ *
+ * @param <E> concrete type of the {@code Edge}
+ */
+public class MaxCostDijkstraAborter<E extends Edge<?>> implements DijkstraAborter<E> {
+
+	private final double maxCost;
+
+	public MaxCostDijkstraAborter(final double maxCost) {
+		this.maxCost = maxCost;
+	}
+
+	/**
+	 * Without reach cost there is no criterion, so the run continues.
+	 */
+	@Override
+	public boolean abort(final E current) {
+		return false;
+	}
+
+	@Override
+	public boolean abort(final E current, final double reachCost) {
+		return reachCost > maxCost;
+	}
+
+}
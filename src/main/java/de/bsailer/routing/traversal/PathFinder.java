@@ -0,0 +1,34 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Route;
+
+import java.util.Optional;
+
+/**
+ * Implementors of this interface answer point-to-point queries within a {@code Graph}.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public interface PathFinder<E extends Edge<I>, I extends EdgeIdentifier<I>> {
+
+	/**
+	 * Retrieves the shortest {@code Route} from start to target.
+	 *
+	 * @param start  {@code Edge}
+	 * @param target {@code Edge}
+	 * @return {@code Optional<Route>}, which is empty in case target cannot be reached.
+	 */
+	Optional<Route<E>> pathFromTo(E start, E target);
+
+	/**
+	 * Retrieves the cost of the shortest {@code Route} from start to target, i.e. the reach cost of target.
+	 *
+	 * @param start  {@code Edge}
+	 * @param target {@code Edge}
+	 * @return cost, which is {@code Double.POSITIVE_INFINITY} in case target cannot be reached.
+	 */
+	Double costFromTo(E start, E target);
+}
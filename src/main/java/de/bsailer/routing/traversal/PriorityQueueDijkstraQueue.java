@@ -0,0 +1,77 @@
+package de.bsailer.routing.traversal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * {@code DijkstraQueue} implementation based on {@code java.util.PriorityQueue}.
+ *
+ * {@code decreaseKey} removes and re-adds the entry, which is a linear scan over the queue.  This is the behaviour
+ * {@code Dijkstra} originally had and is kept as baseline for comparisons.
+ */
+public class PriorityQueueDijkstraQueue implements DijkstraQueue {
+
+	private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+	private final Map<Integer, Entry> entries = new HashMap<>();
+
+	@Override
+	public void insert(final int slot, final double key) {
+		if (entries.containsKey(slot)) {
+			throw new IllegalStateException("slot " + slot + " is already contained");
+		}
+		offer(new Entry(slot, key));
+	}
+
+	@Override
+	public void decreaseKey(final int slot, final double key) {
+		final Entry original = entries.get(slot);
+		if (original == null) {
+			throw new IllegalStateException("slot " + slot + " is not contained");
+		}
+		queue.remove(original);
+		offer(new Entry(slot, key));
+	}
+
+	@Override
+	public int poll() {
+		final Entry entry = queue.remove();
+		entries.remove(entry.slot());
+		return entry.slot();
+	}
+
+	@Override
+	public boolean contains(final int slot) {
+		return entries.containsKey(slot);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		queue.clear();
+		entries.clear();
+	}
+
+	private void offer(final Entry entry) {
+		queue.offer(entry);
+		entries.put(entry.slot(), entry);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{size=" + queue.size() + "}";
+	}
+
+	private record Entry(int slot, double key) implements Comparable<Entry> {
+
+		@Override
+		public int compareTo(final Entry o) {
+			return Double.compare(key, o.key);
+		}
+	}
+}
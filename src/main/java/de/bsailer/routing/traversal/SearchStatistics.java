@@ -0,0 +1,127 @@
+package de.bsailer.routing.traversal;
+
+/**
+ * Counters of one search of a {@code Dijkstra} or {@code IndexedDijkstra}, passed to a
+ * {@code SearchStatisticsListener} when the search has finished.
+ *
+ * Counted are settled edges (polled from the queue), relaxations (adjacents examined), decrease-keys, the peak number
+ * of queued edges, the time spent retrieving the adjacents from the graph (excluding their relaxation) and the total
+ * duration of the search.  While statistics are collected, adjacents are retrieved as lists via
+ * {@code Graph.adjacents}, so that graph access can be timed apart from the search.
+ *
+ * An instance belongs to its traversal and is reused by the next search, so listeners have to copy the values they
+ * keep (e.g. with {@code snapshot()}).  Not thread-safe.
+ */
+public final class SearchStatistics {
+
+	private long settledCount;
+
+	private long relaxationCount;
+
+	private long decreaseKeyCount;
+
+	private int queueSize;
+
+	private int peakQueueSize;
+
+	private long adjacencyNanos;
+
+	private long startNanos;
+
+	private long durationNanos;
+
+	public long settledCount() {
+		return settledCount;
+	}
+
+	public long relaxationCount() {
+		return relaxationCount;
+	}
+
+	public long decreaseKeyCount() {
+		return decreaseKeyCount;
+	}
+
+	/**
+	 * Largest number of edges in the queue at the same time.
+	 */
+	public int peakQueueSize() {
+		return peakQueueSize;
+	}
+
+	/**
+	 * Time spent in {@code Graph.adjacents}, i.e. graph access without the relaxation of the adjacents, in
+	 * nanoseconds.
+	 */
+	public long adjacencyNanos() {
+		return adjacencyNanos;
+	}
+
+	/**
+	 * Duration of the whole search, in nanoseconds.
+	 */
+	public long durationNanos() {
+		return durationNanos;
+	}
+
+	/**
+	 * Copies the current values into a new instance.
+	 */
+	public SearchStatistics snapshot() {
+		final SearchStatistics result = new SearchStatistics();
+		result.settledCount = settledCount;
+		result.relaxationCount = relaxationCount;
+		result.decreaseKeyCount = decreaseKeyCount;
+		result.queueSize = queueSize;
+		result.peakQueueSize = peakQueueSize;
+		result.adjacencyNanos = adjacencyNanos;
+		result.startNanos = startNanos;
+		result.durationNanos = durationNanos;
+		return result;
+	}
+
+	void start() {
+		settledCount = 0L;
+		relaxationCount = 0L;
+		decreaseKeyCount = 0L;
+		queueSize = 0;
+		peakQueueSize = 0;
+		adjacencyNanos = 0L;
+		durationNanos = 0L;
+		startNanos = System.nanoTime();
+	}
+
+	void finish() {
+		durationNanos = System.nanoTime() - startNanos;
+	}
+
+	void queued() {
+		if (++queueSize > peakQueueSize) {
+			peakQueueSize = queueSize;
+		}
+	}
+
+	void settled() {
+		queueSize--;
+		settledCount++;
+	}
+
+	void relaxed() {
+		relaxationCount++;
+	}
+
+	void decreasedKey() {
+		decreaseKeyCount++;
+	}
+
+	void addAdjacencyNanos(final long nanos) {
+		adjacencyNanos += nanos;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{settled=" + settledCount + ", relaxations=" + relaxationCount
+				+ ", decreaseKeys=" + decreaseKeyCount + ", peakQueueSize=" + peakQueueSize
+				+ ", adjacencyNanos=" + adjacencyNanos + ", durationNanos=" + durationNanos + "}";
+	}
+}
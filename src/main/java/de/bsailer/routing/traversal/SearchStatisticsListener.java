@@ -0,0 +1,17 @@
+package de.bsailer.routing.traversal;
+
+/**
+ * Implementors of this interface are notified with the {@code SearchStatistics} of each finished search of a
+ * traversal they are set to, e.g. to log or alert on search space blow-ups.  Collecting statistics is disabled as long
+ * as no listener is set.
+ *
+ * Listeners are called on the searching thread; one listener may be set to traversals of several threads.
+ */
+@FunctionalInterface
+public interface SearchStatisticsListener {
+
+	/**
+	 * @param statistics counters of the finished search, reused by the next search of the traversal.
+	 */
+	void searchFinished(SearchStatistics statistics);
+}
@@ -0,0 +1,34 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.LocatedEdge;
+
+/**
+ * {@code Heuristic} estimating the cost by the straight-line distance between the edge starts divided by a maximum
+ * speed, i.e. the minimum weight per distance unit.
+ *
+ * The estimate is consistent as long as no edge weight falls below the distance between its start and end divided by
+ * the maximum speed.
+ *
+ * @param <E> concrete type of {@code LocatedEdge}
+ */
+@SuppressWarnings("ClassCanBeRecord")
+public class StraightLineHeuristic<E extends LocatedEdge<?>> implements Heuristic<E> {
+
+	private final double maxSpeed;
+
+	/**
+	 * @param maxSpeed maximum distance covered per weight unit, positive.
+	 */
+	public StraightLineHeuristic(final double maxSpeed) {
+		if (!(maxSpeed > 0.0D)) {
+			throw new IllegalArgumentException("maxSpeed must be positive: " + maxSpeed);
+		}
+		this.maxSpeed = maxSpeed;
+	}
+
+	@Override
+	public double estimate(final E edge, final E target) {
+		return edge.start().distance(target.start()) / maxSpeed;
+	}
+
+}
@@ -0,0 +1,255 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Index of the strongly connected components of a graph, answering for most unreachable targets in constant time
+ * that they cannot be reached, without any search.
+ *
+ * As in {@code Dijkstra} edges are the nodes and adjacencies the arcs.  The components are computed by Tarjan's
+ * algorithm, iteratively with explicit stacks in arrays, so graphs of any size and depth can be processed.  Tarjan
+ * completes a component only after all components reachable from it, so component numbers decrease along any arc
+ * between components (reverse topological order).  Additionally it is recorded which components are left by or
+ * entered by arcs at all.
+ *
+ * {@code mayReach} is exact for edges of the same component and for targets excluded by the topological order or a
+ * component without connections in the right direction; otherwise a search has to decide.  Restricting the graph
+ * afterwards (e.g. by turn bans) only removes routes, so negative answers stay correct.
+ *
+ * Instances are immutable and can be shared by any number of query threads.
+ */
+public final class StronglyConnectedComponents {
+
+	private static final int UNSEEN = -1;
+
+	/*
+	 * component of each edge index, -1 for unused indices.
+	 */
+	private final int[] components;
+
+	private final int[] componentSizes;
+
+	private final BitSet left;
+
+	private final BitSet entered;
+
+	private StronglyConnectedComponents(final int[] components, final int[] componentSizes, final BitSet left,
+										final BitSet entered) {
+		this.components = components;
+		this.componentSizes = componentSizes;
+		this.left = left;
+		this.entered = entered;
+	}
+
+	/**
+	 * Computes the components of a graph.
+	 *
+	 * @param graph {@code EnumerableGraph} to index.
+	 * @return new {@code StronglyConnectedComponents}.
+	 */
+	public static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> StronglyConnectedComponents create(
+			final EnumerableGraph<E, I> graph) {
+		final Arcs arcs = Arcs.of(graph);
+		final int indexCount = arcs.indexCount();
+		final int[] components = new int[indexCount];
+		Arrays.fill(components, UNSEEN);
+		final int[] order = new int[indexCount];
+		Arrays.fill(order, UNSEEN);
+		final int[] lowLinks = new int[indexCount];
+		final int[] stack = new int[indexCount];
+		final int[] callIndices = new int[indexCount];
+		final int[] callPositions = new int[indexCount];
+		int stackSize = 0;
+		int visited = 0;
+		int componentCount = 0;
+		for (int root = 0; root < indexCount; root++) {
+			if (!arcs.exists(root) || order[root] != UNSEEN) {
+				continue;
+			}
+			int callDepth = 0;
+			order[root] = lowLinks[root] = visited++;
+			stack[stackSize++] = root;
+			callIndices[callDepth] = root;
+			callPositions[callDepth++] = arcs.begin(root);
+			while (callDepth > 0) {
+				final int index = callIndices[callDepth - 1];
+				final int position = callPositions[callDepth - 1];
+				if (position < arcs.end(index)) {
+					callPositions[callDepth - 1] = position + 1;
+					final int next = arcs.target(position);
+					if (order[next] == UNSEEN) {
+						order[next] = lowLinks[next] = visited++;
+						stack[stackSize++] = next;
+						callIndices[callDepth] = next;
+						callPositions[callDepth++] = arcs.begin(next);
+					} else if (components[next] == UNSEEN && order[next] < lowLinks[index]) {
+						// still on the stack, i.e. within the current component
+						lowLinks[index] = order[next];
+					}
+				} else {
+					callDepth--;
+					if (lowLinks[index] == order[index]) {
+						int member;
+						do {
+							member = stack[--stackSize];
+							components[member] = componentCount;
+						} while (member != index);
+						componentCount++;
+					}
+					if (callDepth > 0) {
+						final int caller = callIndices[callDepth - 1];
+						lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[index]);
+					}
+				}
+			}
+		}
+		final int[] componentSizes = new int[componentCount];
+		final BitSet left = new BitSet(componentCount);
+		final BitSet entered = new BitSet(componentCount);
+		for (int index = 0; index < indexCount; index++) {
+			if (components[index] == UNSEEN) {
+				continue;
+			}
+			componentSizes[components[index]]++;
+			for (int position = arcs.begin(index); position < arcs.end(index); position++) {
+				final int next = arcs.target(position);
+				if (components[next] != components[index]) {
+					left.set(components[index]);
+					entered.set(components[next]);
+				}
+			}
+		}
+		return new StronglyConnectedComponents(components, componentSizes, left, entered);
+	}
+
+	/**
+	 * Tells whether the target may be reachable from the start.
+	 *
+	 * @param startIndex  index of the start edge.
+	 * @param targetIndex index of the target edge.
+	 * @return {@code false} if the target is not reachable for sure, {@code true} if it is reachable for sure (same
+	 * component) or might be.
+	 */
+	public boolean mayReach(final int startIndex, final int targetIndex) {
+		if (startIndex == targetIndex) {
+			return true;
+		}
+		final int start = component(startIndex);
+		final int target = component(targetIndex);
+		if (start == UNSEEN || target == UNSEEN) {
+			return false;
+		}
+		return start == target || start > target && left.get(start) && entered.get(target);
+	}
+
+	/**
+	 * Component of an edge index, {@code -1} for unused indices.  Components are numbered in reverse
+	 * topological order: arcs between components lead to lower numbers.
+	 */
+	public int component(final int index) {
+		return index >= 0 && index < components.length ? components[index] : UNSEEN;
+	}
+
+	public int componentCount() {
+		return componentSizes.length;
+	}
+
+	/**
+	 * Number of edges of a component.
+	 */
+	public int componentSize(final int component) {
+		return componentSizes[component];
+	}
+
+	/**
+	 * Number of the component with the most edges, {@code -1} for an empty graph.
+	 */
+	public int largestComponent() {
+		int result = UNSEEN;
+		for (int component = 0; component < componentSizes.length; component++) {
+			if (result == UNSEEN || componentSizes[component] > componentSizes[result]) {
+				result = component;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		final int largest = largestComponent();
+		return getClass().getSimpleName() + "{components=" + componentCount() + ", largest="
+				+ (largest == UNSEEN ? 0 : componentSizes[largest]) + "}";
+	}
+
+	/*
+	 * adjacency of a graph as successor indices, arcs of index i at targets[begins[i]] to targets[ends[i]] (exclusive).
+	 */
+	private static final class Arcs {
+
+		private int[] begins = new int[16];
+		private int[] ends = new int[16];
+		private int[] targets = new int[64];
+		private final BitSet existing = new BitSet();
+		private int size;
+		private int indexCount;
+
+		static <E extends Edge<I>, I extends IndexProvidingEdgeIdentifier<I>> Arcs of(final EnumerableGraph<E, I> graph) {
+			final Arcs result = new Arcs();
+			graph.forEachEdge(edge -> {
+				final int index = edge.id().index();
+				result.open(index);
+				graph.forEachAdjacent(edge.id(), adjacent -> result.add(adjacent.id().index()));
+				result.ends[index] = result.size;
+			});
+			return result;
+		}
+
+		private void open(final int index) {
+			if (index >= begins.length) {
+				final int capacity = Math.max(index + 1, begins.length * 2);
+				begins = Arrays.copyOf(begins, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+			}
+			begins[index] = size;
+			existing.set(index);
+			indexCount = Math.max(indexCount, index + 1);
+		}
+
+		private void add(final int target) {
+			if (size == targets.length) {
+				targets = Arrays.copyOf(targets, size * 2);
+			}
+			targets[size++] = target;
+			indexCount = Math.max(indexCount, target + 1);
+		}
+
+		int indexCount() {
+			if (begins.length < indexCount) {
+				begins = Arrays.copyOf(begins, indexCount);
+				ends = Arrays.copyOf(ends, indexCount);
+			}
+			return indexCount;
+		}
+
+		boolean exists(final int index) {
+			return existing.get(index);
+		}
+
+		int begin(final int index) {
+			return begins[index];
+		}
+
+		int end(final int index) {
+			return ends[index];
+		}
+
+		int target(final int position) {
+			return targets[position];
+		}
+	}
+}
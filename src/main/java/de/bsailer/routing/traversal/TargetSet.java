@@ -0,0 +1,123 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of target {@code Edge}s with constant-time membership, plus a settled state per target for one run.  Backed by
+ * {@code BitSet}s if all ids provide an index, by hash sets of ids otherwise.  Negative indices are rejected.
+ */
+abstract class TargetSet<E extends Edge<?>> {
+
+	static <E extends Edge<?>> TargetSet<E> of(final Collection<? extends E> targets) {
+		if (targets.isEmpty()) {
+			throw new IllegalArgumentException("no targets");
+		}
+		for (final E target : targets) {
+			if (!(target.id() instanceof IndexProvidingEdgeIdentifier)) {
+				return new HashTargetSet<>(targets);
+			}
+		}
+		return new IndexTargetSet<>(targets);
+	}
+
+	abstract boolean contains(E edge);
+
+	/**
+	 * Marks a target as settled.
+	 *
+	 * @return true if the edge is a target not settled before.
+	 */
+	abstract boolean settle(E edge);
+
+	abstract void clearSettled();
+
+	/**
+	 * Number of distinct targets.
+	 */
+	abstract int size();
+
+	private static int index(final Edge<?> edge) {
+		return ((IndexProvidingEdgeIdentifier<?>) edge.id()).index();
+	}
+
+	private static final class IndexTargetSet<E extends Edge<?>> extends TargetSet<E> {
+
+		private final BitSet targets = new BitSet();
+		private final BitSet settled = new BitSet();
+		private final int size;
+
+		private IndexTargetSet(final Collection<? extends E> targets) {
+			for (final E target : targets) {
+				final int index = index(target);
+				if (index < 0) {
+					throw new IllegalArgumentException("negative index of target " + target);
+				}
+				this.targets.set(index);
+			}
+			this.size = this.targets.cardinality();
+		}
+
+		@Override
+		boolean contains(final E edge) {
+			final int index = index(edge);
+			return index >= 0 && targets.get(index);
+		}
+
+		@Override
+		boolean settle(final E edge) {
+			if (!contains(edge) || settled.get(index(edge))) {
+				return false;
+			}
+			settled.set(index(edge));
+			return true;
+		}
+
+		@Override
+		void clearSettled() {
+			settled.clear();
+		}
+
+		@Override
+		int size() {
+			return size;
+		}
+	}
+
+	private static final class HashTargetSet<E extends Edge<?>> extends TargetSet<E> {
+
+		private final Set<Object> targets = new HashSet<>();
+		private final Set<Object> settled = new HashSet<>();
+
+		private HashTargetSet(final Collection<? extends E> targets) {
+			for (final E target : targets) {
+				this.targets.add(target.id());
+			}
+		}
+
+		@Override
+		boolean contains(final E edge) {
+			return targets.contains(edge.id());
+		}
+
+		@Override
+		boolean settle(final E edge) {
+			return contains(edge) && settled.add(edge.id());
+		}
+
+		@Override
+		void clearSettled() {
+			settled.clear();
+		}
+
+		@Override
+		int size() {
+			return targets.size();
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.EdgeIdentifier;
+import de.bsailer.routing.model.Route;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementors of this interface find shortest paths within a {@code Graph} following the workflow described at
+ * {@code Dijkstra}, so that the implementations can be swapped behind the same API.
+ *
+ * @param <E> concrete type of {@code Edge}
+ * @param <I> concrete type of {@code EdgeIdentifier}
+ */
+public interface Traversal<E extends Edge<I>, I extends EdgeIdentifier<I>> extends PathFinder<E, I> {
+
+	void setAborter(DijkstraAborter<E> aborter);
+
+	@SuppressWarnings("unchecked")
+	void run(E... starts);
+
+	@SuppressWarnings("unchecked")
+	Map<I, Optional<Route<E>>> routes(E... targets);
+
+	@SuppressWarnings("unchecked")
+	Map<I, Double> costs(E... targets);
+}
@@ -0,0 +1,156 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.IndexProvidingEdgeIdentifier;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Turn bans and turn costs between pairs of adjacent edges, checked by {@code IndexedDijkstra} while relaxing.
+ *
+ * In the edge-based model a turn is the step from an edge to one of its adjacents, so two-edge prohibitions can be
+ * enforced without expanding the graph: a banned turn is not relaxed, a turn cost is added to the reach cost of the
+ * adjacent.  Longer prohibited paths still need the transformation of {@code PathProhibitionGraph}; see
+ * {@code Builder.addProhibitedPath}.
+ *
+ * The turns are stored as a table of {@code (from, to)} index pairs packed into sorted {@code long}s with a parallel
+ * cost array, plus a bit set of the edges having any turn entry, so relaxing from other edges costs one bit test and
+ * the others a binary search.  Instances are immutable and can be shared by any number of query threads.
+ */
+public final class TurnRestrictions {
+
+	/**
+	 * No restrictions, the default of {@code IndexedDijkstra}.
+	 */
+	public static final TurnRestrictions NONE = new Builder().build();
+
+	private final long[] turns;
+
+	private final double[] costs;
+
+	private final BitSet restrictedFroms;
+
+	private TurnRestrictions(final long[] turns, final double[] costs, final BitSet restrictedFroms) {
+		this.turns = turns;
+		this.costs = costs;
+		this.restrictedFroms = restrictedFroms;
+	}
+
+	/**
+	 * Checks if there are turn entries for an edge, i.e. if {@code turnCost} needs to be asked for its adjacents.
+	 */
+	public boolean restrictsFrom(final int fromIndex) {
+		return restrictedFroms.get(fromIndex);
+	}
+
+	/**
+	 * Determines the cost of turning from an edge to an adjacent.
+	 *
+	 * @return turn cost, {@code 0.0} without entry, {@code Double.POSITIVE_INFINITY} for banned turns.
+	 */
+	public double turnCost(final int fromIndex, final int toIndex) {
+		if (!restrictedFroms.get(fromIndex)) {
+			return 0.0D;
+		}
+		final int position = Arrays.binarySearch(turns, turn(fromIndex, toIndex));
+		return position < 0 ? 0.0D : costs[position];
+	}
+
+	/**
+	 * Number of turn entries.
+	 */
+	public int size() {
+		return turns.length;
+	}
+
+	private static long turn(final int fromIndex, final int toIndex) {
+		return ((long) fromIndex << Integer.SIZE) | (toIndex & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{turns=" + turns.length + "}";
+	}
+
+	/**
+	 * Collects turn entries; for several entries of the same turn the highest cost wins, so bans override costs.
+	 */
+	public static final class Builder {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private long[] turns = new long[INITIAL_CAPACITY];
+
+		private double[] costs = new double[INITIAL_CAPACITY];
+
+		private int size;
+
+		/**
+		 * Bans the turn from an edge to its adjacent.
+		 */
+		public Builder ban(final int fromIndex, final int toIndex) {
+			return turnCost(fromIndex, toIndex, Double.POSITIVE_INFINITY);
+		}
+
+		/**
+		 * Adds a cost for turning from an edge to its adjacent.
+		 *
+		 * @param cost non-negative cost, {@code Double.POSITIVE_INFINITY} for a ban.
+		 */
+		public Builder turnCost(final int fromIndex, final int toIndex, final double cost) {
+			if (fromIndex < 0 || toIndex < 0) {
+				throw new IllegalArgumentException("negative index in turn " + fromIndex + " -> " + toIndex);
+			}
+			if (!(cost >= 0.0D)) {
+				throw new IllegalArgumentException("turn cost must be non-negative: " + cost);
+			}
+			if (size == turns.length) {
+				turns = Arrays.copyOf(turns, size * 2);
+				costs = Arrays.copyOf(costs, size * 2);
+			}
+			turns[size] = turn(fromIndex, toIndex);
+			costs[size] = cost;
+			size++;
+			return this;
+		}
+
+		/**
+		 * Takes over a prohibited path if it is a simple turn of two edges.
+		 *
+		 * @param prohibitedPath edge ids of the prohibited path.
+		 * @return true if banned here, false if the path is longer and needs a {@code PathProhibitionGraph}.
+		 */
+		public boolean addProhibitedPath(final List<? extends IndexProvidingEdgeIdentifier<?>> prohibitedPath) {
+			if (prohibitedPath.size() != 2) {
+				return false;
+			}
+			ban(prohibitedPath.get(0).index(), prohibitedPath.get(1).index());
+			return true;
+		}
+
+		public TurnRestrictions build() {
+			final Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Long.compare(turns[a], turns[b]));
+			final long[] sortedTurns = new long[size];
+			final double[] sortedCosts = new double[size];
+			final BitSet restrictedFroms = new BitSet();
+			int count = 0;
+			for (final int i : order) {
+				if (count > 0 && sortedTurns[count - 1] == turns[i]) {
+					sortedCosts[count - 1] = Math.max(sortedCosts[count - 1], costs[i]);
+				} else {
+					sortedTurns[count] = turns[i];
+					sortedCosts[count] = costs[i];
+					restrictedFroms.set((int) (turns[i] >>> Integer.SIZE));
+					count++;
+				}
+			}
+			return new TurnRestrictions(Arrays.copyOf(sortedTurns, count), Arrays.copyOf(sortedCosts, count),
+					restrictedFroms);
+		}
+	}
+}
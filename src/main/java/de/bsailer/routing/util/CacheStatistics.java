@@ -0,0 +1,28 @@
+package de.bsailer.routing.util;
+
+/**
+ * Read-only view of the counters of a cache, for monitoring without access to the cached values.
+ */
+public interface CacheStatistics {
+
+	long hitCount();
+
+	long missCount();
+
+	long evictionCount();
+
+	/**
+	 * Share of hits of all requests, {@code 0.0} without requests.
+	 */
+	double hitRate();
+
+	/**
+	 * Total weight of the loaded values.
+	 */
+	long weight();
+
+	/**
+	 * Number of entries, including those being loaded.
+	 */
+	int size();
+}
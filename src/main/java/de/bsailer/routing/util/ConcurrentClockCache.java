@@ -0,0 +1,265 @@
+package de.bsailer.routing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe cache bounded by the total weight of its values, for many small, cheaply recomputed values read on hot
+ * paths, such as adjacency lists read on every relaxation.
+ *
+ * The keys are spread across segments, each with its own {@code ConcurrentHashMap}, lock and share of the maximum
+ * weight.  Reads of cached values are lock-free and only set the reference bit of the entry, so concurrent readers do
+ * not contend on shared state.  Each segment evicts with the CLOCK policy: its hand sweeps the entries of the segment,
+ * clearing set reference bits and evicting the first entry found without, which takes amortized constant time per
+ * insert under the lock of the segment only.  For few expensive values, like graph tiles, that must be loaded once,
+ * see {@code ConcurrentLruCache}.
+ *
+ * A missing value is computed by the thread asking for it, without holding a lock; threads missing the same key
+ * concurrently may compute it more than once, the first value stored is kept.  Hits, misses and evictions are
+ * counted, {@code statistics()} exposes them without access to the values.
+ *
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ */
+public class ConcurrentClockCache<K, V> {
+
+	/**
+	 * Minimum share of the maximum weight per segment, so segments hold some entries each.  A value heavier than the
+	 * share of its segment is still cached until the next eviction of the segment.
+	 */
+	public static final long MIN_SEGMENT_WEIGHT = 64L;
+
+	private static final int MAX_SEGMENTS = 64;
+
+	private final Segment<K, V>[] segments;
+
+	private final ToLongFunction<? super V> weigher;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/*
+	 * incremented by invalidateAll(), so values computed before are not stored afterwards.
+	 */
+	private volatile int generation;
+
+	private final CacheStatistics statistics = new Statistics();
+
+	/**
+	 * @param maxWeight maximum total weight of the cached values, positive.
+	 * @param weigher   weight of a value, non-negative.
+	 */
+	public ConcurrentClockCache(final long maxWeight, final ToLongFunction<? super V> weigher) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+		}
+		this.weigher = Objects.requireNonNull(weigher);
+		final int concurrency = Math.min(MAX_SEGMENTS, 4 * Runtime.getRuntime().availableProcessors());
+		final int segmentCount = Integer.highestOneBit((int) Math.max(1L, Math.min(concurrency,
+				maxWeight / MIN_SEGMENT_WEIGHT)));
+		@SuppressWarnings("unchecked")
+		final Segment<K, V>[] created = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			created[i] = new Segment<>(this, maxWeight / segmentCount);
+		}
+		this.segments = created;
+	}
+
+	/**
+	 * Retrieves the value for the key, computing it if not cached.
+	 *
+	 * @param key    key of the value.
+	 * @param loader computes the value for the key, must not return {@code null}.  Unchecked exceptions are passed on,
+	 *               the key is not cached then.
+	 * @return cached or computed value.
+	 */
+	public V get(final K key, final Function<? super K, ? extends V> loader) {
+		final Segment<K, V> segment = segment(key);
+		final Node<K, V> node = segment.entries.get(key);
+		if (node != null) {
+			hits.increment();
+			if (!node.referenced) {
+				node.referenced = true;
+			}
+			return node.value;
+		}
+		misses.increment();
+		final int loadGeneration = generation;
+		final V value = Objects.requireNonNull(loader.apply(key));
+		return segment.store(key, value, weigher.applyAsLong(value), loadGeneration);
+	}
+
+	/**
+	 * Removes all entries, e.g. after the source of the values changed.  Values being computed meanwhile are returned
+	 * to their threads but not cached.
+	 */
+	public synchronized void invalidateAll() {
+		generation++;
+		for (final Segment<K, V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Read-only view of the counters of this cache.
+	 */
+	public CacheStatistics statistics() {
+		return statistics;
+	}
+
+	private Segment<K, V> segment(final K key) {
+		final int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{segments=" + segments.length + ", size=" + statistics.size()
+				+ ", weight=" + statistics.weight() + ", hits=" + hits.sum() + ", misses=" + misses.sum()
+				+ ", evictions=" + evictions.sum() + "}";
+	}
+
+	private static final class Node<K, V> {
+
+		private final K key;
+		private final V value;
+		private final long weight;
+		private volatile boolean referenced;
+
+		private Node(final K key, final V value, final long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static final class Segment<K, V> {
+
+		private final ConcurrentClockCache<K, V> cache;
+
+		private final ConcurrentHashMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+		private final long maxWeight;
+
+		/*
+		 * guarded by this segment: the entries in clock order and the position of the hand.
+		 */
+		private final List<Node<K, V>> clock = new ArrayList<>();
+		private int hand;
+
+		/*
+		 * written under the lock of this segment only.
+		 */
+		private volatile long weight;
+
+		private Segment(final ConcurrentClockCache<K, V> cache, final long maxWeight) {
+			this.cache = cache;
+			this.maxWeight = maxWeight;
+		}
+
+		private synchronized V store(final K key, final V value, final long valueWeight, final int loadGeneration) {
+			final Node<K, V> existing = entries.get(key);
+			if (existing != null) {
+				return existing.value;
+			}
+			if (loadGeneration != cache.generation) {
+				return value;
+			}
+			final Node<K, V> node = new Node<>(key, value, valueWeight);
+			entries.put(key, node);
+			clock.add(node);
+			weight += valueWeight;
+			evict(node);
+			return value;
+		}
+
+		/*
+		 * Sweeps the hand until the weight limit is met, keeping the entry just stored.
+		 */
+		private void evict(final Node<K, V> keep) {
+			while (weight > maxWeight && clock.size() > 1) {
+				if (hand >= clock.size()) {
+					hand = 0;
+				}
+				final Node<K, V> candidate = clock.get(hand);
+				if (candidate == keep) {
+					hand++;
+				} else if (candidate.referenced) {
+					candidate.referenced = false;
+					hand++;
+				} else {
+					final Node<K, V> last = clock.remove(clock.size() - 1);
+					if (last != candidate) {
+						clock.set(hand, last);
+					}
+					entries.remove(candidate.key, candidate);
+					weight -= candidate.weight;
+					cache.evictions.increment();
+				}
+			}
+		}
+
+		private synchronized void clear() {
+			entries.clear();
+			clock.clear();
+			hand = 0;
+			weight = 0L;
+		}
+	}
+
+	private final class Statistics implements CacheStatistics {
+
+		@Override
+		public long hitCount() {
+			return hits.sum();
+		}
+
+		@Override
+		public long missCount() {
+			return misses.sum();
+		}
+
+		@Override
+		public long evictionCount() {
+			return evictions.sum();
+		}
+
+		@Override
+		public double hitRate() {
+			final long hitCount = hits.sum();
+			final long requests = hitCount + misses.sum();
+			return requests == 0 ? 0.0D : (double) hitCount / requests;
+		}
+
+		@Override
+		public long weight() {
+			long result = 0L;
+			for (final Segment<K, V> segment : segments) {
+				result += segment.weight;
+			}
+			return result;
+		}
+
+		@Override
+		public int size() {
+			int result = 0;
+			for (final Segment<K, V> segment : segments) {
+				result += segment.entries.size();
+			}
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return ConcurrentClockCache.this.toString();
+		}
+	}
+}
@@ -0,0 +1,281 @@
+package de.bsailer.routing.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe cache bounded by the total weight of its values, evicting the least recently used entries.
+ *
+ * Reads of cached values are lock-free: a {@code ConcurrentHashMap} lookup plus an update of the access stamp of
+ * the entry.  A missing value is loaded exactly once, by the first thread asking for it, while other threads asking
+ * for the same key wait for that load; loads of different keys run concurrently.  Eviction scans the entries for the
+ * oldest access stamps under a lock, so it suits caches of up to some thousand comparatively expensive values such
+ * as graph tiles.  Many small values read on hot paths belong in a {@code ConcurrentClockCache}.
+ *
+ * Hits, misses and evictions are counted, {@code statistics()} exposes them without access to the values.
+ *
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	private final long maxWeight;
+
+	private final ToLongFunction<? super V> weigher;
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final AtomicLong weight = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private final Object evictionLock = new Object();
+
+	private final CacheStatistics statistics = new Statistics();
+
+	/**
+	 * @param maxWeight maximum total weight of the cached values, positive.  A single value heavier than this is
+	 *                  still cached until the next eviction.
+	 * @param weigher   weight of a value, non-negative.
+	 */
+	public ConcurrentLruCache(final long maxWeight, final ToLongFunction<? super V> weigher) {
+		if (maxWeight <= 0) {
+			throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+		}
+		this.maxWeight = maxWeight;
+		this.weigher = Objects.requireNonNull(weigher);
+	}
+
+	/**
+	 * Retrieves the value for the key, loading it if not cached.
+	 *
+	 * @param key    key of the value.
+	 * @param loader loads the value for the key, must not return {@code null}.  Unchecked exceptions are passed on to
+	 *               all threads waiting for the load, the key is not cached then.
+	 * @return cached or loaded value.
+	 */
+	public V get(final K key, final Function<? super K, ? extends V> loader) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null) {
+			hits.increment();
+		} else {
+			final Entry<V> created = new Entry<>(new FutureTask<>(() -> Objects.requireNonNull(loader.apply(key))));
+			entry = entries.putIfAbsent(key, created);
+			if (entry == null) {
+				misses.increment();
+				entry = created;
+				load(key, created);
+			} else {
+				hits.increment();
+			}
+		}
+		entry.accessed = clock.incrementAndGet();
+		return entry.value(key);
+	}
+
+	/**
+	 * Retrieves the value for the key if cached (or being loaded), without counting a hit or miss.
+	 *
+	 * @param key key of the value.
+	 * @return cached value or {@code null}.
+	 */
+	public V getIfPresent(final K key) {
+		final Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.accessed = clock.incrementAndGet();
+		return entry.value(key);
+	}
+
+	/**
+	 * Removes all entries, e.g. after the source of the values changed.  Loads in progress complete for their
+	 * waiting threads but are not cached.
+	 */
+	public void invalidateAll() {
+		synchronized (evictionLock) {
+			for (final Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+				remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	public long hitCount() {
+		return hits.sum();
+	}
+
+	public long missCount() {
+		return misses.sum();
+	}
+
+	public long evictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Share of hits of all requests, {@code 0.0} without requests.
+	 */
+	public double hitRate() {
+		final long hitCount = hits.sum();
+		final long requests = hitCount + misses.sum();
+		return requests == 0 ? 0.0D : (double) hitCount / requests;
+	}
+
+	/**
+	 * Total weight of the loaded values.
+	 */
+	public long weight() {
+		return weight.get();
+	}
+
+	/**
+	 * Number of entries, including those being loaded.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Read-only view of the counters of this cache.
+	 */
+	public CacheStatistics statistics() {
+		return statistics;
+	}
+
+	private void load(final K key, final Entry<V> entry) {
+		entry.task.run();
+		final V value;
+		try {
+			value = entry.task.get();
+		} catch (final ExecutionException | InterruptedException e) {
+			entries.remove(key, entry);
+			return;
+		}
+		entry.weight = weigher.applyAsLong(value);
+		synchronized (evictionLock) {
+			if (entries.get(key) == entry) {
+				entry.loaded = true;
+				weight.addAndGet(entry.weight);
+				evict(entry);
+			}
+		}
+	}
+
+	/*
+	 * Removes least recently used loaded entries until the weight limit is met, keeping the entry just loaded.
+	 */
+	private void evict(final Entry<V> keep) {
+		while (weight.get() > maxWeight) {
+			K eldestKey = null;
+			Entry<V> eldest = null;
+			for (final Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+				final Entry<V> entry = candidate.getValue();
+				if (entry != keep && entry.loaded && (eldest == null || entry.accessed < eldest.accessed)) {
+					eldestKey = candidate.getKey();
+					eldest = entry;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			remove(eldestKey, eldest);
+			evictions.increment();
+		}
+	}
+
+	private void remove(final K key, final Entry<V> entry) {
+		if (entries.remove(key, entry) && entry.loaded) {
+			entry.loaded = false;
+			weight.addAndGet(-entry.weight);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "{size=" + size() + ", weight=" + weight() + "/" + maxWeight
+				+ ", hits=" + hitCount() + ", misses=" + missCount() + ", evictions=" + evictionCount() + "}";
+	}
+
+	private final class Statistics implements CacheStatistics {
+
+		@Override
+		public long hitCount() {
+			return ConcurrentLruCache.this.hitCount();
+		}
+
+		@Override
+		public long missCount() {
+			return ConcurrentLruCache.this.missCount();
+		}
+
+		@Override
+		public long evictionCount() {
+			return ConcurrentLruCache.this.evictionCount();
+		}
+
+		@Override
+		public double hitRate() {
+			return ConcurrentLruCache.this.hitRate();
+		}
+
+		@Override
+		public long weight() {
+			return ConcurrentLruCache.this.weight();
+		}
+
+		@Override
+		public int size() {
+			return ConcurrentLruCache.this.size();
+		}
+
+		@Override
+		public String toString() {
+			return ConcurrentLruCache.this.toString();
+		}
+	}
+
+	private static final class Entry<V> {
+
+		private final FutureTask<V> task;
+		private volatile long accessed;
+		/*
+		 * guarded by evictionLock.
+		 */
+		private long weight;
+		private boolean loaded;
+
+		private Entry(final FutureTask<V> task) {
+			this.task = task;
+		}
+
+		private V value(final Object key) {
+			try {
+				return task.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while waiting for " + key, e);
+			} catch (final ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+}
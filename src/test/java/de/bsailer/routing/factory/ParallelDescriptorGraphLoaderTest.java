@@ -0,0 +1,107 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ParallelDescriptorGraphLoaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void givenDescriptorsLoadedGraphMatchesDescriptorGraphFactory() throws IOException {
+		final List<String> lines = randomDescriptors(3, 2000);
+		final Path file = write(lines, "\n");
+		final var expected = new DescriptorGraphFactory<>(new SimpleEdgeFactory()).createSimpleGraph(lines.stream());
+		final var sut = new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory(), ForkJoinPool.commonPool(), 512)
+				.load(file);
+		assertEquals(2000, sut.indexCount());
+		for (int index = 0; index < 2000; index++) {
+			final var id = new SimpleEdgeIdentifier(index);
+			assertEqualsDouble(expected.edge(id).weight(), sut.edge(id).weight());
+			assertEquals(ids(expected.adjacents(id)), ids(sut.adjacents(id)));
+		}
+	}
+
+	@Test
+	public void givenWindowsLineEndsAndBlankLinesLoadSucceeds() throws IOException {
+		final Path file = write(List.of("0;1.5;1,2", "", "1;2e1;", "2;-0.25"), "\r\n");
+		final var sut = new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(file);
+		assertEquals(List.of(new SimpleEdgeIdentifier(1), new SimpleEdgeIdentifier(2)),
+				ids(sut.adjacents(new SimpleEdgeIdentifier(0))));
+		assertEqualsDouble(1.5D, sut.edge(new SimpleEdgeIdentifier(0)).weight());
+		assertEqualsDouble(20.0D, sut.edge(new SimpleEdgeIdentifier(1)).weight());
+		assertEqualsDouble(-0.25D, sut.edge(new SimpleEdgeIdentifier(2)).weight());
+		assertEquals(List.of(), sut.adjacents(new SimpleEdgeIdentifier(2)));
+	}
+
+	@Test
+	public void givenGapInIdsUnusedIndexHasNoEdge() throws IOException {
+		final Path file = write(List.of("0;1.0;2", "2;1.0;0"), "\n");
+		final var sut = new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(file);
+		assertNull(sut.edge(new SimpleEdgeIdentifier(1)));
+	}
+
+	@Test
+	public void givenLongWeightsParsingFallsBackToExactResult() throws IOException {
+		final Path file = write(List.of("0;0.1000000000000000055511151231257827;", "1;1.7976931348623157E308;"), "\n");
+		final var sut = new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(file);
+		assertEqualsDouble(0.1D, sut.edge(new SimpleEdgeIdentifier(0)).weight());
+		assertEqualsDouble(Double.MAX_VALUE, sut.edge(new SimpleEdgeIdentifier(1)).weight());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenDuplicateIdLoadFails() throws IOException {
+		new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(write(List.of("0;1.0;", "0;2.0;"), "\n"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenAdjacentWithoutDescriptorLoadFails() throws IOException {
+		new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(write(List.of("0;1.0;1"), "\n"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenMalformedLineLoadFails() throws IOException {
+		new ParallelDescriptorGraphLoader<>(new SimpleEdgeFactory()).load(write(List.of("0;one;"), "\n"));
+	}
+
+	private Path write(final List<String> lines, final String separator) throws IOException {
+		final Path file = folder.newFile().toPath();
+		Files.writeString(file, String.join(separator, lines) + separator);
+		return file;
+	}
+
+	private static List<String> randomDescriptors(final long seed, final int count) {
+		final Random random = new Random(seed);
+		final List<String> result = new ArrayList<>(count);
+		for (int index = 0; index < count; index++) {
+			final List<String> adjacents = new ArrayList<>();
+			for (int i = random.nextInt(4); i > 0; i--) {
+				adjacents.add(String.valueOf(random.nextInt(count)));
+			}
+			result.add(index + ";" + random.nextDouble() * 100 + ";" + String.join(",", adjacents));
+		}
+		return result;
+	}
+
+	private static List<SimpleEdgeIdentifier> ids(final List<SimpleEdge> edges) {
+		return edges.stream().map(SimpleEdge::id).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,44 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ReverseGraphFactoryTest {
+
+	@Test
+	public void givenGraphReverseAdjacentsArePredecessors() {
+		final var graph = randomGraph(5, 200, 4);
+		final Map<SimpleEdgeIdentifier, List<Integer>> predecessors = new HashMap<>();
+		graph.forEachEdge(edge -> graph.forEachAdjacent(edge.id(), adjacent ->
+				predecessors.computeIfAbsent(adjacent.id(), k -> new ArrayList<>()).add(edge.id().index())));
+		final var sut = ReverseGraphFactory.createReverseGraph(graph);
+		final var compressed = ReverseGraphFactory.createReverseGraph(CompressedSparseRowGraph.freeze(graph));
+		graph.forEachEdge(edge -> {
+			final List<Integer> expected = sorted(predecessors.getOrDefault(edge.id(), Collections.emptyList()));
+			assertEquals(expected, sorted(indices(sut.adjacents(edge.id()))));
+			assertEquals(expected, sorted(indices(compressed.adjacents(edge.id()))));
+			assertSame(edge, sut.edge(edge.id()));
+		});
+	}
+
+	private static List<Integer> indices(final List<SimpleEdge> edges) {
+		return edges.stream().map(e -> e.id().index()).collect(Collectors.toList());
+	}
+
+	private static List<Integer> sorted(final List<Integer> indices) {
+		return indices.stream().sorted().collect(Collectors.toList());
+	}
+}
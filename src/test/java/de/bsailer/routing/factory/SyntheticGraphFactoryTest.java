@@ -0,0 +1,109 @@
+package de.bsailer.routing.factory;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleGraph;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticGraphFactoryTest {
+
+	private final SimpleEdgeFactory edgeFactory = new SimpleEdgeFactory();
+
+	@Test
+	public void givenGridNeighboursShouldBeConnectedInBothDirections() {
+		final var sut = SyntheticGraphFactory.grid(4, 3, 1L);
+		assertEquals(12, sut.nodeCount());
+		assertEquals(2 * (3 * 3 + 4 * 2), sut.edgeCount());
+		final var graph = sut.populate(new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>(), edgeFactory);
+		for (int index = 0; index < sut.edgeCount(); index++) {
+			final double weight = sut.weight(index);
+			assertTrue(weight >= 1.0D && weight <= 1.5D);
+			final SimpleEdgeIdentifier id = edgeFactory.edgeIdentifier(index);
+			final long reverseCount = graph.adjacents(id).stream()
+					.filter(adjacent -> adjacentIds(graph, adjacent.id()).contains(id))
+					.filter(adjacent -> adjacent.weight() == weight)
+					.count();
+			assertTrue("no reverse segment of " + index, reverseCount > 0);
+		}
+	}
+
+	@Test
+	public void givenSameSeedSameGraphShouldBeGenerated() {
+		assertEquals(SyntheticGraphFactory.roadLike(20, 20, 7L).descriptors().toList(),
+				SyntheticGraphFactory.roadLike(20, 20, 7L).descriptors().toList());
+		assertNotEquals(SyntheticGraphFactory.roadLike(20, 20, 7L).descriptors().toList(),
+				SyntheticGraphFactory.roadLike(20, 20, 8L).descriptors().toList());
+	}
+
+	@Test
+	public void givenRandomGeometricGraphDescriptorsPopulatedAndCompressedGraphsShouldAgree() {
+		final var sut = SyntheticGraphFactory.randomGeometric(300, 6.0D, 3L);
+		final Graph<SimpleEdge, SimpleEdgeIdentifier> fromDescriptors =
+				new DescriptorGraphFactory<>(edgeFactory).createSimpleGraph(sut.descriptors());
+		final var populated = sut.populate(new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>(), edgeFactory);
+		final var compressed = sut.createCompressedSparseRowGraph(edgeFactory);
+		assertEquals(sut.edgeCount(), compressed.indexCount());
+		for (int index = 0; index < sut.edgeCount(); index++) {
+			final SimpleEdgeIdentifier id = edgeFactory.edgeIdentifier(index);
+			assertEquals(sut.weight(index), fromDescriptors.edge(id).weight(), 0.0D);
+			assertEquals(adjacentIds(fromDescriptors, id), adjacentIds(populated, id));
+			assertEquals(adjacentIds(fromDescriptors, id), adjacentIds(compressed, id));
+		}
+	}
+
+	@Test
+	public void givenRandomGeometricGraphAverageDegreeShouldBeApproximated() {
+		final var sut = SyntheticGraphFactory.randomGeometric(20_000, 6.0D, 5L);
+		final double averageDegree = (double) sut.edgeCount() / sut.nodeCount();
+		assertTrue("average degree " + averageDegree, averageDegree > 5.0D && averageDegree < 6.5D);
+	}
+
+	@Test
+	public void givenRoadLikeGraphSomeSegmentsShouldBeDropped() {
+		final var sut = SyntheticGraphFactory.roadLike(50, 50, 11L);
+		final int gridEdgeCount = SyntheticGraphFactory.grid(50, 50, 11L).edgeCount();
+		assertTrue(sut.edgeCount() < gridEdgeCount);
+		assertTrue(sut.edgeCount() > gridEdgeCount * 0.8D);
+	}
+
+	@Test
+	public void givenRandomProhibitedPathsTheyShouldFollowAdjacency() {
+		final var sut = SyntheticGraphFactory.grid(10, 10, 1L);
+		final var graph = sut.populate(new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>(), edgeFactory);
+		final List<List<SimpleEdgeIdentifier>> paths = sut.randomProhibitedPaths(50, 13L, edgeFactory);
+		assertEquals(50, paths.size());
+		assertEquals(paths, sut.randomProhibitedPaths(50, 13L, edgeFactory));
+		for (final List<SimpleEdgeIdentifier> path : paths) {
+			assertTrue(path.size() >= 2 && path.size() <= 4);
+			assertEquals(path.size(), path.stream().distinct().count());
+			for (int i = 1; i < path.size(); i++) {
+				assertTrue(adjacentIds(graph, path.get(i - 1)).contains(path.get(i)));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNonPositiveColumnsGridShouldBeRejected() {
+		SyntheticGraphFactory.grid(0, 3, 1L);
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void givenPointCountOverflowingIntRoadLikeShouldBeRejected() {
+		SyntheticGraphFactory.roadLike(1 << 16, 1 << 16, 1L);
+	}
+
+	private static List<SimpleEdgeIdentifier> adjacentIds(final Graph<SimpleEdge, SimpleEdgeIdentifier> graph,
+														  final SimpleEdgeIdentifier id) {
+		return graph.adjacents(id).stream().map(Edge::id).sorted(Comparator.comparingInt(SimpleEdgeIdentifier::index)).toList();
+	}
+}
@@ -31,6 +31,19 @@ public class SimpleEdgeFactoryTest {
         assertEquals(result.id(), id);
     }
 
+    @Test
+    public void edgeIdentifier() {
+        assertEquals(new SimpleEdgeIdentifier(3), sut.edgeIdentifier(3));
+    }
+
+    @Test
+    public void edge() {
+        final var id = new SimpleEdgeIdentifier(1);
+        final var result = sut.edge(id, 2.0D);
+        assertEqualsDouble(2.0D, result.weight());
+        assertEquals(id, result.id());
+    }
+
     @Test
     public void newId() {
         assertEquals(new SimpleEdgeIdentifier(-1), sut.newId());
@@ -0,0 +1,142 @@
+package de.bsailer.routing.jfr;
+
+import de.bsailer.routing.factory.DescriptorGraphFactory;
+import de.bsailer.routing.factory.ReverseGraphFactory;
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleGraph;
+import de.bsailer.routing.model.prohibition.PathProhibitionGraph;
+import de.bsailer.routing.traversal.BidirectionalDijkstra;
+import de.bsailer.routing.traversal.ContractionHierarchyBuilder;
+import de.bsailer.routing.traversal.Dijkstra;
+import de.bsailer.routing.traversal.IndexedDijkstra;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FlightRecorderEventsTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void givenTargetQueryShouldRecordTraversalQueryEvent() throws IOException {
+		final var graph = randomGraph(3, 100, 3);
+		final var sut = new IndexedDijkstra<>(graph);
+		final SimpleEdge start = graph.edge(new SimpleEdgeIdentifier(0));
+		final SimpleEdge target = graph.adjacents(graph.adjacents(start.id()).get(0).id()).get(0);
+		final List<RecordedEvent> events = record("de.bsailer.routing.TraversalQuery",
+				() -> sut.costFromTo(start, target));
+		assertEquals(1, events.size());
+		final RecordedEvent event = events.get(0);
+		assertEquals("IndexedDijkstra", event.getString("algorithm"));
+		assertEquals(sut.costFromTo(start, target), event.getDouble("cost"), 0.0D);
+		assertEquals("TargetDijkstraAborter", event.getString("abortedBy"));
+	}
+
+	@Test
+	public void givenExhaustiveRunShouldRecordSettledCountWithoutAborter() throws IOException {
+		final var graph = twoEdgeGraph();
+		final var sut = new Dijkstra<>(graph);
+		final List<RecordedEvent> events = record("de.bsailer.routing.TraversalQuery",
+				() -> sut.run(graph.edge(new SimpleEdgeIdentifier(0))));
+		assertEquals(1, events.size());
+		assertEquals("Dijkstra", events.get(0).getString("algorithm"));
+		assertEquals(3L, events.get(0).getLong("settledCount"));
+		assertNull(events.get(0).getString("abortedBy"));
+	}
+
+	@Test
+	public void givenBidirectionalQueryShouldRecordSettledCountOfBothDirectionsAndMeetingCost() throws IOException {
+		final var graph = twoEdgeGraph();
+		final var sut = new BidirectionalDijkstra<>(graph, ReverseGraphFactory.createReverseGraph(graph));
+		final List<RecordedEvent> events = record("de.bsailer.routing.TraversalQuery",
+				() -> sut.costFromTo(graph.edge(new SimpleEdgeIdentifier(0)), graph.edge(new SimpleEdgeIdentifier(2))));
+		assertEquals(1, events.size());
+		assertEquals("BidirectionalDijkstra", events.get(0).getString("algorithm"));
+		assertEquals(2.0D, events.get(0).getDouble("cost"), 0.0D);
+		assertTrue(events.get(0).getLong("settledCount") >= 2L);
+		assertNull(events.get(0).getString("abortedBy"));
+	}
+
+	@Test
+	public void givenContractionHierarchyQueryShouldRecordSettledCountOfBothDirectionsAndMeetingCost()
+			throws IOException {
+		final var builder = new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>();
+		twoEdgeGraph().forEachEdge(builder::addEdge);
+		final var graph = builder.connectEdges(new SimpleEdgeIdentifier(0), new SimpleEdgeIdentifier(1))
+				.connectEdges(new SimpleEdgeIdentifier(1), new SimpleEdgeIdentifier(2))
+				.build();
+		final var sut = new ContractionHierarchyBuilder<>(graph).build().query();
+		final List<RecordedEvent> events = record("de.bsailer.routing.TraversalQuery",
+				() -> sut.costFromTo(graph.edge(new SimpleEdgeIdentifier(0)), graph.edge(new SimpleEdgeIdentifier(2))));
+		assertEquals(1, events.size());
+		assertEquals("ContractionHierarchyQuery", events.get(0).getString("algorithm"));
+		assertEquals(2.0D, events.get(0).getDouble("cost"), 0.0D);
+		assertTrue(events.get(0).getLong("settledCount") >= 2L);
+	}
+
+	@Test
+	public void givenCompileShouldRecordOneEventPerTransformedClass() throws IOException {
+		final var factory = new SimpleEdgeFactory();
+		final var sut = new PathProhibitionGraph<>(twoEdgeGraph(), factory, factory, 1000.0D);
+		sut.addProhibitedPath(List.of(new SimpleEdgeIdentifier(0), new SimpleEdgeIdentifier(1),
+				new SimpleEdgeIdentifier(2)));
+		final List<RecordedEvent> events = record("de.bsailer.routing.ProhibitionTransformation", sut::compile);
+		assertEquals(1, events.size());
+		assertEquals(new SimpleEdgeIdentifier(0).toString(), events.get(0).getString("prohibitionClass"));
+		assertEquals(1, events.get(0).getInt("prohibitedPathCount"));
+	}
+
+	@Test
+	public void givenDescriptorsShouldRecordGraphLoadEvent() throws IOException {
+		final var sut = new DescriptorGraphFactory<>(new SimpleEdgeFactory());
+		final List<RecordedEvent> events = record("de.bsailer.routing.GraphLoad",
+				() -> sut.createSimpleGraph(Stream.of("0;1.0;1", "1;2.0;")));
+		assertEquals(1, events.size());
+		assertEquals("DescriptorGraphFactory", events.get(0).getString("loader"));
+		assertEquals(2L, events.get(0).getLong("edgeCount"));
+	}
+
+	private List<RecordedEvent> record(final String eventName, final Runnable action) throws IOException {
+		final Path file = folder.newFile().toPath();
+		try (Recording recording = new Recording()) {
+			recording.enable(eventName).withoutThreshold();
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(eventName))
+				.toList();
+	}
+
+	/*
+	 * 0 -> 1 -> 2
+	 */
+	private static SimpleGraph<SimpleEdge, SimpleEdgeIdentifier> twoEdgeGraph() {
+		final var result = new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		for (int index = 0; index < 3; index++) {
+			result.addEdge(new SimpleEdge(new SimpleEdgeIdentifier(index)).setWeight(1.0D));
+		}
+		result.connectEdges(new SimpleEdgeIdentifier(0), new SimpleEdgeIdentifier(1));
+		result.connectEdges(new SimpleEdgeIdentifier(1), new SimpleEdgeIdentifier(2));
+		return result;
+	}
+}
@@ -0,0 +1,68 @@
+package de.bsailer.routing.model.impl;
+
+import de.bsailer.routing.model.Edge;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CompressedSparseRowGraphTest {
+
+	private final SimpleEdge edge0 = new SimpleEdge(new SimpleEdgeIdentifier(0));
+
+	private final SimpleEdge edge1 = new SimpleEdge(new SimpleEdgeIdentifier(1));
+
+	private final SimpleEdge edge3 = new SimpleEdge(new SimpleEdgeIdentifier(3));
+
+	@Test
+	public void givenBuilderGraphDeliversAdjacentsInConnectionOrder() {
+		final var sut = new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>()
+				.addEdge(edge0).addEdge(edge1).addEdge(edge3)
+				.connectEdges(edge1.id(), edge3.id())
+				.connectEdges(edge0.id(), edge3.id())
+				.connectEdges(edge0.id(), edge1.id())
+				.build();
+		assertEquals(List.of(edge3, edge1), sut.adjacents(edge0.id()));
+		assertEquals(List.of(edge3), sut.adjacents(edge1.id()));
+		assertEquals(Collections.emptyList(), sut.adjacents(edge3.id()));
+	}
+
+	@Test
+	public void givenUnusedIndexGraphDeliversNoEdge() {
+		final var sut = new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>().addEdge(edge3).build();
+		assertNull(sut.edge(new SimpleEdgeIdentifier(2)));
+		assertNull(sut.edge(new SimpleEdgeIdentifier(7)));
+		assertEquals(Collections.emptyList(), sut.adjacents(new SimpleEdgeIdentifier(7)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void givenConnectionToMissingEdgeBuildFails() {
+		new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>()
+				.addEdge(edge0)
+				.connectEdges(edge0.id(), edge1.id())
+				.build();
+	}
+
+	@Test
+	public void givenFrozenGraphEdgesAndAdjacentsEqualOriginal() {
+		final var original = randomGraph(5, 500, 4);
+		final var sut = CompressedSparseRowGraph.freeze(original);
+		final List<SimpleEdge> originalEdges = new ArrayList<>();
+		original.forEachEdge(originalEdges::add);
+		final List<SimpleEdge> frozenEdges = new ArrayList<>();
+		sut.forEachEdge(frozenEdges::add);
+		assertEquals(originalEdges, frozenEdges);
+		for (final SimpleEdge edge : originalEdges) {
+			assertEquals(edge, sut.edge(edge.id()));
+			assertEquals(original.adjacents(edge.id()), sut.adjacents(edge.id()));
+			final List<Edge<SimpleEdgeIdentifier>> visited = new ArrayList<>();
+			sut.forEachAdjacent(edge.id(), visited::add);
+			assertEquals(original.adjacents(edge.id()), visited);
+		}
+	}
+}
@@ -6,9 +6,12 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -32,6 +35,26 @@ public class IndexBasedSimpleGraphTest {
 		assertEquals(Collections.singletonList(edge2), sut.adjacents(edge1.id()));
 	}
 
+	@Test
+	public void givenGraphForEachAdjacentVisitsAdjacents() {
+		when(edge1.id()).thenReturn(new SimpleEdgeIdentifier(1));
+		when(edge2.id()).thenReturn(new SimpleEdgeIdentifier(2));
+		sut.addEdge(edge1);
+		sut.addEdge(edge2);
+		sut.connectEdges(edge1.id(), edge2.id());
+		final List<Edge<SimpleEdgeIdentifier>> result = new ArrayList<>();
+		sut.forEachAdjacent(edge1.id(), result::add);
+		assertEquals(Collections.singletonList(edge2), result);
+	}
+
+	@Test
+	public void givenEdgeWithoutAdjacentsGraphDeliversNoAdjacents() {
+		when(edge1.id()).thenReturn(new SimpleEdgeIdentifier(1));
+		sut.addEdge(edge1);
+		assertEquals(Collections.emptyList(), sut.adjacents(edge1.id()));
+		sut.forEachAdjacent(edge1.id(), e -> fail());
+	}
+
     @Test
     public void givenEdgeIdGraphDeliversEdge() {
 		when(edge1.id()).thenReturn(new SimpleEdgeIdentifier(1));
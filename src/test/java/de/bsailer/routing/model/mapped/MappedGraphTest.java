@@ -0,0 +1,62 @@
+package de.bsailer.routing.model.mapped;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MappedGraphTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void givenWrittenGraphMappedGraphDeliversSameEdgesAndAdjacents() throws IOException {
+		final var original = CompressedSparseRowGraph.freeze(randomGraph(9, 300, 4));
+		final var file = folder.newFile().toPath();
+		MappedGraphWriter.write(original, file);
+		final var sut = MappedGraph.open(file, new SimpleEdgeFactory());
+		assertEquals(original.indexCount(), sut.indexCount());
+		final List<SimpleEdge> edges = new ArrayList<>();
+		sut.forEachEdge(edges::add);
+		assertEquals(300, edges.size());
+		for (final SimpleEdge edge : edges) {
+			assertEqualsDouble(original.edge(edge.id()).weight(), edge.weight());
+			assertEquals(original.adjacents(edge.id()).stream().map(SimpleEdge::id).toList(),
+					sut.adjacents(edge.id()).stream().map(SimpleEdge::id).toList());
+		}
+	}
+
+	@Test
+	public void givenUnusedIndexMappedGraphDeliversNoEdge() throws IOException {
+		final var original = new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>()
+				.addEdge(new SimpleEdge(new SimpleEdgeIdentifier(2)).setWeight(1.0D))
+				.build();
+		final var file = folder.newFile().toPath();
+		MappedGraphWriter.write(original, file);
+		final var sut = MappedGraph.open(file, new SimpleEdgeFactory());
+		assertNull(sut.edge(new SimpleEdgeIdentifier(1)));
+		assertNull(sut.edge(new SimpleEdgeIdentifier(5)));
+		assertEqualsDouble(1.0D, sut.edge(new SimpleEdgeIdentifier(2)).weight());
+	}
+
+	@Test(expected = IOException.class)
+	public void givenNoGraphFileOpenFails() throws IOException {
+		final var file = folder.newFile().toPath();
+		Files.writeString(file, "0;1.0;1");
+		MappedGraph.open(file, new SimpleEdgeFactory());
+	}
+}
@@ -0,0 +1,119 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.traversal.Dijkstra;
+import de.bsailer.routing.traversal.IndexedDijkstra;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static de.bsailer.routing.model.prohibition.VirtualEdgeTolerantGraph.PENALTY_WEIGHT;
+import static de.bsailer.routing.model.prohibition.VirtualEdgeTolerantGraph.root;
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.countEdges;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class CompiledPathProhibitionGraphTest {
+
+    private final VirtualEdgeTolerantGraph delegateGraph = new VirtualEdgeTolerantGraph(randomGraph(16, 300, 3));
+
+    @Test
+    public void givenProhibitionsRouteCostsEqualLazyTransformation() {
+        final var lazy = delegateGraph.prohibitionGraph(17, 60, 0L);
+        final var sut = lazy.compile();
+        for (int start = 0; start < 30; start++) {
+            final int target = 299 - start * 7;
+            final Double expected = new Dijkstra<>(lazy).costFromTo(root(lazy, start), root(lazy, target));
+            final Double actual = new Dijkstra<>(sut).costFromTo(root(sut, start), root(sut, target));
+            assertEqualsDouble(expected, actual);
+        }
+    }
+
+    @Test
+    public void givenProhibitionsAdjacentsEqualLazyTransformation() {
+        final var lazy = delegateGraph.prohibitionGraph(17, 60, 0L);
+        final var sut = lazy.compile();
+        for (int index = 0; index < 300; index++) {
+            final var id = new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(index));
+            assertEquals(ids(lazy.adjacents(id)), ids(sut.adjacents(id)));
+            for (final var adjacent : sut.adjacents(id)) {
+                assertEquals(ids(lazy.adjacents(adjacent.id())), ids(sut.adjacents(adjacent.id())));
+            }
+        }
+    }
+
+    @Test
+    public void givenPackedGraphIndexedRouteCostsEqualCompiledGraph() {
+        final var compiled = delegateGraph.prohibitionGraph(17, 60, 0L).compile();
+        final var sut = CompiledPathProhibitionGraph.pack(compiled);
+        assertEquals(compiled.edgeCount(), countEdges(sut));
+        for (int start = 0; start < 30; start++) {
+            final int target = 299 - start * 7;
+            final Double expected = new Dijkstra<>(compiled).costFromTo(root(compiled, start), root(compiled, target));
+            final Double actual = new IndexedDijkstra<>(sut).costFromTo(
+                    sut.edge(PackedShadowEdgeIdentifier.root(start)), sut.edge(PackedShadowEdgeIdentifier.root(target)));
+            assertEqualsDouble(expected, actual);
+        }
+    }
+
+    @Test
+    public void givenPackedGraphCopiesAreIndexedBeyondDelegateIndices() {
+        final var sut = CompiledPathProhibitionGraph.pack(delegateGraph.prohibitionGraph(17, 60, 0L).compile());
+        sut.forEachEdge(edge -> {
+            assertEquals(edge.id().isRootCopy(), edge.id().index() < 300);
+            if (edge.id().isRootCopy()) {
+                assertEquals(edge.id().delegateIndex(), edge.id().index());
+            }
+        });
+    }
+
+    @Test
+    public void givenCompiledEdgeAdjacentsAreSameInstancesAsForPlainIdentifier() {
+        final var sut = delegateGraph.prohibitionGraph(17, 60, 0L).compile();
+        final var plainId = new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(5));
+        final var compiledId = sut.edge(plainId).id();
+        final var expected = sut.adjacents(plainId);
+        final var actual = sut.adjacents(compiledId);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void givenUnknownIdentifierEdgeIsNullAndHasNoAdjacents() {
+        final var sut = delegateGraph.prohibitionGraph(17, 60, 0L).compile();
+        final var id = new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(1000));
+        assertNull(sut.edge(id));
+        assertEquals(Collections.emptyList(), sut.adjacents(id));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenNotEnumerableDelegateCompileFails() {
+        final Graph<SimpleEdge, SimpleEdgeIdentifier> notEnumerable = new Graph<>() {
+            @Override
+            public List<SimpleEdge> adjacents(final SimpleEdgeIdentifier id) {
+                return delegateGraph.adjacents(id);
+            }
+
+            @Override
+            public SimpleEdge edge(final SimpleEdgeIdentifier id) {
+                return delegateGraph.edge(id);
+            }
+        };
+        final var factory = new SimpleEdgeFactory();
+        new PathProhibitionGraph<>(notEnumerable, factory, factory, PENALTY_WEIGHT).compile();
+    }
+
+    private static List<ShadowEdgeIdentifier<SimpleEdgeIdentifier>> ids(
+            final List<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>> edges) {
+        return edges.stream().map(ShadowEdge::id).toList();
+    }
+}
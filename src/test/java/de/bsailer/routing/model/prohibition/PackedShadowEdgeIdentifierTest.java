@@ -0,0 +1,38 @@
+package de.bsailer.routing.model.prohibition;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PackedShadowEdgeIdentifierTest {
+
+    @Test
+    public void givenRootCopyIndexIsDelegateIndex() {
+        final var sut = PackedShadowEdgeIdentifier.root(42);
+        assertEquals(42, sut.index());
+        assertEquals(42, sut.delegateIndex());
+        assertEquals(-1, sut.copy());
+        assertTrue(sut.isRootCopy());
+    }
+
+    @Test
+    public void givenNegativeDelegateIndexUnpackingGivesComponents() {
+        final var sut = new PackedShadowEdgeIdentifier(-3, 7, 1000);
+        assertEquals(-3, sut.delegateIndex());
+        assertEquals(7, sut.copy());
+        assertFalse(sut.isRootCopy());
+    }
+
+    @Test
+    public void givenSameDelegateIndexAndCopyIdentifiersAreEqual() {
+        final var sut = new PackedShadowEdgeIdentifier(5, 2, 17);
+        assertEquals(new PackedShadowEdgeIdentifier(5, 2, 17), sut);
+        assertEquals(new PackedShadowEdgeIdentifier(5, 2, 17).hashCode(), sut.hashCode());
+        assertNotEquals(new PackedShadowEdgeIdentifier(5, 3, 17), sut);
+        assertNotEquals(new PackedShadowEdgeIdentifier(6, 2, 17), sut);
+        assertNotEquals(PackedShadowEdgeIdentifier.root(5), sut);
+    }
+}
@@ -0,0 +1,83 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.traversal.Dijkstra;
+import de.bsailer.routing.util.ConcurrentClockCache;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.bsailer.routing.model.prohibition.VirtualEdgeTolerantGraph.root;
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PathProhibitionGraphCacheTest {
+
+    private final VirtualEdgeTolerantGraph delegateGraph = new VirtualEdgeTolerantGraph(randomGraph(20, 500, 3));
+
+    @Test
+    public void givenCacheRouteCostsEqualUncachedGraph() {
+        final var uncached = delegateGraph.prohibitionGraph(21, 40, 0L);
+        final var sut = delegateGraph.prohibitionGraph(21, 40, 200L);
+        for (int start = 0; start < 40; start++) {
+            final int target = 499 - start * 11;
+            final Double expected = new Dijkstra<>(uncached).costFromTo(root(uncached, start), root(uncached, target));
+            final Double actual = new Dijkstra<>(sut).costFromTo(root(sut, start), root(sut, target));
+            assertEqualsDouble(expected, actual);
+        }
+        final var cache = sut.adjacencyCacheStatistics().orElseThrow();
+        assertTrue(cache.hitCount() > 0);
+        assertTrue(cache.evictionCount() > 0);
+        // a segment exceeds its share of the maximum weight only by keeping a single list heavier than the share
+        final long largestListWeight = largestListWeight(CompiledPathProhibitionGraph.pack(uncached.compile()));
+        assertTrue(largestListWeight <= ConcurrentClockCache.MIN_SEGMENT_WEIGHT);
+        assertTrue(cache.weight() <= 200L);
+    }
+
+    @Test
+    public void givenRepeatedRequestAdjacentsAreCached() {
+        final var sut = delegateGraph.prohibitionGraph(21, 40, 1000L);
+        final var id = new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(3));
+        final List<SimpleEdgeIdentifier> expected = delegateIds(sut.adjacents(id));
+        assertEquals(expected, delegateIds(sut.adjacents(id)));
+        final var cache = sut.adjacencyCacheStatistics().orElseThrow();
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEqualsDouble(0.5D, cache.hitRate());
+    }
+
+    @Test
+    public void givenAddedProhibitionCacheIsInvalidated() {
+        final var sut = delegateGraph.prohibitionGraph(21, 40, 1000L);
+        final var id = new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(3));
+        final var adjacent = sut.adjacents(id).get(0).id().delegateId();
+        sut.addProhibitedPath(List.of(id.delegateId(), adjacent));
+        assertEquals(0, sut.adjacencyCacheStatistics().orElseThrow().size());
+        assertFalse(sut.adjacents(id).stream().anyMatch(e -> e.id().isRootCopy() && e.id().delegateId().equals(adjacent)));
+    }
+
+    @Test
+    public void givenNoCacheSizeThereIsNoCache() {
+        assertFalse(delegateGraph.prohibitionGraph(21, 40, 0L).adjacencyCacheStatistics().isPresent());
+    }
+
+    /*
+     * largest weight of a cached adjacency list (size + 1), taken from the equivalent packed graph.
+     */
+    private static long largestListWeight(final CompressedSparseRowGraph<?, ?> graph) {
+        long result = 0L;
+        for (int index = 0; index < graph.indexCount(); index++) {
+            result = Math.max(result, graph.adjacentsEnd(index) - graph.adjacentsBegin(index) + 1L);
+        }
+        return result;
+    }
+
+    private static List<SimpleEdgeIdentifier> delegateIds(final List<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>> edges) {
+        return edges.stream().map(e -> e.id().delegateId()).toList();
+    }
+}
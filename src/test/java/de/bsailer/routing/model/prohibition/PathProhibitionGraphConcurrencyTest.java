@@ -0,0 +1,58 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.traversal.Dijkstra;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static de.bsailer.routing.model.prohibition.VirtualEdgeTolerantGraph.root;
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+
+public class PathProhibitionGraphConcurrencyTest {
+
+    private static final int EDGE_COUNT = 2000;
+
+    private final VirtualEdgeTolerantGraph delegateGraph = new VirtualEdgeTolerantGraph(randomGraph(18, EDGE_COUNT, 3));
+
+    @Test
+    public void givenSharedInstanceConcurrentQueriesEqualCompiledGraph() throws InterruptedException, ExecutionException {
+        assertConcurrentQueriesEqualCompiledGraph(0L);
+    }
+
+    @Test
+    public void givenSharedCachedInstanceConcurrentQueriesEqualCompiledGraph()
+            throws InterruptedException, ExecutionException {
+        // small enough to evict while the queries run
+        assertConcurrentQueriesEqualCompiledGraph(1000L);
+    }
+
+    private void assertConcurrentQueriesEqualCompiledGraph(final long adjacencyCacheSize)
+            throws InterruptedException, ExecutionException {
+        final var compiled = delegateGraph.prohibitionGraph(19, 800, 0L).compile();
+        final var sut = delegateGraph.prohibitionGraph(19, 800, adjacencyCacheSize);
+        final List<Callable<Double>> queries = new ArrayList<>();
+        for (int start = 0; start < 200; start++) {
+            final int startIndex = start * 10;
+            final int targetIndex = EDGE_COUNT - 1 - start * 3;
+            queries.add(() -> new Dijkstra<>(sut).costFromTo(root(sut, startIndex), root(sut, targetIndex)));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Double>> results = executor.invokeAll(queries);
+            for (int start = 0; start < 200; start++) {
+                final Double expected = new Dijkstra<>(compiled)
+                        .costFromTo(root(compiled, start * 10), root(compiled, EDGE_COUNT - 1 - start * 3));
+                assertEqualsDouble(expected, results.get(start).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.bsailer.routing.model.prohibition;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Delegate graph for {@code PathProhibitionGraph}s giving no adjacents for the negative ids of virtual edges, as the
+ * lazy transformation asks for the delegate adjacents of virtual edges, too.  Also creates the prohibition graphs on
+ * top of it shared by the prohibition tests.
+ */
+class VirtualEdgeTolerantGraph implements EnumerableGraph<SimpleEdge, SimpleEdgeIdentifier> {
+
+    static final double PENALTY_WEIGHT = 1000.0D;
+
+    private final EnumerableGraph<SimpleEdge, SimpleEdgeIdentifier> delegate;
+
+    private final int edgeCount;
+
+    VirtualEdgeTolerantGraph(final EnumerableGraph<SimpleEdge, SimpleEdgeIdentifier> delegate) {
+        this.delegate = delegate;
+        final int[] count = new int[1];
+        delegate.forEachEdge(edge -> count[0]++);
+        this.edgeCount = count[0];
+    }
+
+    /**
+     * Creates a lazy {@code PathProhibitionGraph} on this graph with {@code randomPaths} prohibited.
+     *
+     * @param seed               seed of the prohibited paths.
+     * @param pathCount          maximum number of prohibited paths.
+     * @param adjacencyCacheSize size of the adjacency cache, {@code 0} for none.
+     */
+    PathProhibitionGraph<SimpleEdge, SimpleEdgeIdentifier> prohibitionGraph(final long seed, final int pathCount,
+                                                                           final long adjacencyCacheSize) {
+        final var factory = new SimpleEdgeFactory();
+        final var result = new PathProhibitionGraph<>(this, factory, factory, PENALTY_WEIGHT, adjacencyCacheSize);
+        randomPaths(seed, pathCount, edgeCount).forEach(result::addProhibitedPath);
+        return result;
+    }
+
+    /**
+     * Root shadow edge of a delegate edge index.
+     */
+    static ShadowEdge<SimpleEdge, SimpleEdgeIdentifier> root(
+            final Graph<ShadowEdge<SimpleEdge, SimpleEdgeIdentifier>, ShadowEdgeIdentifier<SimpleEdgeIdentifier>> graph,
+            final int index) {
+        return graph.edge(new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(index)));
+    }
+
+    @Override
+    public void forEachEdge(final Consumer<? super SimpleEdge> action) {
+        delegate.forEachEdge(action);
+    }
+
+    @Override
+    public List<SimpleEdge> adjacents(final SimpleEdgeIdentifier id) {
+        return id.index() < 0 ? Collections.emptyList() : delegate.adjacents(id);
+    }
+
+    @Override
+    public SimpleEdge edge(final SimpleEdgeIdentifier id) {
+        return delegate.edge(id);
+    }
+
+    /**
+     * Creates random paths of two to four edges along the adjacency of the graph.  The paths and their adjacents are
+     * disjoint, as the result of the lazy transformation of overlapping prohibitions depends on their order.
+     */
+    List<List<SimpleEdgeIdentifier>> randomPaths(final long seed, final int count, final int edgeCount) {
+        final var random = new Random(seed);
+        final Set<SimpleEdgeIdentifier> used = new HashSet<>();
+        final List<List<SimpleEdgeIdentifier>> result = new ArrayList<>();
+        for (int attempt = 0; result.size() < count && attempt < 100 * count; attempt++) {
+            final List<SimpleEdgeIdentifier> path = new ArrayList<>();
+            path.add(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+            final int length = 2 + random.nextInt(3);
+            while (path.size() < length) {
+                final var adjacents = adjacents(path.get(path.size() - 1));
+                final var next = adjacents.get(random.nextInt(adjacents.size())).id();
+                if (path.contains(next)) {
+                    break;
+                }
+                path.add(next);
+            }
+            final Set<SimpleEdgeIdentifier> neighbourhood = new HashSet<>(path);
+            path.forEach(id -> adjacents(id).forEach(adjacent -> neighbourhood.add(adjacent.id())));
+            if (path.size() >= 2 && Collections.disjoint(used, neighbourhood)) {
+                used.addAll(neighbourhood);
+                result.add(path);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package de.bsailer.routing.model.tile;
+
+import de.bsailer.routing.factory.impl.SimpleEdgeFactory;
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.traversal.Dijkstra;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TileGraphTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> graph = randomGraph(15, 500, 3);
+
+	private Path directory;
+
+	@Before
+	public void setUp() throws IOException {
+		directory = folder.newFolder().toPath();
+		FileTileSource.write(graph, directory, 50);
+	}
+
+	@Test
+	public void givenTiledGraphEdgesAndAdjacentsEqualSourceGraph() {
+		final var sut = tileGraph(1_000_000L);
+		for (int index = 0; index < 500; index++) {
+			final var id = new SimpleEdgeIdentifier(index);
+			assertEqualsDouble(graph.edge(id).weight(), sut.edge(id).weight());
+			assertEquals(ids(graph.adjacents(id)), ids(sut.adjacents(id)));
+		}
+		assertEquals(10, sut.tileCacheStatistics().missCount());
+	}
+
+	@Test
+	public void givenSmallCacheRoutesEqualSourceGraphAndTilesAreEvicted() throws IOException {
+		final var sut = tileGraph(400L);
+		for (int start = 0; start < 10; start++) {
+			final var expected = new Dijkstra<>(graph).costFromTo(edge(graph, start), edge(graph, 499 - start));
+			final var actual = new Dijkstra<>(sut).costFromTo(edge(sut, start), edge(sut, 499 - start));
+			assertEqualsDouble(expected, actual);
+		}
+		final var statistics = sut.tileCacheStatistics();
+		assertTrue(statistics.evictionCount() > 0);
+		assertTrue(statistics.weight() <= Math.max(400L, heaviestTileWeight()));
+	}
+
+	@Test
+	public void givenMissingTileEdgeIsNull() {
+		assertNull(tileGraph(1000L).edge(new SimpleEdgeIdentifier(10_000)));
+	}
+
+	@Test(expected = UncheckedIOException.class)
+	public void givenMalformedTileEdgeFails() throws IOException {
+		Files.writeString(directory.resolve("tile-0.txt"), "0;x;1\n");
+		tileGraph(1000L).edge(new SimpleEdgeIdentifier(0));
+	}
+
+	/*
+	 * a tile heavier than the limit stays cached until the next eviction.
+	 */
+	private long heaviestTileWeight() throws IOException {
+		final var tileSource = new FileTileSource<>(directory, 50, new SimpleEdgeFactory());
+		long result = 0L;
+		for (long tileId = 0L; tileId < 10L; tileId++) {
+			result = Math.max(result, tileSource.loadTile(tileId).weight());
+		}
+		return result;
+	}
+
+	private TileGraph<SimpleEdge, SimpleEdgeIdentifier> tileGraph(final long maxCachedWeight) {
+		return new TileGraph<>(new FileTileSource<>(directory, 50, new SimpleEdgeFactory()), maxCachedWeight);
+	}
+
+	private static SimpleEdge edge(final Graph<SimpleEdge, SimpleEdgeIdentifier> graph,
+								   final int index) {
+		return graph.edge(new SimpleEdgeIdentifier(index));
+	}
+
+	private static List<SimpleEdgeIdentifier> ids(final List<SimpleEdge> edges) {
+		return edges.stream().map(Edge::id).toList();
+	}
+}
@@ -0,0 +1,108 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Coordinate;
+import de.bsailer.routing.model.Route;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleLocatedEdge;
+import de.bsailer.test.SettledCounter;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.countEdges;
+import static de.bsailer.test.RandomGraphs.randomLocatedGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AStarTest {
+
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * start (0,0)-(1,0) -> straight (1,0)-(2,0), weight 1.0 -> target (2,0)-(3,0)
+	 *                   -> detour (1,0)-(1,1)-(2,0), weight 3.0 ->
+	 * </pre>
+	 *
+	 * straight should be chosen.
+	 */
+	@Test
+	public void givenDetourStraightEdgeChosenAsRoute() {
+		final var start = edge(0, 0, 0, 1, 0, 1.0D);
+		final var straight = edge(1, 1, 0, 2, 0, 1.0D);
+		final var detour = edge(2, 1, 0, 2, 0, 3.0D);
+		final var target = edge(3, 2, 0, 3, 0, 1.0D);
+		final var graph = new IndexBasedSimpleGraph<SimpleLocatedEdge, SimpleEdgeIdentifier>();
+		graph.addEdge(start);
+		graph.addEdge(straight);
+		graph.addEdge(detour);
+		graph.addEdge(target);
+		graph.connectEdges(start.id(), straight.id());
+		graph.connectEdges(start.id(), detour.id());
+		graph.connectEdges(straight.id(), target.id());
+		graph.connectEdges(detour.id(), target.id());
+		final var sut = new AStar<>(graph, new StraightLineHeuristic<>(1.0D));
+		final var route = sut.pathFromTo(start, target);
+		assertTrue(route.isPresent());
+		assertEquals(List.of(start, straight, target), route.get().edges());
+		assertEqualsDouble(2.0D, sut.costFromTo(start, target));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNonPositiveSpeedHeuristicConstructionFails() {
+		new StraightLineHeuristic<SimpleLocatedEdge>(0.0D);
+	}
+
+	@Test
+	public void givenRandomGraphsCostsEqualDijkstraWithFewerSettledEdges() {
+		final var random = new Random(42);
+		long dijkstraSettled = 0;
+		long aStarSettled = 0;
+		for (int graphSeed = 0; graphSeed < 5; graphSeed++) {
+			final var graph = randomLocatedGraph(graphSeed, 300, 3);
+			final int edgeCount = countEdges(graph);
+			final var dijkstra = new Dijkstra<>(graph);
+			final var aStar = new AStar<>(graph, new StraightLineHeuristic<>(1.0D));
+			for (int query = 0; query < 20; query++) {
+				final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+				final var target = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+				final var dijkstraCounter = new SettledCounter<>(target);
+				dijkstra.setAborter(dijkstraCounter);
+				dijkstra.run(start);
+				final var aStarCounter = new SettledCounter<>(target);
+				aStar.setTarget(target);
+				aStar.setAborter(aStarCounter);
+				aStar.run(start);
+				final double expected = dijkstra.costs(target).get(target.id());
+				assertEqualsDouble(expected, aStar.costs(target).get(target.id()));
+				aStar.routes(target).get(target.id())
+						.ifPresent(route -> assertEqualsDouble(expected, routeCost(route)));
+				assertFalse(aStarCounter.settled() > dijkstraCounter.settled());
+				dijkstraSettled += dijkstraCounter.settled();
+				aStarSettled += aStarCounter.settled();
+			}
+		}
+		assertTrue("A* settled " + aStarSettled + " of Dijkstra's " + dijkstraSettled,
+				aStarSettled * 4 < dijkstraSettled * 3);
+	}
+
+	private static double routeCost(final Route<SimpleLocatedEdge> route) {
+		final var edges = route.edges();
+		double result = 0.0D;
+		for (int i = 0; i < edges.size() - 1; i++) {
+			result += edges.get(i).weight();
+		}
+		return result;
+	}
+
+
+	private static SimpleLocatedEdge edge(final int id, final double startX, final double startY, final double endX,
+										  final double endY, final double weight) {
+		return new SimpleLocatedEdge(new SimpleEdgeIdentifier(id), new Coordinate(startX, startY),
+				new Coordinate(endX, endY)).setWeight(weight);
+	}
+}
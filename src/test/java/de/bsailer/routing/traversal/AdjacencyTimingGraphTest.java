@@ -0,0 +1,41 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdjacencyTimingGraphTest {
+
+	private final IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> graph = randomGraph(5, 50, 3);
+
+	@Test
+	public void givenForEachAdjacentAdjacentsEqualDelegate() {
+		final var sut = new AdjacencyTimingGraph<>(graph, new SearchStatistics());
+		for (int index = 0; index < 50; index++) {
+			final var id = new SimpleEdgeIdentifier(index);
+			final List<SimpleEdge> adjacents = new ArrayList<>();
+			sut.forEachAdjacent(id, adjacents::add);
+			assertEquals(graph.adjacents(id), adjacents);
+			assertEquals(graph.edge(id), sut.edge(id));
+		}
+	}
+
+	@Test
+	public void givenSlowActionItsTimeIsNotCountedAsAdjacencyTime() {
+		final var statistics = new SearchStatistics();
+		final var sut = new AdjacencyTimingGraph<>(graph, statistics);
+		final long actionNanos = TimeUnit.MILLISECONDS.toNanos(20L);
+		sut.forEachAdjacent(new SimpleEdgeIdentifier(0), adjacent -> LockSupport.parkNanos(actionNanos));
+		assertTrue(statistics.adjacencyNanos() < actionNanos);
+	}
+}
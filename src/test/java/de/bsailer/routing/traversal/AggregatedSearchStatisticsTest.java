@@ -0,0 +1,74 @@
+package de.bsailer.routing.traversal;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AggregatedSearchStatisticsTest {
+
+	@Test
+	public void givenSearchesShouldSumAndTrackMaxima() {
+		final var sut = new AggregatedSearchStatistics();
+		sut.searchFinished(statistics(3, 1));
+		sut.searchFinished(statistics(5, 4));
+		assertEquals(2L, sut.searchCount());
+		assertEquals(8L, sut.settledCount());
+		assertEquals(8L, sut.relaxationCount());
+		assertEquals(5L, sut.maxSettledCount());
+		assertEquals(4L, sut.maxPeakQueueSize());
+		assertEquals(4.0D, sut.averageSettledCount(), 0.0D);
+	}
+
+	@Test
+	public void givenResetShouldStartFromZero() {
+		final var sut = new AggregatedSearchStatistics();
+		sut.searchFinished(statistics(3, 1));
+		sut.reset();
+		assertEquals(0L, sut.searchCount());
+		assertEquals(0L, sut.maxSettledCount());
+		assertEquals(0.0D, sut.averageSettledCount(), 0.0D);
+	}
+
+	@Test
+	public void givenConcurrentSearchesShouldCountAll() throws InterruptedException {
+		final var sut = new AggregatedSearchStatistics();
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int thread = 0; thread < 4; thread++) {
+			executor.execute(() -> {
+				final SearchStatistics statistics = statistics(2, 1);
+				for (int search = 0; search < 1000; search++) {
+					sut.searchFinished(statistics);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(4000L, sut.searchCount());
+		assertEquals(8000L, sut.settledCount());
+	}
+
+	/*
+	 * statistics of a search queueing and settling the given number of edges, with the given peak queue size.
+	 */
+	private static SearchStatistics statistics(final int settledCount, final int peakQueueSize) {
+		final var result = new SearchStatistics();
+		result.start();
+		for (int i = 0; i < peakQueueSize; i++) {
+			result.queued();
+		}
+		for (int i = 0; i < settledCount; i++) {
+			if (i >= peakQueueSize) {
+				result.queued();
+			}
+			result.relaxed();
+			result.settled();
+		}
+		result.finish();
+		return result;
+	}
+}
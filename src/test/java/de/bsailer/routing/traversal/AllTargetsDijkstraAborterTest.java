@@ -0,0 +1,80 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.prohibition.ShadowEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AllTargetsDijkstraAborterTest {
+
+	private final SimpleEdge current = new SimpleEdge(new SimpleEdgeIdentifier(1));
+
+	private final SimpleEdge target = new SimpleEdge(new SimpleEdgeIdentifier(2));
+
+	private final SimpleEdge otherTarget = new SimpleEdge(new SimpleEdgeIdentifier(3));
+
+	@Test
+	public void abortsWhenAllTargetsReached() {
+		final var sut = new AllTargetsDijkstraAborter<>(List.of(target, otherTarget, target));
+		assertFalse(sut.abort(current));
+		assertFalse(sut.abort(target));
+		assertFalse(sut.abort(target));
+		assertTrue(sut.abort(otherTarget));
+	}
+
+	@Test
+	public void givenResetTargetsAreReachedAgain() {
+		final var sut = new AllTargetsDijkstraAborter<>(List.of(target, otherTarget));
+		sut.abort(target);
+		sut.reset();
+		assertFalse(sut.abort(otherTarget));
+		assertTrue(sut.abort(target));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNegativeIndexTargetIsRejected() {
+		new AllTargetsDijkstraAborter<>(List.of(target, new SimpleEdge(new SimpleEdgeIdentifier(-1))));
+	}
+
+	@Test
+	public void givenIdsWithoutIndexAbortsWhenAllTargetsReached() {
+		final var first = shadowEdge(1);
+		final var second = shadowEdge(2);
+		final var sut = new AllTargetsDijkstraAborter<>(List.of(first, second));
+		assertFalse(sut.abort(first));
+		assertFalse(sut.abort(shadowEdge(1)));
+		assertTrue(sut.abort(shadowEdge(2)));
+	}
+
+	@Test
+	public void givenTraversalAllTargetsHaveCosts() {
+		final var graph = randomGraph(3, 200, 3);
+		final var targets = List.of(graph.edge(new SimpleEdgeIdentifier(17)), graph.edge(new SimpleEdgeIdentifier(42)));
+		final var sut = new IndexedDijkstra<>(graph);
+		final var expected = new Dijkstra<>(graph);
+		final var start = graph.edge(new SimpleEdgeIdentifier(0));
+		expected.run(start);
+		sut.setAborter(new AllTargetsDijkstraAborter<>(targets));
+		sut.run(start);
+		for (final SimpleEdge target : targets) {
+			assertEqualsDouble(expected.costs(target).get(target.id()), sut.costs(target).get(target.id()));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Edge<ShadowEdgeIdentifier<SimpleEdgeIdentifier>> shadowEdge(final int id) {
+		final Edge<ShadowEdgeIdentifier<SimpleEdgeIdentifier>> result = mock(Edge.class);
+		when(result.id()).thenReturn(new ShadowEdgeIdentifier<>(new SimpleEdgeIdentifier(id)));
+		return result;
+	}
+}
@@ -0,0 +1,37 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnyTargetDijkstraAborterTest {
+
+	private final SimpleEdge current = new SimpleEdge(new SimpleEdgeIdentifier(1));
+
+	private final SimpleEdge target = new SimpleEdge(new SimpleEdgeIdentifier(2));
+
+	private final SimpleEdge otherTarget = new SimpleEdge(new SimpleEdgeIdentifier(3));
+
+	@Test
+	public void abortsOnAnyTarget() {
+		final var sut = new AnyTargetDijkstraAborter<>(List.of(target, otherTarget));
+		assertTrue(sut.abort(target));
+		assertTrue(sut.abort(otherTarget, 1.0D));
+	}
+
+	@Test
+	public void continuesElse() {
+		final var sut = new AnyTargetDijkstraAborter<>(List.of(target, otherTarget));
+		assertFalse(sut.abort(current));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNoTargetsConstructionFails() {
+		new AnyTargetDijkstraAborter<SimpleEdge>(List.of());
+	}
+}
@@ -0,0 +1,127 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.factory.ReverseGraphFactory;
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.Route;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleGraph;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BidirectionalDijkstraTest {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * start -> short (3.0) -> target
+	 *       -> long (4.0)  ->
+	 * </pre>
+	 *
+	 * short should be chosen.
+	 */
+	@Test
+	public void givenTwoEdgesShorterChosenAsRoute() {
+		final var start = new SimpleEdge(new SimpleEdgeIdentifier(0)).setWeight(1.0D);
+		final var shortEdge = new SimpleEdge(new SimpleEdgeIdentifier(1)).setWeight(3.0D);
+		final var longEdge = new SimpleEdge(new SimpleEdgeIdentifier(2)).setWeight(4.0D);
+		final var target = new SimpleEdge(new SimpleEdgeIdentifier(3)).setWeight(2.0D);
+		final var graph = new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		List.of(start, shortEdge, longEdge, target).forEach(graph::addEdge);
+		graph.connectEdges(start.id(), shortEdge.id());
+		graph.connectEdges(start.id(), longEdge.id());
+		graph.connectEdges(shortEdge.id(), target.id());
+		graph.connectEdges(longEdge.id(), target.id());
+		final var sut = new BidirectionalDijkstra<>(graph, ReverseGraphFactory.createReverseGraph(graph));
+		assertEquals(List.of(start, shortEdge, target), sut.pathFromTo(start, target).orElseThrow().edges());
+		assertEqualsDouble(4.0D, sut.costFromTo(start, target));
+	}
+
+	@Test
+	public void givenStartIsTargetCostIsZero() {
+		final var edge = new SimpleEdge(new SimpleEdgeIdentifier(0)).setWeight(1.0D);
+		final var graph = new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		graph.addEdge(edge);
+		final var sut = new BidirectionalDijkstra<>(graph, ReverseGraphFactory.createReverseGraph(graph));
+		assertEqualsDouble(0.0D, sut.costFromTo(edge, edge));
+		assertEquals(List.of(edge), sut.pathFromTo(edge, edge).orElseThrow().edges());
+	}
+
+	@Test
+	public void givenUnreachableTargetNoRouteFound() {
+		final var start = new SimpleEdge(new SimpleEdgeIdentifier(0)).setWeight(1.0D);
+		final var target = new SimpleEdge(new SimpleEdgeIdentifier(1)).setWeight(1.0D);
+		final var graph = new SimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		graph.addEdge(start);
+		graph.addEdge(target);
+		final var sut = new BidirectionalDijkstra<>(graph, ReverseGraphFactory.createReverseGraph(graph), executor);
+		assertFalse(sut.pathFromTo(start, target).isPresent());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.costFromTo(start, target));
+	}
+
+	@Test
+	public void givenRandomGraphsResultsEqualDijkstra() {
+		assertEqualsDijkstra(false);
+	}
+
+	@Test
+	public void givenRandomGraphsConcurrentResultsEqualDijkstra() {
+		assertEqualsDijkstra(true);
+	}
+
+	private void assertEqualsDijkstra(final boolean concurrent) {
+		final var random = new Random(11);
+		for (int graphSeed = 0; graphSeed < 5; graphSeed++) {
+			final var graph = CompressedSparseRowGraph.freeze(randomGraph(graphSeed, 400, 3));
+			final var reverse = ReverseGraphFactory.createReverseGraph(graph);
+			final var dijkstra = new Dijkstra<>(graph);
+			final var sut = new BidirectionalDijkstra<>(graph, reverse, concurrent ? executor : null);
+			for (int query = 0; query < 50; query++) {
+				final var start = graph.edge(random.nextInt(400));
+				final var target = graph.edge(random.nextInt(400));
+				final double expected = dijkstra.costFromTo(start, target);
+				assertEqualsDouble(expected, sut.costFromTo(start, target));
+				final var route = sut.pathFromTo(start, target);
+				assertEquals(expected < Double.POSITIVE_INFINITY, route.isPresent());
+				route.ifPresent(r -> assertValidRoute(graph, r, start, target, expected));
+			}
+		}
+	}
+
+	private static void assertValidRoute(final Graph<SimpleEdge, SimpleEdgeIdentifier> graph,
+										 final Route<SimpleEdge> route, final SimpleEdge start, final SimpleEdge target,
+										 final double expectedCost) {
+		final List<SimpleEdge> edges = route.edges();
+		assertEquals(start.id(), edges.get(0).id());
+		assertEquals(target.id(), edges.get(edges.size() - 1).id());
+		double cost = 0.0D;
+		for (int i = 0; i < edges.size() - 1; i++) {
+			final var adjacentIds = graph.adjacents(edges.get(i).id()).stream().map(SimpleEdge::id)
+					.collect(Collectors.toList());
+			assertTrue(adjacentIds.contains(edges.get(i + 1).id()));
+			cost += edges.get(i).weight();
+		}
+		assertEqualsDouble(expectedCost, cost);
+	}
+}
@@ -0,0 +1,106 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Route;
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static de.bsailer.test.RandomGraphs.randomLocatedGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContractionHierarchyTest {
+
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * start -> short (3.0) -> target
+	 *       -> long (4.0)  ->
+	 * </pre>
+	 *
+	 * short should be chosen.
+	 */
+	@Test
+	public void givenTwoEdgesShorterChosenAsRoute() {
+		final var start = new SimpleEdge(new SimpleEdgeIdentifier(0)).setWeight(1.0D);
+		final var shortEdge = new SimpleEdge(new SimpleEdgeIdentifier(1)).setWeight(3.0D);
+		final var longEdge = new SimpleEdge(new SimpleEdgeIdentifier(2)).setWeight(4.0D);
+		final var target = new SimpleEdge(new SimpleEdgeIdentifier(3)).setWeight(2.0D);
+		final var graph = new CompressedSparseRowGraph.Builder<SimpleEdge, SimpleEdgeIdentifier>()
+				.addEdge(start).addEdge(shortEdge).addEdge(longEdge).addEdge(target)
+				.connectEdges(start.id(), shortEdge.id())
+				.connectEdges(start.id(), longEdge.id())
+				.connectEdges(shortEdge.id(), target.id())
+				.connectEdges(longEdge.id(), target.id())
+				.build();
+		final var sut = new ContractionHierarchyBuilder<>(graph).build().query();
+		assertEquals(List.of(start, shortEdge, target), sut.pathFromTo(start, target).orElseThrow().edges());
+		assertEqualsDouble(4.0D, sut.costFromTo(start, target));
+		assertEquals(List.of(start), sut.pathFromTo(start, start).orElseThrow().edges());
+		assertFalse(sut.pathFromTo(target, start).isPresent());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.costFromTo(target, start));
+	}
+
+	@Test
+	public void givenRandomGraphsResultsEqualDijkstra() {
+		final var random = new Random(17);
+		for (int graphSeed = 0; graphSeed < 5; graphSeed++) {
+			final var graph = CompressedSparseRowGraph.freeze(randomGraph(graphSeed, 500, 3));
+			assertEqualsDijkstra(graph, new ContractionHierarchyBuilder<>(graph).build(), random);
+		}
+	}
+
+	@Test
+	public void givenRoadLikeGraphsWithSmallWitnessLimitResultsEqualDijkstra() {
+		final var random = new Random(23);
+		final var pool = new ForkJoinPool(3);
+		try {
+			for (int graphSeed = 0; graphSeed < 3; graphSeed++) {
+				final var graph = CompressedSparseRowGraph.freeze(randomLocatedGraph(graphSeed, 300, 3));
+				assertEqualsDijkstra(graph, new ContractionHierarchyBuilder<>(graph, pool, 5).build(), random);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static <E extends SimpleEdge> void assertEqualsDijkstra(
+			final CompressedSparseRowGraph<E, SimpleEdgeIdentifier> graph,
+			final ContractionHierarchy<E, SimpleEdgeIdentifier> hierarchy,
+			final Random random) {
+		final var dijkstra = new IndexedDijkstra<>(graph);
+		final var sut = hierarchy.query();
+		for (int query = 0; query < 100; query++) {
+			final E start = graph.edge(random.nextInt(graph.indexCount()));
+			final E target = graph.edge(random.nextInt(graph.indexCount()));
+			final double expected = dijkstra.costFromTo(start, target);
+			assertEqualsDouble(expected, sut.costFromTo(start, target));
+			final var route = sut.pathFromTo(start, target);
+			assertEquals(expected < Double.POSITIVE_INFINITY, route.isPresent());
+			route.ifPresent(r -> assertValidRoute(graph, r, start, target, expected));
+		}
+	}
+
+	private static <E extends SimpleEdge> void assertValidRoute(final CompressedSparseRowGraph<E, SimpleEdgeIdentifier> graph,
+																final Route<E> route, final E start, final E target,
+																final double expectedCost) {
+		final List<E> edges = route.edges();
+		assertEquals(start, edges.get(0));
+		assertEquals(target, edges.get(edges.size() - 1));
+		double cost = 0.0D;
+		for (int i = 0; i < edges.size() - 1; i++) {
+			assertTrue(graph.adjacents(edges.get(i).id()).contains(edges.get(i + 1)));
+			cost += edges.get(i).weight();
+		}
+		assertEqualsDouble(expectedCost, cost);
+	}
+}
@@ -0,0 +1,67 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Graph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CostMatrixTest {
+
+	@Test
+	public void givenRandomGraphMatrixEqualsSingleQueries() {
+		final var graph = randomGraph(12, 500, 3);
+		final var random = new Random(12);
+		final List<SimpleEdge> sources = randomEdges(graph, random, 40);
+		final List<SimpleEdge> targets = randomEdges(graph, random, 30);
+		final var created = new AtomicInteger();
+		final var pool = new ForkJoinPool(4);
+		try {
+			final var sut = new CostMatrix<SimpleEdge, SimpleEdgeIdentifier>(() -> {
+				created.incrementAndGet();
+				return new IndexedDijkstra<>(graph);
+			}, pool);
+			final double[][] result = sut.costs(sources, targets);
+			final var dijkstra = new Dijkstra<>(graph);
+			assertEquals(sources.size(), result.length);
+			for (int row = 0; row < sources.size(); row++) {
+				assertEquals(targets.size(), result[row].length);
+				for (int column = 0; column < targets.size(); column++) {
+					assertEqualsDouble(dijkstra.costFromTo(sources.get(row), targets.get(column)), result[row][column]);
+				}
+			}
+			assertTrue(created.get() <= pool.getParallelism() + 1);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void givenUnreachableTargetMatrixContainsInfinity() {
+		final var graph = randomGraph(13, 20, 2);
+		final var unreachable = new SimpleEdge(new SimpleEdgeIdentifier(20)).setWeight(1.0D);
+		graph.addEdge(unreachable);
+		final var sut = new CostMatrix<SimpleEdge, SimpleEdgeIdentifier>(() -> new Dijkstra<>(graph));
+		final double[][] result = sut.costs(List.of(graph.edge(new SimpleEdgeIdentifier(0))), List.of(unreachable));
+		assertEqualsDouble(Double.POSITIVE_INFINITY, result[0][0]);
+	}
+
+	private static List<SimpleEdge> randomEdges(final Graph<SimpleEdge, SimpleEdgeIdentifier> graph,
+												final Random random, final int count) {
+		final List<SimpleEdge> result = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			result.add(graph.edge(new SimpleEdgeIdentifier(random.nextInt(500))));
+		}
+		return result;
+	}
+}
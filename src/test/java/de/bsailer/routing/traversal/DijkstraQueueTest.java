@@ -0,0 +1,108 @@
+package de.bsailer.routing.traversal;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class DijkstraQueueTest {
+
+	@Parameters(name = "{0}")
+	public static List<Object[]> queues() {
+		return List.of(
+				new Object[] { "binary", (Supplier<DijkstraQueue>) () -> new IndexedDaryHeap(2) },
+				new Object[] { "4-ary", (Supplier<DijkstraQueue>) IndexedDaryHeap::new },
+				new Object[] { "lazy", (Supplier<DijkstraQueue>) LazyDeletionHeap::new },
+				new Object[] { "priorityQueue", (Supplier<DijkstraQueue>) PriorityQueueDijkstraQueue::new });
+	}
+
+	@Parameter
+	public String name;
+
+	@Parameter(1)
+	public Supplier<DijkstraQueue> queueSupplier;
+
+	@Test
+	public void givenInsertedSlotsPollReturnsThemInKeyOrder() {
+		final var sut = queueSupplier.get();
+		sut.insert(3, 3.0D);
+		sut.insert(1, 1.0D);
+		sut.insert(2, 2.0D);
+		assertEquals(1, sut.poll());
+		assertEquals(2, sut.poll());
+		assertEquals(3, sut.poll());
+		assertTrue(sut.isEmpty());
+	}
+
+	@Test
+	public void givenDecreasedKeyPollReturnsSlotEarlier() {
+		final var sut = queueSupplier.get();
+		sut.insert(0, 5.0D);
+		sut.insert(1, 3.0D);
+		sut.decreaseKey(0, 1.0D);
+		assertEquals(0, sut.poll());
+		assertEquals(1, sut.poll());
+		assertTrue(sut.isEmpty());
+	}
+
+	@Test
+	public void givenPolledSlotItIsNoLongerContained() {
+		final var sut = queueSupplier.get();
+		sut.insert(7, 1.0D);
+		assertTrue(sut.contains(7));
+		sut.poll();
+		assertFalse(sut.contains(7));
+	}
+
+	@Test
+	public void givenClearedQueueSlotsCanBeInsertedAgain() {
+		final var sut = queueSupplier.get();
+		sut.insert(0, 1.0D);
+		sut.insert(1, 2.0D);
+		sut.clear();
+		assertTrue(sut.isEmpty());
+		assertFalse(sut.contains(0));
+		sut.insert(0, 3.0D);
+		assertEquals(0, sut.poll());
+	}
+
+	@Test
+	public void givenRandomOperationsPollReturnsNonDecreasingKeys() {
+		final var random = new Random(42);
+		final var sut = queueSupplier.get();
+		final int slots = 1000;
+		final double[] keys = new double[slots];
+		Arrays.fill(keys, Double.NaN);
+		for (int slot = 0; slot < slots; slot++) {
+			keys[slot] = random.nextDouble() * 100.0D;
+			sut.insert(slot, keys[slot]);
+		}
+		for (int i = 0; i < 3 * slots; i++) {
+			final int slot = random.nextInt(slots);
+			keys[slot] = keys[slot] * random.nextDouble();
+			sut.decreaseKey(slot, keys[slot]);
+		}
+		double previous = Double.NEGATIVE_INFINITY;
+		int polled = 0;
+		while (!sut.isEmpty()) {
+			final double key = keys[sut.poll()];
+			assertTrue(previous <= key);
+			previous = key;
+			polled++;
+		}
+		assertEquals(slots, polled);
+		assertEqualsDouble(previous, Arrays.stream(keys).max().orElseThrow());
+	}
+}
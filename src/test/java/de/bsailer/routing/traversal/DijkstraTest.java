@@ -3,6 +3,8 @@ package de.bsailer.routing.traversal;
 import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -13,6 +15,7 @@ import de.bsailer.routing.model.Route;
 import de.bsailer.routing.model.Graph;
 import de.bsailer.routing.model.impl.SimpleEdge;
 import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -41,6 +44,14 @@ public class DijkstraTest {
 
 	private Dijkstra<Edge<SimpleEdgeIdentifier>, SimpleEdgeIdentifier> sut;
 
+	@Before
+	public void setUp() {
+		doAnswer(inv -> {
+			graph.adjacents(inv.getArgument(0)).forEach(inv.getArgument(1));
+			return null;
+		}).when(graph).forEachAdjacent(any(), any());
+	}
+
 	/**
 	 * given situation:
 	 *
@@ -175,4 +186,25 @@ public class DijkstraTest {
 		assertEquals(Collections.singletonMap(targetEdge.id(), veryShortEdge.weight()), sut.costs(targetEdge));
 	}
 
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * start -> short (3.0) -> target
+	 *          long (4.0)  ->
+	 * </pre>
+	 *
+	 * a second run from long should not see anything from the first run.
+	 */
+	@Test
+	public void givenSecondRunResultsOfFirstRunAreDiscarded() {
+		when(graph.adjacents(startEdge.id())).thenReturn(List.of(shortEdge));
+		when(graph.adjacents(shortEdge.id())).thenReturn(List.of(targetEdge));
+		when(graph.adjacents(longEdge.id())).thenReturn(List.of(targetEdge));
+		sut = new Dijkstra<>(graph);
+		sut.pathFromTo(startEdge, targetEdge);
+		assertEquals(new Route<>(List.of(longEdge, targetEdge)), sut.pathFromTo(longEdge, targetEdge).get());
+		assertFalse(sut.routes(shortEdge).get(shortEdge.id()).isPresent());
+	}
+
 }
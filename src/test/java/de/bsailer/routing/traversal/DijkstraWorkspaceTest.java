@@ -0,0 +1,53 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DijkstraWorkspaceTest {
+
+	@Test
+	public void givenResetEntriesOfPreviousEpochAreInvalid() {
+		final var sut = new DijkstraWorkspace();
+		sut.reset();
+		sut.reach(5, null, DijkstraWorkspace.NO_PREDECESSOR, 1.0D);
+		sut.settle(5);
+		assertTrue(sut.isReached(5));
+		assertTrue(sut.isSettled(5));
+		assertEquals(1, sut.touchedCount());
+		sut.reset();
+		assertFalse(sut.isReached(5));
+		assertFalse(sut.isSettled(5));
+		assertEquals(0, sut.touchedCount());
+	}
+
+	@Test
+	public void givenSharedWorkspaceQueriesEqualFreshQueries() {
+		final var graph = randomGraph(3, 300, 3);
+		final var random = new Random(11);
+		final var workspace = new DijkstraWorkspace();
+		for (int query = 0; query < 50; query++) {
+			final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(300)));
+			final var target = graph.edge(new SimpleEdgeIdentifier(random.nextInt(300)));
+			assertEquals(new IndexedDijkstra<>(graph).pathFromTo(start, target),
+					new IndexedDijkstra<>(graph, workspace).pathFromTo(start, target));
+		}
+	}
+
+	@Test
+	public void givenThreadLocalProviderEachThreadGetsItsOwnWorkspace() throws Exception {
+		final var sut = DijkstraWorkspaces.threadLocal();
+		final var workspace = sut.get();
+		assertSame(workspace, sut.get());
+		assertNotSame(workspace, CompletableFuture.supplyAsync(sut).get());
+	}
+}
@@ -0,0 +1,196 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.Route;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedDijkstraTest {
+
+	private final SimpleEdge startEdge = new SimpleEdge(new SimpleEdgeIdentifier(0)).setWeight(1.0D);
+
+	private final SimpleEdge shortEdge = new SimpleEdge(new SimpleEdgeIdentifier(1)).setWeight(3.0D);
+
+	private final SimpleEdge longEdge = new SimpleEdge(new SimpleEdgeIdentifier(2)).setWeight(4.0D);
+
+	private final SimpleEdge targetEdge = new SimpleEdge(new SimpleEdgeIdentifier(3));
+
+	private final SimpleEdge unconnectedEdge = new SimpleEdge(new SimpleEdgeIdentifier(4));
+
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * start -> short (3.0) -> target
+	 *       -> long (4.0)  ->
+	 * </pre>
+	 *
+	 * short should be chosen.
+	 */
+	@Test
+	public void givenTwoEdgesShorterChosenAsRoute() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		assertEquals(new Route<>(List.of(startEdge, shortEdge, targetEdge)), sut.pathFromTo(startEdge, targetEdge).get());
+	}
+
+	@Test
+	public void givenTwoEdgesShorterCostShouldBeReturned() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		assertEqualsDouble(4.0D, sut.costFromTo(startEdge, targetEdge));
+	}
+
+	@Test
+	public void givenUnreachableTargetRouteIsEmptyAndCostInfinite() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		assertFalse(sut.pathFromTo(startEdge, unconnectedEdge).isPresent());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.costFromTo(startEdge, unconnectedEdge));
+	}
+
+	@Test
+	public void givenRandomGraphsResultsEqualDijkstra() {
+		final var random = new Random(7);
+		for (int run = 0; run < 20; run++) {
+			final var graph = randomGraph(run, 200, 3);
+			final var dijkstra = new Dijkstra<>(graph);
+			final var sut = new IndexedDijkstra<>(graph);
+			final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(200)));
+			final var targets = new SimpleEdge[] { graph.edge(new SimpleEdgeIdentifier(random.nextInt(200))),
+					graph.edge(new SimpleEdgeIdentifier(random.nextInt(200))),
+					graph.edge(new SimpleEdgeIdentifier(random.nextInt(200))) };
+			dijkstra.run(start);
+			sut.run(start);
+			assertEquals(dijkstra.costs(targets), sut.costs(targets));
+			assertEquals(dijkstra.routes(targets), sut.routes(targets));
+		}
+	}
+
+	@Test
+	public void givenStatisticsListenerRunShouldReportCounters() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		final List<SearchStatistics> reported = new ArrayList<>();
+		sut.setStatisticsListener(statistics -> reported.add(statistics.snapshot()));
+		sut.run(startEdge);
+		assertEquals(1, reported.size());
+		final SearchStatistics statistics = reported.get(0);
+		assertEquals(4L, statistics.settledCount());
+		assertEquals(5L, statistics.relaxationCount());
+		assertEquals(0L, statistics.decreaseKeyCount());
+		assertEquals(2, statistics.peakQueueSize());
+		assertTrue(statistics.durationNanos() >= statistics.adjacencyNanos());
+	}
+
+	@Test
+	public void givenDecreasedKeyStatisticsShouldCountIt() {
+		final var graph = twoEdgesGraph();
+		longEdge.setWeight(2.0D);
+		shortEdge.setWeight(5.0D);
+		final var sut = new IndexedDijkstra<>(graph);
+		final var aggregated = new AggregatedSearchStatistics();
+		sut.setStatisticsListener(aggregated);
+		sut.run(startEdge);
+		assertEquals(1L, aggregated.searchCount());
+		assertEquals(1L, aggregated.decreaseKeyCount());
+	}
+
+	@Test
+	public void givenRandomGraphsStatisticsShouldEqualDijkstraAndNotChangeResults() {
+		final var random = new Random(11);
+		for (int run = 0; run < 10; run++) {
+			final var graph = randomGraph(run, 200, 3);
+			final var dijkstra = new Dijkstra<>(graph);
+			final var dijkstraStatistics = new AggregatedSearchStatistics();
+			dijkstra.setStatisticsListener(dijkstraStatistics);
+			final var plain = new IndexedDijkstra<>(graph);
+			final var sut = new IndexedDijkstra<>(graph);
+			final var sutStatistics = new AggregatedSearchStatistics();
+			sut.setStatisticsListener(sutStatistics);
+			final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(200)));
+			final var target = graph.edge(new SimpleEdgeIdentifier(random.nextInt(200)));
+			dijkstra.run(start);
+			plain.run(start);
+			sut.run(start);
+			assertEquals(plain.routes(target), sut.routes(target));
+			assertEquals(dijkstraStatistics.settledCount(), sutStatistics.settledCount());
+			assertEquals(dijkstraStatistics.relaxationCount(), sutStatistics.relaxationCount());
+		}
+	}
+
+	@Test
+	public void givenStatisticsListenerRemovedNothingShouldBeReported() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		final var aggregated = new AggregatedSearchStatistics();
+		sut.setStatisticsListener(aggregated);
+		sut.costFromTo(startEdge, targetEdge);
+		sut.setStatisticsListener(null);
+		sut.costFromTo(startEdge, targetEdge);
+		assertEquals(1L, aggregated.searchCount());
+	}
+
+	@Test
+	public void givenBannedTurnRouteAvoidsIt() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		sut.setTurnRestrictions(new TurnRestrictions.Builder().ban(1, 3).build());
+		assertEquals(new Route<>(List.of(startEdge, longEdge, targetEdge)), sut.pathFromTo(startEdge, targetEdge).get());
+		assertEqualsDouble(5.0D, sut.costFromTo(startEdge, targetEdge));
+	}
+
+	@Test
+	public void givenTurnCostItIsAddedToReachCost() {
+		final var sut = new IndexedDijkstra<>(twoEdgesGraph());
+		sut.setTurnRestrictions(new TurnRestrictions.Builder().turnCost(0, 1, 0.5D).turnCost(1, 3, 1.0D).build());
+		assertEqualsDouble(5.0D, sut.costFromTo(startEdge, targetEdge));
+		assertEquals(new Route<>(List.of(startEdge, longEdge, targetEdge)), sut.pathFromTo(startEdge, targetEdge).get());
+	}
+
+	/*
+	 * banning turns must be equivalent to dropping the adjacency of the graph.
+	 */
+	@Test
+	public void givenRandomBannedTurnsResultsEqualGraphWithoutThem() {
+		final var random = new Random(8);
+		final var graph = randomGraph(8, 300, 3);
+		final var reducedGraph = new IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		graph.forEachEdge(reducedGraph::addEdge);
+		final var builder = new TurnRestrictions.Builder();
+		graph.forEachEdge(edge -> graph.forEachAdjacent(edge.id(), adjacent -> {
+			if ((edge.id().index() * 31 + adjacent.id().index()) % 4 == 0) {
+				builder.ban(edge.id().index(), adjacent.id().index());
+			} else {
+				reducedGraph.connectEdges(edge.id(), adjacent.id());
+			}
+		}));
+		final var restrictions = builder.build();
+		final var expected = new IndexedDijkstra<>(reducedGraph);
+		final var sut = new IndexedDijkstra<>(graph);
+		sut.setTurnRestrictions(restrictions);
+		for (int start = 0; start < 30; start++) {
+			final var targets = new SimpleEdge[] { graph.edge(new SimpleEdgeIdentifier(random.nextInt(300))),
+					graph.edge(new SimpleEdgeIdentifier(random.nextInt(300))) };
+			expected.run(graph.edge(new SimpleEdgeIdentifier(start)));
+			sut.run(graph.edge(new SimpleEdgeIdentifier(start)));
+			assertEquals(expected.costs(targets), sut.costs(targets));
+		}
+	}
+
+	private IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> twoEdgesGraph() {
+		final var graph = new IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		List.of(startEdge, shortEdge, longEdge, targetEdge, unconnectedEdge).forEach(graph::addEdge);
+		graph.connectEdges(startEdge.id(), shortEdge.id());
+		graph.connectEdges(startEdge.id(), longEdge.id());
+		graph.connectEdges(shortEdge.id(), targetEdge.id());
+		graph.connectEdges(longEdge.id(), targetEdge.id());
+		graph.connectEdges(targetEdge.id(), startEdge.id());
+		return graph;
+	}
+}
@@ -0,0 +1,127 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+
+public class IsochroneTest {
+
+	private final IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> graph = randomGraph(21, 400, 3);
+
+	@Test
+	public void givenBudgetResultEqualsEdgesWithinBudgetOfDijkstra() {
+		final var sut = new Isochrone<>(graph);
+		for (int start = 0; start < 20; start++) {
+			assertEquals(expected(start, 15.0D), actual(sut.compute(15.0D, edge(start))));
+		}
+	}
+
+	@Test
+	public void givenZeroBudgetOnlyStartsAreReachable() {
+		final var result = new Isochrone<>(graph).compute(0.0D, edge(3), edge(5), edge(3));
+		assertEquals(2, result.size());
+		assertEquals(3, result.index(0));
+		assertEquals(5, result.index(1));
+		assertEqualsDouble(0.0D, result.cost(1));
+	}
+
+	@Test
+	public void givenTurnRestrictionsResultEqualsEdgesWithinBudgetOfIndexedDijkstra() {
+		final var builder = new TurnRestrictions.Builder();
+		graph.forEachEdge(edge -> graph.forEachAdjacent(edge.id(), adjacent -> {
+			final int hash = edge.id().index() * 31 + adjacent.id().index();
+			if (hash % 5 == 0) {
+				builder.ban(edge.id().index(), adjacent.id().index());
+			} else if (hash % 5 == 1) {
+				builder.turnCost(edge.id().index(), adjacent.id().index(), 2.0D);
+			}
+		}));
+		final var restrictions = builder.build();
+		final var sut = new Isochrone<>(graph);
+		sut.setTurnRestrictions(restrictions);
+		final var dijkstra = new IndexedDijkstra<>(graph);
+		dijkstra.setTurnRestrictions(restrictions);
+		for (int start = 0; start < 20; start++) {
+			dijkstra.run(edge(start));
+			final Map<Integer, Double> expected = new HashMap<>();
+			for (int index = 0; index < 400; index++) {
+				final double cost = dijkstra.costs(edge(index)).get(new SimpleEdgeIdentifier(index));
+				if (cost <= 15.0D) {
+					expected.put(index, cost);
+				}
+			}
+			assertEquals(expected, actual(sut.compute(15.0D, edge(start))));
+		}
+	}
+
+	@Test
+	public void givenStatisticsListenerEachReachableEdgeIsSettledOnce() {
+		final var sut = new Isochrone<>(graph);
+		final var aggregated = new AggregatedSearchStatistics();
+		sut.setStatisticsListener(aggregated);
+		final var result = sut.compute(15.0D, edge(0));
+		assertEquals(1L, aggregated.searchCount());
+		assertEquals(result.size(), aggregated.settledCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNegativeBudgetComputeFails() {
+		new Isochrone<>(graph).compute(-1.0D, edge(0));
+	}
+
+	@Test
+	public void givenConcurrentQueriesResultsEqualSequentialOnes() throws InterruptedException, ExecutionException {
+		final var sut = new Isochrone<>(graph);
+		final var executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Map<Integer, Double>>> futures = new ArrayList<>();
+			for (int start = 0; start < 40; start++) {
+				final int index = start;
+				futures.add(executor.submit(() -> actual(sut.compute(20.0D, edge(index)))));
+			}
+			for (int start = 0; start < 40; start++) {
+				assertEquals(expected(start, 20.0D), futures.get(start).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private Map<Integer, Double> expected(final int start, final double budget) {
+		final var dijkstra = new Dijkstra<>(graph);
+		dijkstra.run(edge(start));
+		final Map<Integer, Double> result = new HashMap<>();
+		for (int index = 0; index < 400; index++) {
+			final double cost = dijkstra.costs(edge(index)).get(new SimpleEdgeIdentifier(index));
+			if (cost <= budget) {
+				result.put(index, cost);
+			}
+		}
+		return result;
+	}
+
+	private static Map<Integer, Double> actual(final IsochroneResult result) {
+		final Map<Integer, Double> map = new HashMap<>();
+		for (int position = 0; position < result.size(); position++) {
+			map.put(result.index(position), result.cost(position));
+		}
+		return map;
+	}
+
+	private SimpleEdge edge(final int index) {
+		return graph.edge(new SimpleEdgeIdentifier(index));
+	}
+}
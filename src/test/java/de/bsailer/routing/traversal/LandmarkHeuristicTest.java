@@ -0,0 +1,81 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.test.SettledCounter;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.countEdges;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static de.bsailer.test.RandomGraphs.randomLocatedGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LandmarkHeuristicTest {
+
+	@Test
+	public void givenRandomGraphEstimatesAreAdmissible() {
+		final var graph = randomGraph(4, 300, 3);
+		final var sut = LandmarkHeuristic.create(graph, 4);
+		final var dijkstra = new Dijkstra<>(graph);
+		final var random = new Random(4);
+		for (int query = 0; query < 30; query++) {
+			final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(300)));
+			dijkstra.run(start);
+			for (int index = 0; index < 300; index++) {
+				final var target = graph.edge(new SimpleEdgeIdentifier(index));
+				assertFalse(sut.estimate(start, target) > dijkstra.costs(target).get(target.id()));
+			}
+		}
+	}
+
+	@Test
+	public void givenLandmarkCountDistinctLandmarksSelected() {
+		final var graph = randomGraph(5, 100, 3);
+		final var sut = LandmarkHeuristic.create(graph, 8);
+		final Set<Integer> landmarks = new HashSet<>();
+		for (int l = 0; l < sut.landmarkCount(); l++) {
+			landmarks.add(sut.landmark(l));
+		}
+		assertEquals(8, landmarks.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNoLandmarksCreationFails() {
+		LandmarkHeuristic.create(randomGraph(5, 10, 3), 0);
+	}
+
+	@Test
+	public void givenRoadLikeGraphsAStarCostsEqualDijkstraWithFewerSettledEdges() {
+		final var random = new Random(8);
+		long dijkstraSettled = 0;
+		long altSettled = 0;
+		for (int graphSeed = 0; graphSeed < 3; graphSeed++) {
+			final var graph = randomLocatedGraph(graphSeed, 300, 3);
+			final int edgeCount = countEdges(graph);
+			final var dijkstra = new Dijkstra<>(graph);
+			final var sut = new AStar<>(graph, LandmarkHeuristic.create(graph, 8));
+			for (int query = 0; query < 30; query++) {
+				final var start = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+				final var target = graph.edge(new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+				final var dijkstraCounter = new SettledCounter<>(target);
+				dijkstra.setAborter(dijkstraCounter);
+				dijkstra.run(start);
+				final var altCounter = new SettledCounter<>(target);
+				sut.setTarget(target);
+				sut.setAborter(altCounter);
+				sut.run(start);
+				assertEqualsDouble(dijkstra.costs(target).get(target.id()), sut.costs(target).get(target.id()));
+				dijkstraSettled += dijkstraCounter.settled();
+				altSettled += altCounter.settled();
+			}
+		}
+		assertTrue("ALT settled " + altSettled + " of Dijkstra's " + dijkstraSettled,
+				altSettled * 2 < dijkstraSettled);
+	}
+}
@@ -0,0 +1,49 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MaxCostDijkstraAborterTest {
+
+	private final SimpleEdge current = new SimpleEdge(new SimpleEdgeIdentifier(1));
+
+	@Test
+	public void abortsBeyondMaxCost() {
+		final var sut = new MaxCostDijkstraAborter<SimpleEdge>(10.0D);
+		assertTrue(sut.abort(current, 10.5D));
+	}
+
+	@Test
+	public void continuesWithinMaxCost() {
+		final var sut = new MaxCostDijkstraAborter<SimpleEdge>(10.0D);
+		assertFalse(sut.abort(current, 10.0D));
+		assertFalse(sut.abort(current));
+	}
+
+	@Test
+	public void givenTraversalEdgesWithinMaxCostAreSettled() {
+		final var graph = randomGraph(6, 300, 3);
+		final var start = graph.edge(new SimpleEdgeIdentifier(0));
+		final var expected = new Dijkstra<>(graph);
+		expected.run(start);
+		final var sut = new Dijkstra<>(graph);
+		sut.setAborter(new MaxCostDijkstraAborter<>(12.0D));
+		sut.run(start);
+		int withinMaxCost = 0;
+		for (int index = 0; index < 300; index++) {
+			final var edge = graph.edge(new SimpleEdgeIdentifier(index));
+			final double cost = expected.costs(edge).get(edge.id());
+			if (cost <= 12.0D) {
+				withinMaxCost++;
+				assertEqualsDouble(cost, sut.costs(edge).get(edge.id()));
+			}
+		}
+		assertTrue(withinMaxCost > 1);
+	}
+}
@@ -0,0 +1,137 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.CompressedSparseRowGraph;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.bsailer.test.RandomGraphs.randomGraph;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StronglyConnectedComponentsTest {
+
+	/**
+	 * given situation:
+	 *
+	 * <pre>
+	 * 0 <-> 1 -> 2 <-> 3     4
+	 * </pre>
+	 */
+	@Test
+	public void givenSmallGraphComponentsAndReachabilityShouldBeExact() {
+		final var sut = StronglyConnectedComponents.create(smallGraph());
+		assertEquals(3, sut.componentCount());
+		assertEquals(sut.component(0), sut.component(1));
+		assertEquals(sut.component(2), sut.component(3));
+		assertNotEquals(sut.component(1), sut.component(2));
+		assertTrue(sut.mayReach(1, 0));
+		assertTrue(sut.mayReach(0, 3));
+		assertFalse(sut.mayReach(3, 0));
+		assertFalse(sut.mayReach(0, 4));
+		assertFalse(sut.mayReach(4, 0));
+		assertTrue(sut.mayReach(4, 4));
+		assertEquals(2, sut.componentSize(sut.largestComponent()));
+	}
+
+	@Test
+	public void givenUnusedIndexComponentShouldBeNone() {
+		final var sut = StronglyConnectedComponents.create(smallGraph());
+		assertEquals(-1, sut.component(7));
+		assertEquals(-1, sut.component(-1));
+		assertFalse(sut.mayReach(0, 7));
+	}
+
+	@Test
+	public void givenRandomGraphsUnreachableAnswersShouldBeCorrect() {
+		for (int run = 0; run < 20; run++) {
+			final var graph = randomGraph(run, 150, 2);
+			final var sut = StronglyConnectedComponents.create(graph);
+			for (int start = 0; start < 150; start += 7) {
+				final var dijkstra = new IndexedDijkstra<>(graph);
+				dijkstra.run(graph.edge(new SimpleEdgeIdentifier(start)));
+				for (int target = 0; target < 150; target++) {
+					final SimpleEdge targetEdge = graph.edge(new SimpleEdgeIdentifier(target));
+					final boolean reachable = dijkstra.costs(targetEdge).get(targetEdge.id()) < Double.POSITIVE_INFINITY;
+					if (reachable) {
+						assertTrue(sut.mayReach(start, target));
+					}
+					if (sut.component(start) == sut.component(target)) {
+						assertTrue(reachable);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void givenLongChainShouldNotOverflowStackAndOrderTopologically() {
+		final int edgeCount = 1_000_000;
+		final SimpleEdge[] edges = new SimpleEdge[edgeCount];
+		final int[] offsets = new int[edgeCount + 1];
+		final int[] targets = new int[edgeCount - 1];
+		for (int index = 0; index < edgeCount; index++) {
+			edges[index] = new SimpleEdge(new SimpleEdgeIdentifier(index)).setWeight(1.0D);
+			if (index + 1 < edgeCount) {
+				targets[index] = index + 1;
+			}
+			offsets[index + 1] = Math.min(index + 1, edgeCount - 1);
+		}
+		final var sut = StronglyConnectedComponents.create(CompressedSparseRowGraph.wrap(edges, offsets, targets));
+		assertEquals(edgeCount, sut.componentCount());
+		assertTrue(sut.mayReach(0, edgeCount - 1));
+		assertTrue(sut.mayReach(12345, 54321));
+		assertFalse(sut.mayReach(edgeCount - 1, 0));
+		assertFalse(sut.mayReach(54321, 12345));
+	}
+
+	@Test
+	public void givenComponentsIndexedDijkstraShouldAnswerUnreachableWithoutSearch() {
+		final var graph = smallGraph();
+		final var sut = new IndexedDijkstra<>(graph);
+		sut.setComponents(StronglyConnectedComponents.create(graph));
+		final var statistics = new AggregatedSearchStatistics();
+		sut.setStatisticsListener(statistics);
+		final SimpleEdge start = graph.edge(new SimpleEdgeIdentifier(3));
+		final SimpleEdge target = graph.edge(new SimpleEdgeIdentifier(0));
+		assertFalse(sut.pathFromTo(start, target).isPresent());
+		assertEquals(Double.POSITIVE_INFINITY, sut.costFromTo(start, target), 0.0D);
+		assertEquals(0L, statistics.searchCount());
+		assertEquals(2.0D, sut.costFromTo(target, graph.edge(new SimpleEdgeIdentifier(2))), 0.0D);
+		assertEquals(1L, statistics.searchCount());
+	}
+
+	@Test
+	public void givenRandomGraphsIndexedDijkstraWithComponentsShouldEqualWithout() {
+		for (int run = 0; run < 10; run++) {
+			final var graph = randomGraph(run, 150, 2);
+			final var plain = new IndexedDijkstra<>(graph);
+			final var sut = new IndexedDijkstra<>(graph);
+			sut.setComponents(StronglyConnectedComponents.create(graph));
+			for (int start = 0; start < 150; start += 13) {
+				for (int target = 0; target < 150; target += 11) {
+					final SimpleEdge startEdge = graph.edge(new SimpleEdgeIdentifier(start));
+					final SimpleEdge targetEdge = graph.edge(new SimpleEdgeIdentifier(target));
+					assertEquals(plain.pathFromTo(startEdge, targetEdge), sut.pathFromTo(startEdge, targetEdge));
+				}
+			}
+		}
+	}
+
+	private static IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> smallGraph() {
+		final var graph = new IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		for (int index = 0; index < 5; index++) {
+			graph.addEdge(new SimpleEdge(new SimpleEdgeIdentifier(index)).setWeight(1.0D));
+		}
+		for (final int[] arc : List.of(new int[] { 0, 1 }, new int[] { 1, 0 }, new int[] { 1, 2 },
+				new int[] { 2, 3 }, new int[] { 3, 2 })) {
+			graph.connectEdges(new SimpleEdgeIdentifier(arc[0]), new SimpleEdgeIdentifier(arc[1]));
+		}
+		return graph;
+	}
+}
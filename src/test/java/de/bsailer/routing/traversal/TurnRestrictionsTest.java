@@ -0,0 +1,64 @@
+package de.bsailer.routing.traversal;
+
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import org.junit.Test;
+
+import java.util.List;
+
+import static de.bsailer.test.ExtendedAssert.assertEqualsDouble;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TurnRestrictionsTest {
+
+	@Test
+	public void givenEntriesTurnCostsAreFound() {
+		final var sut = new TurnRestrictions.Builder()
+				.turnCost(7, 3, 2.5D)
+				.ban(1, 2)
+				.turnCost(1, 5, 1.0D)
+				.build();
+		assertEquals(3, sut.size());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.turnCost(1, 2));
+		assertEqualsDouble(1.0D, sut.turnCost(1, 5));
+		assertEqualsDouble(2.5D, sut.turnCost(7, 3));
+		assertEqualsDouble(0.0D, sut.turnCost(1, 3));
+		assertEqualsDouble(0.0D, sut.turnCost(3, 7));
+		assertTrue(sut.restrictsFrom(7));
+		assertFalse(sut.restrictsFrom(3));
+	}
+
+	@Test
+	public void givenSameTurnTwiceHighestCostWins() {
+		final var sut = new TurnRestrictions.Builder()
+				.turnCost(1, 2, 3.0D)
+				.ban(1, 2)
+				.turnCost(1, 2, 1.0D)
+				.build();
+		assertEquals(1, sut.size());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.turnCost(1, 2));
+	}
+
+	@Test
+	public void givenTwoEdgePathProhibitionItIsBanned() {
+		final var builder = new TurnRestrictions.Builder();
+		assertTrue(builder.addProhibitedPath(List.of(new SimpleEdgeIdentifier(4), new SimpleEdgeIdentifier(9))));
+		assertFalse(builder.addProhibitedPath(List.of(new SimpleEdgeIdentifier(4), new SimpleEdgeIdentifier(9),
+				new SimpleEdgeIdentifier(1))));
+		final var sut = builder.build();
+		assertEquals(1, sut.size());
+		assertEqualsDouble(Double.POSITIVE_INFINITY, sut.turnCost(4, 9));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void givenNegativeTurnCostBuilderFails() {
+		new TurnRestrictions.Builder().turnCost(1, 2, -1.0D);
+	}
+
+	@Test
+	public void givenNoneNothingIsRestricted() {
+		assertEquals(0, TurnRestrictions.NONE.size());
+		assertEqualsDouble(0.0D, TurnRestrictions.NONE.turnCost(0, 1));
+	}
+}
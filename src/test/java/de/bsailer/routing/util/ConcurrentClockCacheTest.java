@@ -0,0 +1,131 @@
+package de.bsailer.routing.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentClockCacheTest {
+
+	@Test
+	public void givenCachedKeyGetCountsHitAndDoesNotRecompute() {
+		final AtomicInteger loads = new AtomicInteger();
+		final var sut = new ConcurrentClockCache<Integer, String>(10, String::length);
+		assertEquals("a1", sut.get(1, k -> {
+			loads.incrementAndGet();
+			return "a" + k;
+		}));
+		assertEquals("a1", sut.get(1, k -> {
+			loads.incrementAndGet();
+			return "b" + k;
+		}));
+		assertEquals(1, loads.get());
+		final CacheStatistics statistics = sut.statistics();
+		assertEquals(1, statistics.hitCount());
+		assertEquals(1, statistics.missCount());
+		assertEquals(0.5D, statistics.hitRate(), 0.0D);
+		assertEquals(2, statistics.weight());
+	}
+
+	/*
+	 * below the minimum segment weight there is a single segment, so the clock order is that of the inserts.
+	 */
+	@Test
+	public void givenWeightExceededUnreferencedEntryIsEvictedFirst() {
+		final var sut = new ConcurrentClockCache<Integer, String>(6, String::length);
+		sut.get(1, k -> "aa");
+		sut.get(2, k -> "bb");
+		sut.get(3, k -> "cc");
+		sut.get(1, k -> "xx");
+		sut.get(4, k -> "dd");
+		assertEquals("aa", sut.get(1, k -> "xx"));
+		assertEquals("cc", sut.get(3, k -> "xx"));
+		assertEquals("xx", sut.get(2, k -> "xx"));
+		assertTrue(sut.statistics().evictionCount() >= 1);
+		assertTrue(sut.statistics().weight() <= 6);
+	}
+
+	@Test
+	public void givenManyKeysWeightStaysWithinMaximum() {
+		final long maxWeight = 16 * ConcurrentClockCache.MIN_SEGMENT_WEIGHT;
+		final var sut = new ConcurrentClockCache<Integer, String>(maxWeight, String::length);
+		for (int key = 0; key < 10_000; key++) {
+			sut.get(key, k -> "abc");
+			sut.get(key / 2, k -> "abc");
+		}
+		assertTrue(sut.statistics().weight() <= maxWeight);
+		assertTrue(sut.statistics().evictionCount() > 0);
+		assertEquals(sut.statistics().weight(), 3L * sut.statistics().size());
+	}
+
+	@Test
+	public void givenFailingLoaderKeyIsNotCached() {
+		final var sut = new ConcurrentClockCache<Integer, String>(6, String::length);
+		try {
+			sut.get(1, k -> {
+				throw new IllegalArgumentException("failed");
+			});
+			fail("expected IllegalArgumentException");
+		} catch (final IllegalArgumentException expected) {
+			assertEquals("failed", expected.getMessage());
+		}
+		assertEquals(0, sut.statistics().size());
+		assertEquals("a", sut.get(1, k -> "a"));
+	}
+
+	@Test
+	public void givenInvalidateAllCacheIsEmpty() {
+		final var sut = new ConcurrentClockCache<Integer, String>(6, String::length);
+		sut.get(1, k -> "aa");
+		sut.invalidateAll();
+		assertEquals(0, sut.statistics().size());
+		assertEquals(0, sut.statistics().weight());
+		assertEquals("bb", sut.get(1, k -> "bb"));
+	}
+
+	@Test
+	public void givenValueComputedAcrossInvalidateAllItIsNotCached() {
+		final var sut = new ConcurrentClockCache<Integer, String>(6, String::length);
+		assertEquals("aa", sut.get(1, k -> {
+			sut.invalidateAll();
+			return "aa";
+		}));
+		assertEquals(0, sut.statistics().size());
+	}
+
+	@Test
+	public void givenConcurrentRequestsAllGetTheStoredValue() throws InterruptedException, ExecutionException {
+		final var sut = new ConcurrentClockCache<Integer, Object>(100, v -> 1);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch start = new CountDownLatch(1);
+		try {
+			final List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return sut.get(7, k -> new Object());
+				}));
+			}
+			start.countDown();
+			final Object first = futures.get(0).get();
+			for (final Future<Object> future : futures) {
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(32, sut.statistics().hitCount() + sut.statistics().missCount());
+		assertEquals(1, sut.statistics().size());
+	}
+}
@@ -0,0 +1,120 @@
+package de.bsailer.routing.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ConcurrentLruCacheTest {
+
+	@Test
+	public void givenCachedKeyGetCountsHitAndDoesNotReload() {
+		final AtomicInteger loads = new AtomicInteger();
+		final var sut = new ConcurrentLruCache<Integer, String>(10, String::length);
+		assertEquals("a1", sut.get(1, k -> {
+			loads.incrementAndGet();
+			return "a" + k;
+		}));
+		assertEquals("a1", sut.get(1, k -> {
+			loads.incrementAndGet();
+			return "b" + k;
+		}));
+		assertEquals(1, loads.get());
+		assertEquals(1, sut.hitCount());
+		assertEquals(1, sut.missCount());
+		assertEquals(2, sut.weight());
+	}
+
+	@Test
+	public void givenStatisticsViewItReflectsCounters() {
+		final var sut = new ConcurrentLruCache<Integer, String>(10, String::length);
+		final CacheStatistics statistics = sut.statistics();
+		sut.get(1, k -> "a" + k);
+		sut.get(1, k -> "a" + k);
+		assertEquals(1, statistics.hitCount());
+		assertEquals(1, statistics.missCount());
+		assertEquals(0.5D, statistics.hitRate(), 0.0D);
+		assertEquals(2, statistics.weight());
+		assertEquals(1, statistics.size());
+	}
+
+	@Test
+	public void givenWeightExceededLeastRecentlyUsedIsEvicted() {
+		final var sut = new ConcurrentLruCache<Integer, String>(6, String::length);
+		sut.get(1, k -> "aa");
+		sut.get(2, k -> "bb");
+		sut.get(3, k -> "cc");
+		sut.get(1, k -> "xx");
+		sut.get(4, k -> "dd");
+		assertNull(sut.getIfPresent(2));
+		assertEquals("aa", sut.getIfPresent(1));
+		assertEquals(1, sut.evictionCount());
+		assertEquals(6, sut.weight());
+		assertEquals(3, sut.size());
+	}
+
+	@Test
+	public void givenFailingLoaderKeyIsNotCached() {
+		final var sut = new ConcurrentLruCache<Integer, String>(6, String::length);
+		try {
+			sut.get(1, k -> {
+				throw new IllegalArgumentException("failed");
+			});
+			fail("expected IllegalArgumentException");
+		} catch (final IllegalArgumentException expected) {
+			assertEquals("failed", expected.getMessage());
+		}
+		assertEquals(0, sut.size());
+		assertEquals("a", sut.get(1, k -> "a"));
+	}
+
+	@Test
+	public void givenInvalidateAllCacheIsEmpty() {
+		final var sut = new ConcurrentLruCache<Integer, String>(6, String::length);
+		sut.get(1, k -> "aa");
+		sut.invalidateAll();
+		assertEquals(0, sut.size());
+		assertEquals(0, sut.weight());
+	}
+
+	@Test
+	public void givenConcurrentRequestsKeyIsLoadedOnce() throws InterruptedException, ExecutionException {
+		final AtomicInteger loads = new AtomicInteger();
+		final var sut = new ConcurrentLruCache<Integer, Object>(100, v -> 1);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch start = new CountDownLatch(1);
+		try {
+			final List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return sut.get(7, k -> {
+						loads.incrementAndGet();
+						return new Object();
+					});
+				}));
+			}
+			start.countDown();
+			final Object first = futures.get(0).get();
+			for (final Future<Object> future : futures) {
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, sut.missCount());
+		assertEquals(31, sut.hitCount());
+	}
+}
@@ -0,0 +1,103 @@
+package de.bsailer.test;
+
+import de.bsailer.routing.model.Coordinate;
+import de.bsailer.routing.model.EnumerableGraph;
+import de.bsailer.routing.model.impl.IndexBasedSimpleGraph;
+import de.bsailer.routing.model.impl.SimpleEdge;
+import de.bsailer.routing.model.impl.SimpleEdgeIdentifier;
+import de.bsailer.routing.model.impl.SimpleLocatedEdge;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Creates small reproducible random graphs for comparing traversal implementations.
+ */
+public final class RandomGraphs {
+
+	private RandomGraphs() {
+		throw new IllegalStateException("no instance");
+	}
+
+	/**
+	 * Creates a graph with edge ids {@code 0..edgeCount-1}, integral weights {@code 1..10} and between one and
+	 * {@code maxAdjacents} random adjacents per edge.
+	 */
+	public static IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier> randomGraph(final long seed,
+																					  final int edgeCount,
+																					  final int maxAdjacents) {
+		final var random = new Random(seed);
+		final var result = new IndexBasedSimpleGraph<SimpleEdge, SimpleEdgeIdentifier>();
+		for (int i = 0; i < edgeCount; i++) {
+			result.addEdge(new SimpleEdge(new SimpleEdgeIdentifier(i)).setWeight(1 + random.nextInt(10)));
+		}
+		for (int i = 0; i < edgeCount; i++) {
+			final int adjacentCount = 1 + random.nextInt(maxAdjacents);
+			for (int a = 0; a < adjacentCount; a++) {
+				result.connectEdges(new SimpleEdgeIdentifier(i), new SimpleEdgeIdentifier(random.nextInt(edgeCount)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Counts the edges of a graph, e.g. to draw random edge ids of a graph with unknown size.
+	 */
+	public static int countEdges(final EnumerableGraph<?, ?> graph) {
+		final int[] result = new int[1];
+		graph.forEachEdge(e -> result[0]++);
+		return result[0];
+	}
+
+	/**
+	 * Creates a road-like graph of {@code nodeCount} random points within a 1000 x 1000 square, each connected in both
+	 * directions to its {@code neighbours} nearest points.  Edges run between points with weights between 1 and 1.5
+	 * times their length, i.e. a maximum speed of 1; adjacents are all edges leaving the end point.
+	 */
+	public static IndexBasedSimpleGraph<SimpleLocatedEdge, SimpleEdgeIdentifier> randomLocatedGraph(final long seed,
+																								   final int nodeCount,
+																								   final int neighbours) {
+		final var random = new Random(seed);
+		final Coordinate[] nodes = new Coordinate[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			nodes[i] = new Coordinate(random.nextDouble() * 1000, random.nextDouble() * 1000);
+		}
+		final boolean[][] connected = new boolean[nodeCount][nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			final int from = node;
+			final Coordinate origin = nodes[from];
+			IntStream.range(0, nodeCount)
+					.filter(i -> nodes[i] != origin)
+					.boxed()
+					.sorted(Comparator.comparingDouble(i -> nodes[i].distance(origin)))
+					.limit(neighbours)
+					.forEach(to -> connected[from][to] = connected[to][from] = true);
+		}
+		final var result = new IndexBasedSimpleGraph<SimpleLocatedEdge, SimpleEdgeIdentifier>();
+		final List<List<SimpleLocatedEdge>> outgoing = new ArrayList<>();
+		final List<SimpleLocatedEdge> edges = new ArrayList<>();
+		final List<Integer> ends = new ArrayList<>();
+		for (int from = 0; from < nodeCount; from++) {
+			outgoing.add(new ArrayList<>());
+			for (int to = 0; to < nodeCount; to++) {
+				if (connected[from][to]) {
+					final var edge = new SimpleLocatedEdge(new SimpleEdgeIdentifier(edges.size()), nodes[from], nodes[to])
+							.setWeight(nodes[from].distance(nodes[to]) * (1.0D + random.nextDouble() * 0.5D));
+					result.addEdge(edge);
+					edges.add(edge);
+					ends.add(to);
+					outgoing.get(from).add(edge);
+				}
+			}
+		}
+		for (int i = 0; i < edges.size(); i++) {
+			for (final SimpleLocatedEdge adjacent : outgoing.get(ends.get(i))) {
+				result.connectEdges(edges.get(i).id(), adjacent.id());
+			}
+		}
+		return result;
+	}
+}
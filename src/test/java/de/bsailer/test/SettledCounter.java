@@ -0,0 +1,31 @@
+package de.bsailer.test;
+
+import de.bsailer.routing.model.Edge;
+import de.bsailer.routing.traversal.TargetDijkstraAborter;
+
+/**
+ * {@code TargetDijkstraAborter} counting the settled edges, for comparing the search spaces of traversals.
+ *
+ * @param <E> concrete type of the {@code Edge}
+ */
+public final class SettledCounter<E extends Edge<?>> extends TargetDijkstraAborter<E> {
+
+	private int settled;
+
+	public SettledCounter(final E target) {
+		super(target);
+	}
+
+	@Override
+	public boolean abort(final E current) {
+		settled++;
+		return super.abort(current);
+	}
+
+	/**
+	 * Number of edges settled since construction.
+	 */
+	public int settled() {
+		return settled;
+	}
+}